@@ -32,6 +32,9 @@ public class DataSourceConfig {
     @Value("${cubrid.pool.connection-timeout:30000}")
     private long connectionTimeout;
 
+    @Value("${policy.hard-timeout-ms:30000}")
+    private long hardTimeoutMs;
+
     @Bean
     @org.springframework.context.annotation.Lazy
     public DataSource dataSource() {
@@ -73,7 +76,9 @@ public class DataSourceConfig {
         
         // CUBRID 특화 설정
         config.addDataSourceProperty("charSet", "utf-8");
-        config.addDataSourceProperty("queryTimeout", "30");
+        // 드라이버 기본 타임아웃은 하드 상한(초 단위 올림)을 안전장치로만 사용
+        // 요청별 제한은 QueryWatchdog이 밀리초 단위로 강제합니다
+        config.addDataSourceProperty("queryTimeout", String.valueOf((hardTimeoutMs + 999) / 1000));
         config.addDataSourceProperty("connectTimeout", "10");
         
         // 시작 시점에 연결을 시도하지 않도록 설정 (실제 사용 시점에 연결)
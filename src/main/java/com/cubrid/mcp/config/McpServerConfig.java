@@ -1,9 +1,18 @@
 package com.cubrid.mcp.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 public class McpServerConfig {
     
@@ -14,4 +23,38 @@ public class McpServerConfig {
         mapper.setSerializationInclusion(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL);
         return mapper;
     }
+
+    /**
+     * 요청 데드라인 등 지연 작업을 위한 공용 스케줄러 (데몬 스레드)
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService mcpScheduler() {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(2, r -> {
+            Thread t = new Thread(r, "mcp-scheduler-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // 완료된 요청의 데드라인 예약은 큐에서 바로 제거
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * 여러 테이블의 스키마를 병렬로 조회하는 풀 (데몬 스레드).
+     * 모든 요청이 공유하므로 스키마 조회에 쓰이는 커넥션 수는 이 크기로 제한됩니다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService schemaExecutor(@Value("${schema.describe-parallelism:4}") int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(1, parallelism);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "schema-worker-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
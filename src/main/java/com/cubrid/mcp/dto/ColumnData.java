@@ -0,0 +1,84 @@
+package com.cubrid.mcp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * 컬럼 배열 형식(format: columnar)의 한 컬럼 값
+ * <ul>
+ *   <li>plain: values에 행 순서대로 값</li>
+ *   <li>dict: dictionary에 서로 다른 값, indexes에 행마다 dictionary 위치</li>
+ *   <li>rle: values에 연속 구간의 값, runs에 각 구간의 행 수</li>
+ * </ul>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"encoding", "values", "dictionary", "indexes", "runs"})
+public class ColumnData {
+    public static final String PLAIN = "plain";
+    public static final String DICT = "dict";
+    public static final String RLE = "rle";
+
+    @JsonProperty("encoding")
+    private String encoding;
+
+    @JsonProperty("values")
+    private List<Object> values;
+
+    @JsonProperty("dictionary")
+    private List<Object> dictionary;
+
+    @JsonProperty("indexes")
+    private int[] indexes;
+
+    @JsonProperty("runs")
+    private int[] runs;
+
+    public ColumnData() {
+    }
+
+    public static ColumnData plain(List<Object> values) {
+        ColumnData data = new ColumnData();
+        data.encoding = PLAIN;
+        data.values = values;
+        return data;
+    }
+
+    public static ColumnData dict(List<Object> dictionary, int[] indexes) {
+        ColumnData data = new ColumnData();
+        data.encoding = DICT;
+        data.dictionary = dictionary;
+        data.indexes = indexes;
+        return data;
+    }
+
+    public static ColumnData rle(List<Object> values, int[] runs) {
+        ColumnData data = new ColumnData();
+        data.encoding = RLE;
+        data.values = values;
+        data.runs = runs;
+        return data;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    public List<Object> getDictionary() {
+        return dictionary;
+    }
+
+    public int[] getIndexes() {
+        return indexes;
+    }
+
+    public int[] getRuns() {
+        return runs;
+    }
+}
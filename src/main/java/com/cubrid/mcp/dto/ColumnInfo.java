@@ -1,5 +1,6 @@
 package com.cubrid.mcp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class ColumnInfo {
@@ -12,6 +13,11 @@ public class ColumnInfo {
     @JsonProperty("nullable")
     private boolean nullable;
 
+    // 주석이 없으면 JSON에 포함하지 않음
+    @JsonProperty("comment")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String comment;
+
     public ColumnInfo() {
     }
 
@@ -21,6 +27,13 @@ public class ColumnInfo {
         this.nullable = nullable;
     }
 
+    public ColumnInfo(String name, String type, boolean nullable, String comment) {
+        this.name = name;
+        this.type = type;
+        this.nullable = nullable;
+        this.comment = comment;
+    }
+
     public String getName() {
         return name;
     }
@@ -44,4 +57,12 @@ public class ColumnInfo {
     public void setNullable(boolean nullable) {
         this.nullable = nullable;
     }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
 }
@@ -10,12 +10,38 @@ public class QueryResult {
     @JsonProperty("rows")
     private List<List<Object>> rows;
     
+    // json 이외의 형식일 때만 설정 (rows 대신 data 또는 text)
+    @JsonProperty("format")
+    private String format;
+
+    // format: columnar
+    @JsonProperty("data")
+    private List<ColumnData> data;
+
+    // format: csv, tsv, ndjson
+    @JsonProperty("text")
+    private String text;
+
     @JsonProperty("rowCount")
     private int rowCount;
     
     @JsonProperty("truncated")
     private boolean truncated;
 
+    @JsonProperty("elapsedMs")
+    private long elapsedMs;
+
+    @JsonProperty("timedOut")
+    private boolean timedOut;
+
+    // 커서 모드에서 남은 행이 있을 때만 설정 (db.fetch로 이어서 조회)
+    @JsonProperty("cursorId")
+    private String cursorId;
+
+    // 결과 캐시에서 반환된 경우에만 true (elapsedMs는 처음 실행했을 때의 값)
+    @JsonProperty("cached")
+    private Boolean cached;
+
     public QueryResult() {
     }
 
@@ -42,6 +68,30 @@ public class QueryResult {
         this.rows = rows;
     }
 
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public List<ColumnData> getData() {
+        return data;
+    }
+
+    public void setData(List<ColumnData> data) {
+        this.data = data;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
     public int getRowCount() {
         return rowCount;
     }
@@ -57,4 +107,51 @@ public class QueryResult {
     public void setTruncated(boolean truncated) {
         this.truncated = truncated;
     }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    public Boolean getCached() {
+        return cached;
+    }
+
+    public void setCached(Boolean cached) {
+        this.cached = cached;
+    }
+
+    /**
+     * 캐시에서 꺼낸 결과로 표시한 얕은 복사본을 반환합니다 (행 목록은 공유).
+     */
+    public QueryResult asCached() {
+        QueryResult copy = new QueryResult(columns, rows, rowCount, truncated);
+        copy.format = format;
+        copy.data = data;
+        copy.text = text;
+        copy.elapsedMs = elapsedMs;
+        copy.timedOut = timedOut;
+        copy.cursorId = cursorId;
+        copy.cached = Boolean.TRUE;
+        return copy;
+    }
+
+    public String getCursorId() {
+        return cursorId;
+    }
+
+    public void setCursorId(String cursorId) {
+        this.cursorId = cursorId;
+    }
 }
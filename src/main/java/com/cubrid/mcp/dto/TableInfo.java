@@ -1,5 +1,6 @@
 package com.cubrid.mcp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class TableInfo {
@@ -9,6 +10,11 @@ public class TableInfo {
     @JsonProperty("type")
     private String type;
 
+    // 주석이 없으면 JSON에 포함하지 않음
+    @JsonProperty("comment")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String comment;
+
     public TableInfo() {
     }
 
@@ -17,6 +23,12 @@ public class TableInfo {
         this.type = type;
     }
 
+    public TableInfo(String name, String type, String comment) {
+        this.name = name;
+        this.type = type;
+        this.comment = comment;
+    }
+
     public String getName() {
         return name;
     }
@@ -32,4 +44,12 @@ public class TableInfo {
     public void setType(String type) {
         this.type = type;
     }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
 }
@@ -0,0 +1,117 @@
+package com.cubrid.mcp.mcp;
+
+import com.cubrid.mcp.service.RequestContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON-RPC id로 처리 중인 요청을 추적합니다.
+ * notifications/cancelled, 요청 데드라인, stdin 종료 시 해당 요청을 취소하는 데 사용합니다.
+ */
+class InFlightRequests {
+    private static final Logger logger = LoggerFactory.getLogger(InFlightRequests.class);
+
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final long requestTimeoutMs;
+
+    InFlightRequests(ScheduledExecutorService scheduler, long requestTimeoutMs) {
+        this.scheduler = scheduler;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    /**
+     * 요청을 등록하고, 데드라인이 설정되어 있으면 만료 시 취소되도록 예약합니다.
+     */
+    RequestContext register(Object id) {
+        RequestContext context = new RequestContext(id);
+        ScheduledFuture<?> deadline = null;
+        if (requestTimeoutMs > 0) {
+            deadline = scheduler.schedule(
+                () -> context.expire("요청 처리 시간 초과 (" + requestTimeoutMs + "ms)"),
+                requestTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        Entry previous = entries.put(key(id), new Entry(context, deadline));
+        if (previous != null) {
+            logger.warn(">>> 처리 중인 요청과 id가 중복됩니다: {}", id);
+        }
+        return context;
+    }
+
+    /**
+     * 처리가 끝난 요청을 제거하고 데드라인 예약을 해제합니다.
+     */
+    void complete(RequestContext context) {
+        Object key = key(context.getRequestId());
+        Entry entry = entries.get(key);
+        if (entry != null && entry.context == context) {
+            entries.remove(key, entry);
+            entry.cancelDeadline();
+        }
+    }
+
+    /**
+     * id에 해당하는 요청을 취소합니다.
+     *
+     * @return 처리 중인 요청을 찾았으면 true
+     */
+    boolean cancel(Object id, String reason) {
+        Entry entry = entries.get(key(id));
+        if (entry == null) {
+            return false;
+        }
+        entry.context.cancel(reason);
+        return true;
+    }
+
+    /**
+     * 처리 중인 모든 요청을 취소합니다.
+     *
+     * @return 취소한 요청 수
+     */
+    int cancelAll(String reason) {
+        List<Entry> snapshot = new ArrayList<>(entries.values());
+        for (Entry entry : snapshot) {
+            entry.context.cancel(reason);
+        }
+        return snapshot.size();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * 숫자 id는 Integer/Long 구분 없이 같은 요청으로 취급합니다.
+     */
+    private static Object key(Object id) {
+        if (id instanceof Number) {
+            return ((Number) id).longValue();
+        }
+        return id;
+    }
+
+    private static final class Entry {
+        private final RequestContext context;
+        private final ScheduledFuture<?> deadline;
+
+        private Entry(RequestContext context, ScheduledFuture<?> deadline) {
+            this.context = context;
+            this.deadline = deadline;
+        }
+
+        private void cancelDeadline() {
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+        }
+    }
+}
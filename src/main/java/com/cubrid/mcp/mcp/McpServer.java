@@ -2,22 +2,41 @@ package com.cubrid.mcp.mcp;
 
 import com.cubrid.mcp.mcp.resources.McpResource;
 import com.cubrid.mcp.mcp.tools.McpTool;
+import com.cubrid.mcp.service.RequestContext;
+import com.cubrid.mcp.service.ResponseBuffer;
+import com.cubrid.mcp.service.SchemaChangeDetector;
+import com.cubrid.mcp.service.SingleFlight;
+import com.cubrid.mcp.service.StreamingQueryResult;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class McpServer {
@@ -26,19 +45,62 @@ public class McpServer {
     private final ObjectMapper objectMapper;
     private final List<McpTool> tools;
     private final List<McpResource> resources;
-    private PrintStream mcpOut;
+    private final ScheduledExecutorService scheduler;
+    private final SingleFlight singleFlight;
+    private final SchemaChangeDetector schemaChangeDetector;
+    // resources/subscribe로 구독한 리소스 URI
+    private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+    private volatile PrintStream mcpOut;
+    // 응답 한 줄을 다 쓸 때까지 다른 응답이 끼어들지 않도록 잡는 stdout 잠금
+    private final ReentrantLock outputLock = new ReentrantLock();
+    private InFlightRequests inFlight;
+
+    // true면 요청마다 워커에서 병렬 처리하고, 완료되는 순서대로 응답을 보냅니다 (id로 매칭)
+    @Value("${mcp.dispatch.concurrent:true}")
+    private boolean concurrentDispatch;
+
+    // 동시에 처리 중인 요청 수 상한 (커넥션 풀 과점유 방지, 기본값: 풀 최대 크기)
+    @Value("${mcp.dispatch.max-in-flight:${cubrid.pool.maximum-pool-size:10}}")
+    private int maxInFlight;
+
+    // stdin 종료 후 처리 중인 요청을 기다리는 최대 시간
+    @Value("${mcp.dispatch.shutdown-timeout-ms:60000}")
+    private long shutdownTimeoutMs;
+
+    // true면 db.query 결과를 메모리에 모으지 않고 ResultSet에서 출력 스트림으로 바로 직렬화
+    @Value("${mcp.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    // 스트리밍 응답을 버퍼에 모으는 최대 바이트 수. 넘으면 stdout 잠금을 잡고 바로 씀 (0이면 끝까지 모음)
+    @Value("${mcp.streaming.spill-bytes:262144}")
+    private int spillBytes;
+
+    // 요청 하나의 처리 데드라인 (0이면 제한 없음). 만료되면 실행 중인 쿼리를 취소하고 오류로 응답합니다.
+    @Value("${mcp.dispatch.request-timeout-ms:60000}")
+    private long requestTimeoutMs;
 
     @Autowired
-    public McpServer(ObjectMapper objectMapper, List<McpTool> tools, List<McpResource> resources) {
+    public McpServer(ObjectMapper objectMapper, List<McpTool> tools, List<McpResource> resources,
+                     ScheduledExecutorService mcpScheduler, SingleFlight singleFlight,
+                     SchemaChangeDetector schemaChangeDetector) {
         this.objectMapper = objectMapper;
         this.tools = tools;
         this.resources = resources;
+        this.scheduler = mcpScheduler;
+        this.singleFlight = singleFlight;
+        this.schemaChangeDetector = schemaChangeDetector;
+        schemaChangeDetector.addListener(this::notifySchemaChanged);
     }
 
     public void start(PrintStream outStream) {
         this.mcpOut = outStream;
-        logger.info(">>> MCP 서버 루프 시작 (도구: {}개, 리소스: {}개)", tools.size(), resources.size());
-        
+        logger.info(">>> MCP 서버 루프 시작 (도구: {}개, 리소스: {}개, 병렬 처리: {}, 최대 동시 요청: {})",
+                    tools.size(), resources.size(), concurrentDispatch, maxInFlight);
+
+        ExecutorService executor = concurrentDispatch ? createExecutor() : null;
+        Semaphore permits = new Semaphore(Math.max(1, maxInFlight));
+        this.inFlight = new InFlightRequests(scheduler, requestTimeoutMs);
+
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -48,35 +110,200 @@ public class McpServer {
                 try {
                     McpMessage request = objectMapper.readValue(line, McpMessage.class);
                     if (request.getId() == null) {
+                        handleNotification(request);
                         continue;
                     }
-                    
-                    McpMessage response = processMessage(request);
-                    if (response != null) {
-                        sendResponse(response);
+
+                    // 읽기 스레드에서 등록해야 곧이어 도착한 취소 알림이 대기 중인 요청도 찾을 수 있음
+                    RequestContext context = inFlight.register(request.getId());
+                    if (executor == null) {
+                        dispatch(request, context);
+                        continue;
                     }
+
+                    // 상한은 워커 안에서 적용: 읽기 루프는 막히지 않으므로 취소 알림을 계속 받을 수 있음
+                    executor.execute(() -> {
+                        try {
+                            permits.acquire();
+                        } catch (InterruptedException e) {
+                            inFlight.complete(context);
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        try {
+                            dispatch(request, context);
+                        } finally {
+                            permits.release();
+                        }
+                    });
                 } catch (Exception e) {
                     logger.error(">>> 메시지 처리 오류", e);
                 }
             }
         } catch (IOException e) {
             logger.error(">>> 입출력 오류", e);
+        } finally {
+            // 클라이언트가 떠났으므로 남은 요청은 모두 취소하여 커넥션과 CAS를 바로 반환
+            int cancelled = inFlight.cancelAll("입력 스트림 종료");
+            if (cancelled > 0) {
+                logger.info(">>> stdin 종료: 처리 중인 요청 {}개 취소", cancelled);
+            }
+            if (executor != null) {
+                awaitInFlight(executor);
+            }
+        }
+    }
+
+    /**
+     * id가 없는 알림 메시지를 처리합니다. 현재는 notifications/cancelled만 의미가 있습니다.
+     */
+    private void handleNotification(McpMessage notification) {
+        if (!"notifications/cancelled".equals(notification.getMethod())) {
+            return;
+        }
+        Map<String, Object> params = notification.getParams();
+        Object requestId = params != null ? params.get("requestId") : null;
+        if (requestId == null) {
+            return;
+        }
+        Object reason = params.get("reason");
+        boolean found = inFlight.cancel(requestId, reason != null ? reason.toString() : "클라이언트 취소");
+        logger.debug(">>> 취소 알림 수신: id={}, 처리 중={}", requestId, found);
+    }
+
+    /**
+     * 요청 하나를 처리하고 응답을 전송합니다.
+     * 예기치 못한 오류도 id와 함께 응답하여 클라이언트가 무한정 기다리지 않도록 합니다.
+     * 클라이언트가 취소한 요청에는 응답하지 않고, 데드라인이 지난 요청은 시간 초과 오류로 응답합니다.
+     */
+    private void dispatch(McpMessage request, RequestContext context) {
+        RequestContext.bind(context);
+        context.setStreamingAllowed(streamingEnabled);
+        try {
+            McpMessage response = null;
+            if (!context.isCancelled()) {
+                try {
+                    response = processMessage(request);
+                } catch (Exception e) {
+                    logger.error(">>> 메시지 처리 오류 (id={})", request.getId(), e);
+                    response = createErrorResponse(request.getId(), -32603, e.getMessage());
+                }
+            }
+
+            if (context.isDeadlineExceeded()) {
+                if (response == null || response.getError() != null) {
+                    response = createErrorResponse(request.getId(), -32603, context.getCancelReason());
+                }
+            } else if (context.isCancelled()) {
+                logger.debug(">>> 취소된 요청의 응답 생략: id={}, 사유={}", request.getId(), context.getCancelReason());
+                releaseResult(response);
+                return;
+            }
+
+            if (response != null) {
+                sendResponse(response);
+            }
+        } finally {
+            RequestContext.unbind();
+            inFlight.complete(context);
+        }
+    }
+
+    /**
+     * 요청 처리용 실행기를 생성합니다.
+     * JDK 21 이상이면 가상 스레드를, 아니면 maxInFlight 크기의 데몬 스레드 풀을 사용합니다.
+     */
+    private ExecutorService createExecutor() {
+        // 컴파일 타깃이 17이므로 가상 스레드 API는 리플렉션으로 탐색
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            logger.info(">>> 가상 스레드 실행기 사용");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            logger.debug("가상 스레드를 사용할 수 없어 플랫폼 스레드 풀을 사용합니다: {}", e.toString());
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread t = new Thread(r, "mcp-worker-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        int poolSize = Math.max(1, maxInFlight);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void awaitInFlight(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.warn(">>> 종료 대기 시간 초과: 처리 중인 요청을 중단합니다.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
 
     private void sendResponse(McpMessage response) {
+        if (response.getResult() instanceof StreamingQueryResult) {
+            sendStreamingResponse(response);
+            return;
+        }
         try {
             byte[] responseBytes = objectMapper.writeValueAsBytes(response);
-            synchronized (mcpOut) {
+            outputLock.lock();
+            try {
                 mcpOut.write(responseBytes);
                 mcpOut.write('\n');
                 mcpOut.flush();
+            } finally {
+                outputLock.unlock();
             }
         } catch (IOException e) {
             logger.error(">>> 응답 전송 실패", e);
         }
     }
 
+    /**
+     * 조회 결과를 행 객체로 모으지 않고 ResultSet에서 응답 버퍼로 바로 직렬화한 뒤 한 번에 씁니다.
+     * 한 줄에 응답 하나를 써야 하므로 stdout에 직접 쓰면 DB에서 행을 읽는 동안 다른 응답이 모두 대기하게 됩니다.
+     * 그래서 stdout 잠금은 다 쓴 버퍼를 내보내는 동안만 잡되, 버퍼가 mcp.streaming.spill-bytes를 넘으면
+     * 그때부터 잠금을 잡고 바로 써서 응답마다 힙에 남는 크기를 제한합니다.
+     */
+    private void sendStreamingResponse(McpMessage response) {
+        ResponseBuffer buffer = new ResponseBuffer(mcpOut, outputLock, spillBytes);
+        try {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+                objectMapper.writeValue(gen, response);
+            }
+            buffer.finish();
+        } catch (IOException e) {
+            logger.error(">>> 응답 전송 실패", e);
+        } finally {
+            buffer.release();
+            releaseResult(response);
+        }
+    }
+
+    /**
+     * 커넥션을 점유한 결과(스트리밍 결과 등)를 해제합니다. 응답을 보내지 않고 버릴 때도 호출해야 합니다.
+     */
+    private void releaseResult(McpMessage response) {
+        if (response != null && response.getResult() instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) response.getResult()).close();
+            } catch (Exception e) {
+                logger.debug("결과 자원 해제 실패: {}", e.getMessage());
+            }
+        }
+    }
+
     public McpMessage processMessage(McpMessage request) {
         String method = request.getMethod();
         if (method == null) return null;
@@ -88,6 +315,8 @@ public class McpServer {
             case "resources/list": return handleResourcesList(request);
             case "resources/read": return handleResourcesRead(request);
             case "resources/templates/list": return handleResourcesTemplatesList(request);
+            case "resources/subscribe": return handleResourcesSubscribe(request, true);
+            case "resources/unsubscribe": return handleResourcesSubscribe(request, false);
             case "mcp/getInstructions": return handleGetInstructions(request);
             case "prompts/list": return handlePromptsList(request);
             default: return createErrorResponse(request.getId(), -32601, "Method not found: " + method);
@@ -97,9 +326,11 @@ public class McpServer {
     private McpMessage handleInitialize(McpMessage request) {
         Map<String, Object> result = new HashMap<>();
         result.put("protocolVersion", "2024-11-05");
+        // 스키마 변경 감지가 켜져 있으면 리소스 변경을 알림으로 전송
+        boolean schemaNotifications = schemaChangeDetector.isEnabled();
         result.put("capabilities", Map.of(
             "tools", Map.of("listChanged", false),
-            "resources", Map.of("subscribe", false, "listChanged", false),
+            "resources", Map.of("subscribe", schemaNotifications, "listChanged", schemaNotifications),
             "prompts", Map.of("listChanged", false)
         ));
         result.put("serverInfo", Map.of("name", "cubrid-mcp", "version", "1.0.0"));
@@ -212,15 +443,13 @@ public class McpServer {
 
     private McpMessage handleResourcesRead(McpMessage request) {
         String uri = (String) request.getParams().get("uri");
-        McpResource resource = resources.stream()
-            .filter(r -> r.getUri().equals(uri) || (r.getUri().contains("{") && uri.startsWith(r.getUri().substring(0, r.getUri().indexOf("{")))))
-            .findFirst().orElse(null);
+        McpResource resource = findResource(uri);
 
         if (resource == null) return createErrorResponse(request.getId(), -32601, "Resource not found");
 
         try {
-            String content = (resource instanceof com.cubrid.mcp.mcp.resources.TableResource) ? 
-                             ((com.cubrid.mcp.mcp.resources.TableResource) resource).getContent(uri) : resource.getContent();
+            // 같은 리소스를 동시에 읽으면 한 번만 생성
+            String content = singleFlight.execute("resource|" + uri, () -> resource.getContent(uri));
             
             McpMessage response = new McpMessage();
             response.setId(request.getId());
@@ -233,6 +462,89 @@ public class McpServer {
         }
     }
 
+    /**
+     * URI에 맞는 리소스를 찾습니다. 쿼리 문자열(?cursor= 등)은 떼고 고정 URI나 템플릿 접두사와 비교합니다.
+     */
+    private McpResource findResource(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        int query = uri.indexOf('?');
+        String path = query >= 0 ? uri.substring(0, query) : uri;
+        for (McpResource res : resources) {
+            String template = res.getUri();
+            int brace = template.indexOf('{');
+            if (brace < 0 ? template.equals(path) : path.startsWith(template.substring(0, brace))) {
+                return res;
+            }
+        }
+        return null;
+    }
+
+    private McpMessage handleResourcesSubscribe(McpMessage request, boolean subscribe) {
+        Map<String, Object> params = request.getParams();
+        Object uri = params != null ? params.get("uri") : null;
+        if (!(uri instanceof String)) {
+            return createErrorResponse(request.getId(), -32602, "uri가 필요합니다.");
+        }
+        if (subscribe) {
+            subscriptions.add((String) uri);
+        } else {
+            subscriptions.remove(uri);
+        }
+        logger.debug(">>> 리소스 구독 {}: {}", subscribe ? "등록" : "해제", uri);
+
+        McpMessage response = new McpMessage();
+        response.setId(request.getId());
+        response.setResult(new HashMap<>());
+        return response;
+    }
+
+    /**
+     * 스키마 변경을 클라이언트에 알립니다.
+     * 테이블이 추가/삭제되면 notifications/resources/list_changed를, 구독 중인 리소스 중
+     * 영향을 받는 것(스키마 리소스, 변경된 테이블의 리소스)에는 notifications/resources/updated를 보냅니다.
+     */
+    private void notifySchemaChanged(SchemaChangeDetector.Change change) {
+        if (mcpOut == null) {
+            return;
+        }
+        if (change.isListChanged()) {
+            sendNotification("notifications/resources/list_changed", null);
+        }
+        for (String uri : subscriptions) {
+            if (isAffected(uri, change)) {
+                sendNotification("notifications/resources/updated", Map.of("uri", uri));
+            }
+        }
+    }
+
+    private boolean isAffected(String subscribedUri, SchemaChangeDetector.Change change) {
+        // 페이지 등 쿼리 문자열이 붙은 URI도 같은 리소스로 봄
+        int query = subscribedUri.indexOf('?');
+        String uri = query >= 0 ? subscribedUri.substring(0, query) : subscribedUri;
+        for (McpResource res : resources) {
+            String template = res.getUri();
+            int brace = template.indexOf('{');
+            if (brace < 0) {
+                // 고정 URI 리소스 중 스키마 정보를 담은 것 (cubrid://schema/summary 등)
+                if (template.equals(uri)) {
+                    return uri.startsWith("cubrid://schema/");
+                }
+            } else if (uri.startsWith(template.substring(0, brace))) {
+                return change.affects(uri.substring(brace));
+            }
+        }
+        return false;
+    }
+
+    private void sendNotification(String method, Map<String, Object> params) {
+        McpMessage notification = new McpMessage();
+        notification.setMethod(method);
+        notification.setParams(params);
+        sendResponse(notification);
+    }
+
     private McpMessage createErrorResponse(Object id, int code, String message) {
         McpMessage response = new McpMessage();
         response.setId(id);
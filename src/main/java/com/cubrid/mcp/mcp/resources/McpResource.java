@@ -5,4 +5,11 @@ public interface McpResource {
     String getMimeType();
     String getDescription();
     String getContent() throws Exception;
+
+    /**
+     * 요청 URI로 내용을 생성합니다. URI 템플릿이나 쿼리 문자열(?cursor= 등)을 쓰는 리소스가 재정의합니다.
+     */
+    default String getContent(String uri) throws Exception {
+        return getContent();
+    }
 }
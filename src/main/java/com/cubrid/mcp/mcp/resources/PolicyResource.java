@@ -50,7 +50,8 @@ public class PolicyResource implements McpResource {
         sb.append("  - `DROP`, `ALTER`, `CREATE`, `TRUNCATE`\n");
         sb.append("  - `GRANT`, `REVOKE`\n");
         sb.append("  - `CALL`, `EXEC`, `EXECUTE`\n");
-        sb.append("  - `SET`, `COMMIT`, `ROLLBACK`\n\n");
+        sb.append("  - `SET`, `COMMIT`, `ROLLBACK`\n");
+        sb.append("- 문자열 리터럴, 따옴표 식별자, 주석 안의 단어는 키워드로 보지 않습니다.\n\n");
         
         sb.append("## 다중 문장 제한\n");
         sb.append("- 세미콜론(`;`)으로 구분된 다중 SQL 문은 허용되지 않습니다.\n\n");
@@ -1,35 +1,56 @@
 package com.cubrid.mcp.mcp.resources;
 
+import com.cubrid.mcp.dto.TableInfo;
 import com.cubrid.mcp.policy.SqlPolicy;
 import com.cubrid.mcp.service.SchemaIntrospector;
+import com.cubrid.mcp.service.TableStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * 스키마 요약 리소스입니다. 테이블이 많은 스키마도 잘리지 않도록 테이블명 순서로 나누어 제공합니다
+ * (cubrid://schema/summary?cursor=...&pageSize=200). 마지막 페이지가 아니면 nextUri로 다음 페이지를 알려줍니다.
+ * cursor는 이전 페이지 마지막 테이블명을 인코딩한 값이므로, 페이지 사이에 테이블이 추가/삭제되어도
+ * 건너뛰거나 중복되는 테이블이 없습니다.
+ * 테이블 목록과 구조는 스키마 캐시(스냅샷)에서, 예상 행 수는 db.tableStats 캐시에 있을 때만 가져오며
+ * 요약을 위해 통계를 새로 조회하지는 않습니다 (없으면 statsMissing으로 표시).
+ */
 @Component
 public class SchemaSummaryResource implements McpResource {
     private static final Logger logger = LoggerFactory.getLogger(SchemaSummaryResource.class);
 
+    private static final String URI = "cubrid://schema/summary";
+    private static final int DEFAULT_PAGE_SIZE = 200;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final SchemaIntrospector schemaIntrospector;
+    private final TableStatsService tableStatsService;
     private final SqlPolicy sqlPolicy;
     private final ObjectMapper objectMapper;
 
     @Autowired
-    public SchemaSummaryResource(SchemaIntrospector schemaIntrospector, SqlPolicy sqlPolicy) {
+    public SchemaSummaryResource(SchemaIntrospector schemaIntrospector, TableStatsService tableStatsService,
+                                 SqlPolicy sqlPolicy, ObjectMapper objectMapper) {
         this.schemaIntrospector = schemaIntrospector;
+        this.tableStatsService = tableStatsService;
         this.sqlPolicy = sqlPolicy;
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public String getUri() {
-        return "cubrid://schema/summary";
+        return URI;
     }
 
     @Override
@@ -39,20 +60,135 @@ public class SchemaSummaryResource implements McpResource {
 
     @Override
     public String getDescription() {
-        return String.format("%s 스키마의 테이블 요약 정보", sqlPolicy.getAllowedSchema());
+        return String.format("%s 스키마의 테이블 요약 정보 (다음 페이지는 nextUri)", sqlPolicy.getAllowedSchema());
     }
 
     @Override
     public String getContent() throws Exception {
-        List<com.cubrid.mcp.dto.TableInfo> tables = schemaIntrospector.listTables("%", 100);
-        String allowedSchema = sqlPolicy.getAllowedSchema();
-        
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("schema", allowedSchema);
+        return getContent(URI);
+    }
+
+    @Override
+    public String getContent(String uri) throws Exception {
+        Map<String, String> query = parseQuery(uri);
+        if (query.containsKey("page")) {
+            throw new IllegalArgumentException("page는 지원하지 않습니다. 이전 응답의 nextUri(cursor)를 사용하세요.");
+        }
+        int pageSize = clamp(parseInt(query.get("pageSize"), DEFAULT_PAGE_SIZE), 1, MAX_PAGE_SIZE);
+        String after = query.containsKey("cursor") ? decodeCursor(query.get("cursor")) : null;
+
+        List<TableInfo> tables = new ArrayList<>(schemaIntrospector.listTables("%", Integer.MAX_VALUE));
+        tables.sort(Comparator.comparing(TableInfo::getName));
+        int from = 0;
+        while (after != null && from < tables.size() && tables.get(from).getName().compareTo(after) <= 0) {
+            from++;
+        }
+        int to = Math.min(tables.size(), from + pageSize);
+        List<TableInfo> pageTables = tables.subList(from, to);
+
+        List<String> names = new ArrayList<>(pageTables.size());
+        for (TableInfo table : pageTables) {
+            names.add(table.getName());
+        }
+        // 캐시에 있는 테이블은 DB 왕복 없이, 없는 테이블만 한 번에 조회
+        Map<String, Map<String, Object>> descriptions = new LinkedHashMap<>();
+        for (SchemaIntrospector.TableDescription description : schemaIntrospector.describeTables(names)) {
+            if (description.isSuccess()) {
+                descriptions.put(description.getTable(), description.getDescription());
+            }
+        }
+
+        List<Map<String, Object>> entries = new ArrayList<>(pageTables.size());
+        for (TableInfo table : pageTables) {
+            entries.add(summarize(table, descriptions.get(table.getName())));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("schema", sqlPolicy.getAllowedSchema());
         summary.put("tableCount", tables.size());
-        summary.put("tables", tables);
-        
-        logger.debug("스키마 요약 생성 완료: {}개 테이블", tables.size());
-        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(summary);
+        summary.put("pageSize", pageSize);
+        summary.put("tables", entries);
+        if (to < tables.size()) {
+            summary.put("nextUri", URI + "?cursor=" + encodeCursor(tables.get(to - 1).getName())
+                + (pageSize != DEFAULT_PAGE_SIZE ? "&pageSize=" + pageSize : ""));
+        }
+
+        logger.debug("스키마 요약 생성 완료: {}번째부터 {}개 테이블 (전체 {}개)", from + 1, entries.size(), tables.size());
+        return objectMapper.writeValueAsString(summary);
+    }
+
+    private Map<String, Object> summarize(TableInfo table, Map<String, Object> description) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", table.getName());
+        entry.put("type", table.getType());
+        if (table.getComment() != null) {
+            entry.put("comment", table.getComment());
+        }
+        if (description != null) {
+            entry.put("columnCount", ((List<?>) description.get("columns")).size());
+            Object indexes = description.get("indexes");
+            if (indexes instanceof List) {
+                entry.put("indexCount", ((List<?>) indexes).size());
+            }
+        }
+        Map<String, Object> stats = tableStatsService.cached(table.getName());
+        if (stats != null && stats.get("rowsEstimate") != null) {
+            entry.put("rowsEstimate", stats.get("rowsEstimate"));
+            if (stats.get("pages") != null) {
+                entry.put("pages", stats.get("pages"));
+            }
+        } else {
+            // 통계를 아직 조회하지 않음 (0행과 구분, db.tableStats로 조회)
+            entry.put("statsMissing", true);
+        }
+        return entry;
+    }
+
+    /**
+     * 다음 페이지 cursor: 마지막 테이블명의 UTF-8 바이트를 URL-safe Base64로 인코딩 (URI에 그대로 씀)
+     */
+    static String encodeCursor(String lastTable) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastTable.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 값: " + cursor);
+        }
+    }
+
+    /**
+     * URI의 쿼리 문자열을 이름/값으로 나눕니다 (값은 숫자와 URL-safe Base64만 쓰므로 디코딩하지 않음).
+     */
+    static Map<String, String> parseQuery(String uri) {
+        Map<String, String> params = new LinkedHashMap<>();
+        int start = uri == null ? -1 : uri.indexOf('?');
+        if (start < 0) {
+            return params;
+        }
+        for (String pair : uri.substring(start + 1).split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 pageSize 값: " + value);
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
     }
 }
@@ -52,6 +52,7 @@ public class TableResource implements McpResource {
         throw new UnsupportedOperationException("테이블명이 필요합니다. getContent(String uri)를 사용하세요.");
     }
 
+    @Override
     public String getContent(String uri) throws Exception {
         Matcher matcher = getUriPattern().matcher(uri);
         if (!matcher.matches()) {
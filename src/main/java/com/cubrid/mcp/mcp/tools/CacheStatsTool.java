@@ -0,0 +1,45 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.service.CacheStatsProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class CacheStatsTool implements McpTool {
+
+    private final List<CacheStatsProvider> caches;
+
+    @Autowired
+    public CacheStatsTool(List<CacheStatsProvider> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public String getName() {
+        return "db.cacheStats";
+    }
+
+    @Override
+    public String getDescription() {
+        return "서버 캐시(쿼리 결과 캐시 등)의 항목 수, 적중/실패, 제거 횟수를 반환합니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        return new HashMap<>(); // 입력 파라미터 없음
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (CacheStatsProvider cache : caches) {
+            result.put(cache.getCacheName(), cache.getCacheStats());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.dto.TableInfo;
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.cubrid.mcp.service.SchemaIntrospector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class DescribeTablesTool implements McpTool {
+    private static final Logger logger = LoggerFactory.getLogger(DescribeTablesTool.class);
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SchemaIntrospector schemaIntrospector;
+    private final SqlPolicy sqlPolicy;
+
+    // 한 번에 조회할 수 있는 최대 테이블 수 (tables 길이와 pattern의 limit 모두에 적용)
+    private final int maxTables;
+
+    @Autowired
+    public DescribeTablesTool(SchemaIntrospector schemaIntrospector, SqlPolicy sqlPolicy,
+                              @Value("${schema.describe-max-tables:100}") int maxTables) {
+        this.schemaIntrospector = schemaIntrospector;
+        this.sqlPolicy = sqlPolicy;
+        this.maxTables = Math.max(1, maxTables);
+    }
+
+    @Override
+    public String getName() {
+        return "db.describeTables";
+    }
+
+    @Override
+    public String getDescription() {
+        return "여러 테이블의 스키마 정보(컬럼, PK, 인덱스)를 한 번에 조회합니다. 테이블 목록 또는 LIKE 패턴으로 지정합니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        Map<String, Object> properties = new HashMap<>();
+
+        Map<String, Object> tables = new HashMap<>();
+        tables.put("type", "array");
+        Map<String, Object> items = new HashMap<>();
+        items.put("type", "string");
+        tables.put("items", items);
+        tables.put("description", "테이블명 목록 (스키마 없이, 최대 " + maxTables + "개)");
+        tables.put("maxItems", maxTables);
+        properties.put("tables", tables);
+
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("type", "string");
+        pattern.put("description", "테이블명 패턴 (LIKE 패턴, tables 대신 사용)");
+        properties.put("pattern", pattern);
+
+        Map<String, Object> limit = new HashMap<>();
+        limit.put("type", "integer");
+        limit.put("description", "pattern 사용 시 최대 테이블 수 (기본값: " + DEFAULT_LIMIT + ", 최대: " + maxTables + ")");
+        limit.put("default", DEFAULT_LIMIT);
+        properties.put("limit", limit);
+
+        schema.put("properties", properties);
+        return schema;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) throws Exception {
+        List<String> tableNames = new ArrayList<>();
+        Object tablesParam = params.get("tables");
+        String pattern = (String) params.get("pattern");
+
+        if (tablesParam instanceof List) {
+            String allowedSchema = sqlPolicy.getAllowedSchema() + ".";
+            for (Object item : (List<?>) tablesParam) {
+                if (!(item instanceof String) || ((String) item).isEmpty()) {
+                    continue;
+                }
+                // 스키마 접두사 제거 (있다면)
+                String tableName = (String) item;
+                if (tableName.startsWith(allowedSchema)) {
+                    tableName = tableName.substring(allowedSchema.length());
+                }
+                tableNames.add(tableName);
+            }
+            if (tableNames.size() > maxTables) {
+                throw new IllegalArgumentException("테이블은 한 번에 최대 " + maxTables + "개까지 조회할 수 있습니다: "
+                    + tableNames.size() + "개");
+            }
+        } else if (pattern != null && !pattern.isEmpty()) {
+            int limit = DEFAULT_LIMIT;
+            Object limitObj = params.get("limit");
+            if (limitObj instanceof Number && ((Number) limitObj).intValue() > 0) {
+                limit = ((Number) limitObj).intValue();
+            }
+            limit = Math.min(limit, maxTables);
+            for (TableInfo table : schemaIntrospector.listTables(pattern, limit)) {
+                tableNames.add(table.getName());
+            }
+        } else {
+            throw new IllegalArgumentException("tables 또는 pattern이 필요합니다.");
+        }
+
+        List<Map<String, Object>> described = new ArrayList<>();
+        List<Map<String, Object>> errors = new ArrayList<>();
+        for (SchemaIntrospector.TableDescription result : schemaIntrospector.describeTables(tableNames)) {
+            if (result.isSuccess()) {
+                described.add(result.getDescription());
+            } else {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("table", result.getTable());
+                error.put("error", result.getError());
+                errors.add(error);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("schema", sqlPolicy.getAllowedSchema());
+        result.put("tables", described);
+        if (!errors.isEmpty()) {
+            result.put("errors", errors);
+        }
+
+        logger.debug("테이블 스키마 일괄 조회 완료: {}개 (실패 {}개)", described.size(), errors.size());
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.service.CursorManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class FetchTool implements McpTool {
+    private static final Logger logger = LoggerFactory.getLogger(FetchTool.class);
+
+    private final CursorManager cursorManager;
+
+    @Autowired
+    public FetchTool(CursorManager cursorManager) {
+        this.cursorManager = cursorManager;
+    }
+
+    @Override
+    public String getName() {
+        return "db.fetch";
+    }
+
+    @Override
+    public String getDescription() {
+        return "db.query(cursor: true)로 연 커서에서 다음 페이지를 조회합니다. 마지막 페이지에서는 cursorId가 반환되지 않습니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        Map<String, Object> properties = new HashMap<>();
+        
+        Map<String, Object> cursorId = new HashMap<>();
+        cursorId.put("type", "string");
+        cursorId.put("description", "db.query가 반환한 cursorId");
+        properties.put("cursorId", cursorId);
+        
+        Map<String, Object> maxRows = new HashMap<>();
+        maxRows.put("type", "integer");
+        maxRows.put("description", "이번 페이지의 최대 행 수 (기본값: 없음, 하드 상한 적용)");
+        properties.put("maxRows", maxRows);
+        
+        Map<String, Object> maxBytes = new HashMap<>();
+        maxBytes.put("type", "integer");
+        maxBytes.put("description", "이번 페이지의 최대 바이트 수 (기본값: 없음, 하드 상한 적용)");
+        properties.put("maxBytes", maxBytes);
+        
+        Map<String, Object> timeoutMs = new HashMap<>();
+        timeoutMs.put("type", "integer");
+        timeoutMs.put("description", "타임아웃 밀리초 (기본값: 없음, 하드 상한 적용)");
+        properties.put("timeoutMs", timeoutMs);
+        
+        Map<String, Object> close = new HashMap<>();
+        close.put("type", "boolean");
+        close.put("description", "true면 행을 읽지 않고 커서를 닫습니다.");
+        close.put("default", false);
+        properties.put("close", close);
+        
+        schema.put("properties", properties);
+        schema.put("required", new String[]{"cursorId"});
+        return schema;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) throws Exception {
+        String cursorId = (String) params.get("cursorId");
+        if (cursorId == null || cursorId.isEmpty()) {
+            throw new IllegalArgumentException("cursorId가 필요합니다.");
+        }
+
+        if (Boolean.TRUE.equals(params.get("close"))) {
+            boolean closed = cursorManager.close(cursorId);
+            logger.debug("커서 닫기 요청: id={}, 닫힘={}", cursorId, closed);
+            Map<String, Object> result = new HashMap<>();
+            result.put("cursorId", cursorId);
+            result.put("closed", closed);
+            return result;
+        }
+
+        Integer maxRows = null;
+        if (params.get("maxRows") instanceof Number) {
+            maxRows = ((Number) params.get("maxRows")).intValue();
+        }
+
+        Long maxBytes = null;
+        if (params.get("maxBytes") instanceof Number) {
+            maxBytes = ((Number) params.get("maxBytes")).longValue();
+        }
+
+        Long timeoutMs = null;
+        if (params.get("timeoutMs") instanceof Number) {
+            timeoutMs = ((Number) params.get("timeoutMs")).longValue();
+        }
+
+        return cursorManager.fetch(cursorId, maxRows, maxBytes, timeoutMs);
+    }
+}
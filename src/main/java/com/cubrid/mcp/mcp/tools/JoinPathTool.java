@@ -0,0 +1,93 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.cubrid.mcp.service.SchemaIntrospector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class JoinPathTool implements McpTool {
+    private static final Logger logger = LoggerFactory.getLogger(JoinPathTool.class);
+
+    private static final int DEFAULT_MAX_HOPS = 4;
+
+    private final SchemaIntrospector schemaIntrospector;
+    private final SqlPolicy sqlPolicy;
+
+    @Autowired
+    public JoinPathTool(SchemaIntrospector schemaIntrospector, SqlPolicy sqlPolicy) {
+        this.schemaIntrospector = schemaIntrospector;
+        this.sqlPolicy = sqlPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return "db.joinPath";
+    }
+
+    @Override
+    public String getDescription() {
+        return "외래키를 따라 두 개 이상의 테이블을 잇는 최단 조인 경로와 바로 쓸 수 있는 조인 조건(FROM/JOIN 절)을 반환합니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        Map<String, Object> properties = new HashMap<>();
+
+        Map<String, Object> tables = new HashMap<>();
+        tables.put("type", "array");
+        Map<String, Object> items = new HashMap<>();
+        items.put("type", "string");
+        tables.put("items", items);
+        tables.put("description", "연결할 테이블명 목록 (2개 이상, 첫 테이블이 FROM 절)");
+        properties.put("tables", tables);
+
+        Map<String, Object> maxHops = new HashMap<>();
+        maxHops.put("type", "integer");
+        maxHops.put("description", "테이블 하나를 연결할 때 거칠 수 있는 최대 조인 수 (기본값: " + DEFAULT_MAX_HOPS + ")");
+        maxHops.put("default", DEFAULT_MAX_HOPS);
+        properties.put("maxHops", maxHops);
+
+        schema.put("properties", properties);
+        schema.put("required", new String[]{"tables"});
+        return schema;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) throws Exception {
+        List<String> tableNames = new ArrayList<>();
+        Object tablesParam = params.get("tables");
+        if (tablesParam instanceof List) {
+            String allowedSchema = sqlPolicy.getAllowedSchema() + ".";
+            for (Object item : (List<?>) tablesParam) {
+                if (item instanceof String && !((String) item).isEmpty()) {
+                    // 스키마 접두사 제거 (있다면)
+                    String tableName = (String) item;
+                    if (tableName.startsWith(allowedSchema)) {
+                        tableName = tableName.substring(allowedSchema.length());
+                    }
+                    tableNames.add(tableName);
+                }
+            }
+        }
+        int maxHops = DEFAULT_MAX_HOPS;
+        Object maxHopsObj = params.get("maxHops");
+        if (maxHopsObj instanceof Number && ((Number) maxHopsObj).intValue() > 0) {
+            maxHops = ((Number) maxHopsObj).intValue();
+        }
+
+        Map<String, Object> result = schemaIntrospector.joinPath(tableNames, maxHops);
+
+        logger.debug("조인 경로 조회 완료: {} (found={})", tableNames, result.get("found"));
+        return result;
+    }
+}
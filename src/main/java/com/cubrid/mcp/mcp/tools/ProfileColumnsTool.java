@@ -0,0 +1,128 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.cubrid.mcp.service.ColumnProfiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ProfileColumnsTool implements McpTool {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileColumnsTool.class);
+
+    private static final int DEFAULT_TOP_K = 5;
+    private static final int MAX_TOP_K = 50;
+
+    private final ColumnProfiler columnProfiler;
+    private final SqlPolicy sqlPolicy;
+
+    @Autowired
+    public ProfileColumnsTool(ColumnProfiler columnProfiler, SqlPolicy sqlPolicy) {
+        this.columnProfiler = columnProfiler;
+        this.sqlPolicy = sqlPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return "db.profileColumns";
+    }
+
+    @Override
+    public String getDescription() {
+        return "테이블 컬럼의 값 분포(NULL 비율, 최솟값/최댓값, 서로 다른 값 수, 평균 길이, 자주 나오는 값)를 "
+            + "표본 행을 한 번 읽어 요약합니다. 데이터를 파악하려고 많은 행을 조회하는 대신 사용합니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        Map<String, Object> properties = new HashMap<>();
+
+        Map<String, Object> table = new HashMap<>();
+        table.put("type", "string");
+        table.put("description", "테이블명 (스키마 없이)");
+        properties.put("table", table);
+
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("type", "array");
+        Map<String, Object> items = new HashMap<>();
+        items.put("type", "string");
+        columns.put("items", items);
+        columns.put("description", "요약할 컬럼명 목록 (생략하면 전체 컬럼)");
+        properties.put("columns", columns);
+
+        Map<String, Object> sample = new HashMap<>();
+        sample.put("type", "integer");
+        sample.put("description", "무작위로 고른 이 행 수만 요약 (생략하면 서버 기본값, 0이면 전체 테이블). "
+            + "서로 다른 값 수와 top은 이 중 최대 hard-max-rows 행으로 구함");
+        properties.put("sample", sample);
+
+        Map<String, Object> topK = new HashMap<>();
+        topK.put("type", "integer");
+        topK.put("description", "컬럼별로 반환할 자주 나오는 값 수 (기본값: " + DEFAULT_TOP_K + ", 0이면 생략, 최대 "
+            + MAX_TOP_K + ")");
+        topK.put("default", DEFAULT_TOP_K);
+        properties.put("topK", topK);
+
+        Map<String, Object> timeoutMs = new HashMap<>();
+        timeoutMs.put("type", "integer");
+        timeoutMs.put("description", "타임아웃 밀리초 (기본값: 없음, 하드 상한 적용)");
+        properties.put("timeoutMs", timeoutMs);
+
+        schema.put("properties", properties);
+        schema.put("required", new String[]{"table"});
+        return schema;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) throws Exception {
+        String tableName = (String) params.get("table");
+        if (tableName == null || tableName.trim().isEmpty()) {
+            throw new IllegalArgumentException("테이블명이 필요합니다.");
+        }
+        tableName = tableName.trim();
+        // 스키마 접두사 제거 (있다면)
+        String allowedSchema = sqlPolicy.getAllowedSchema() + ".";
+        if (tableName.startsWith(allowedSchema)) {
+            tableName = tableName.substring(allowedSchema.length());
+        }
+
+        List<String> columns = new ArrayList<>();
+        Object columnsParam = params.get("columns");
+        if (columnsParam instanceof List) {
+            for (Object item : (List<?>) columnsParam) {
+                if (item instanceof String && !((String) item).isEmpty()) {
+                    columns.add((String) item);
+                }
+            }
+        }
+
+        Long sample = null;
+        Object sampleObj = params.get("sample");
+        if (sampleObj instanceof Number) {
+            sample = Math.max(0, ((Number) sampleObj).longValue());
+        }
+        int topK = DEFAULT_TOP_K;
+        Object topKObj = params.get("topK");
+        if (topKObj instanceof Number && ((Number) topKObj).intValue() >= 0) {
+            topK = Math.min(((Number) topKObj).intValue(), MAX_TOP_K);
+        }
+        Long timeoutMs = null;
+        Object timeoutMsObj = params.get("timeoutMs");
+        if (timeoutMsObj instanceof Number) {
+            timeoutMs = ((Number) timeoutMsObj).longValue();
+        }
+
+        Map<String, Object> result = columnProfiler.profile(tableName, columns, sample, topK, timeoutMs);
+
+        logger.debug("컬럼 요약 조회 완료: {} (sample={}, topK={})", tableName, sample, topK);
+        return result;
+    }
+}
@@ -2,12 +2,20 @@ package com.cubrid.mcp.mcp.tools;
 
 import com.cubrid.mcp.policy.SqlPolicy;
 import com.cubrid.mcp.service.QueryExecutor;
+import com.cubrid.mcp.service.QueryResultCache;
+import com.cubrid.mcp.service.RequestContext;
+import com.cubrid.mcp.service.ResultFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -16,11 +24,13 @@ public class QueryTool implements McpTool {
 
     private final QueryExecutor queryExecutor;
     private final SqlPolicy sqlPolicy;
+    private final QueryResultCache resultCache;
 
     @Autowired
-    public QueryTool(QueryExecutor queryExecutor, SqlPolicy sqlPolicy) {
+    public QueryTool(QueryExecutor queryExecutor, SqlPolicy sqlPolicy, QueryResultCache resultCache) {
         this.queryExecutor = queryExecutor;
         this.sqlPolicy = sqlPolicy;
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -44,6 +54,15 @@ public class QueryTool implements McpTool {
         sql.put("description", "실행할 SELECT SQL 쿼리");
         properties.put("sql", sql);
         
+        Map<String, Object> bindParams = new HashMap<>();
+        bindParams.put("type", "array");
+        Map<String, Object> bindItem = new HashMap<>();
+        bindItem.put("type", new String[]{"string", "number", "boolean", "null"});
+        bindParams.put("items", bindItem);
+        bindParams.put("description", "SQL의 바인딩 변수(?)에 순서대로 넣을 값. 값만 다른 쿼리는 ?와 params로 보내면 "
+            + "DB가 실행 계획을 재사용합니다 (예: sql \"SELECT * FROM t WHERE id = ?\", params [123])");
+        properties.put("params", bindParams);
+        
         Map<String, Object> maxRows = new HashMap<>();
         maxRows.put("type", "integer");
         maxRows.put("description", "최대 행 수 (기본값: 없음, 하드 상한 적용)");
@@ -59,6 +78,29 @@ public class QueryTool implements McpTool {
         timeoutMs.put("description", "타임아웃 밀리초 (기본값: 없음, 하드 상한 적용)");
         properties.put("timeoutMs", timeoutMs);
         
+        Map<String, Object> cursor = new HashMap<>();
+        cursor.put("type", "boolean");
+        cursor.put("description", "true면 첫 페이지(maxRows 행)와 cursorId를 반환합니다. 남은 행은 db.fetch로 이어서 조회합니다.");
+        cursor.put("default", false);
+        properties.put("cursor", cursor);
+        
+        Map<String, Object> format = new HashMap<>();
+        format.put("type", "string");
+        format.put("enum", new String[]{"json", "columnar", "csv", "tsv", "ndjson"});
+        format.put("description", "결과 형식. json: 행 배열(rows), columnar: 컬럼 배열(data), "
+            + "csv/tsv/ndjson: text 필드에 텍스트 (json보다 작고 빠름). "
+            + "columnar는 컬럼마다 plain/dict(반복 문자열)/rle(연속 같은 값) 중 가장 작은 인코딩을 사용합니다.");
+        format.put("default", "json");
+        properties.put("format", format);
+        
+        Map<String, Object> cache = new HashMap<>();
+        cache.put("type", "string");
+        cache.put("enum", new String[]{"use", "bypass"});
+        cache.put("description", "결과 캐시 사용 여부 (서버에서 query.cache.enabled가 켜져 있을 때). "
+            + "bypass면 캐시를 조회하거나 저장하지 않고 항상 DB에서 실행합니다.");
+        cache.put("default", "use");
+        properties.put("cache", cache);
+        
         schema.put("properties", properties);
         schema.put("required", new String[]{"sql"});
         return schema;
@@ -95,11 +137,62 @@ public class QueryTool implements McpTool {
             }
         }
 
+        List<Object> bindValues = parseBindValues(params.get("params"));
+
+        boolean cursor = Boolean.TRUE.equals(params.get("cursor"));
+
+        Object formatObj = params.get("format");
+        ResultFormat format = ResultFormat.parse(formatObj instanceof String ? (String) formatObj : null);
+
+        boolean bypassCache = "bypass".equalsIgnoreCase(String.valueOf(params.get("cache")));
+
         try {
-            return queryExecutor.executeQuery(sql, maxRows, maxBytes, timeoutMs);
+            if (cursor) {
+                return queryExecutor.openCursor(sql, bindValues, maxRows, maxBytes, timeoutMs, format);
+            }
+            if (resultCache.isEnabled() && !bypassCache) {
+                // 캐시에 저장하려면 결과를 모아야 하므로 스트리밍하지 않음
+                final Integer rows = maxRows;
+                final Long bytes = maxBytes;
+                final Long timeout = timeoutMs;
+                return resultCache.getOrLoad(sql, bindValues, maxRows, maxBytes, format,
+                    () -> queryExecutor.executeQueryShared(sql, bindValues, rows, bytes, timeout, format));
+            }
+            // 응답을 전송 스트림에 직접 쓰는 경로면 행을 모으지 않고 ResultSet에서 바로 직렬화
+            // (columnar는 컬럼별 인코딩을 고르려면 행을 모두 읽어야 하므로 제외)
+            RequestContext context = RequestContext.current();
+            if (format.isStreamable() && context != null && context.isStreamingAllowed()) {
+                return queryExecutor.streamQuery(sql, bindValues, maxRows, maxBytes, timeoutMs, format);
+            }
+            // 결과를 모으는 경로는 동시에 들어온 같은 쿼리를 한 번만 실행
+            return queryExecutor.executeQueryShared(sql, bindValues, maxRows, maxBytes, timeoutMs, format);
         } catch (com.cubrid.mcp.policy.SqlPolicy.PolicyViolationException e) {
             logger.warn("정책 위반: {}", e.getMessage());
             throw new Exception("SQL 정책 위반: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * params 배열을 바인딩 값 목록으로 변환합니다 (문자열, 숫자, 불리언, null만 허용).
+     */
+    private static List<Object> parseBindValues(Object value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("params는 배열이어야 합니다.");
+        }
+        List<Object> values = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            if (item instanceof BigInteger) {
+                // 드라이버가 BigInteger를 지원하지 않으므로 NUMERIC으로 바인딩
+                values.add(new BigDecimal((BigInteger) item));
+            } else if (item == null || item instanceof String || item instanceof Number || item instanceof Boolean) {
+                values.add(item);
+            } else {
+                throw new IllegalArgumentException("params 값은 문자열, 숫자, 불리언, null만 사용할 수 있습니다.");
+            }
+        }
+        return values;
+    }
 }
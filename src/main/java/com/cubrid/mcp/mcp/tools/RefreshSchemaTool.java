@@ -0,0 +1,108 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.cubrid.mcp.service.ColumnProfiler;
+import com.cubrid.mcp.service.QueryResultCache;
+import com.cubrid.mcp.service.ResultPlanCache;
+import com.cubrid.mcp.service.SchemaIntrospector;
+import com.cubrid.mcp.service.TableStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class RefreshSchemaTool implements McpTool {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshSchemaTool.class);
+
+    private final SchemaIntrospector schemaIntrospector;
+    private final ResultPlanCache resultPlanCache;
+    private final QueryResultCache queryResultCache;
+    private final TableStatsService tableStatsService;
+    private final ColumnProfiler columnProfiler;
+    private final SqlPolicy sqlPolicy;
+
+    @Autowired
+    public RefreshSchemaTool(SchemaIntrospector schemaIntrospector, ResultPlanCache resultPlanCache,
+                             QueryResultCache queryResultCache, TableStatsService tableStatsService,
+                             ColumnProfiler columnProfiler, SqlPolicy sqlPolicy) {
+        this.schemaIntrospector = schemaIntrospector;
+        this.resultPlanCache = resultPlanCache;
+        this.queryResultCache = queryResultCache;
+        this.tableStatsService = tableStatsService;
+        this.columnProfiler = columnProfiler;
+        this.sqlPolicy = sqlPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return "db.refreshSchema";
+    }
+
+    @Override
+    public String getDescription() {
+        return "캐시된 스키마 정보를 비워 다음 조회 때 DB에서 다시 읽도록 합니다. 테이블 구조를 변경한 뒤 사용합니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        Map<String, Object> properties = new HashMap<>();
+
+        Map<String, Object> table = new HashMap<>();
+        table.put("type", "string");
+        table.put("description", "비울 테이블명 (생략하면 전체 스키마)");
+        properties.put("table", table);
+
+        Map<String, Object> reload = new HashMap<>();
+        reload.put("type", "boolean");
+        reload.put("description", "전체 스키마를 비운 뒤 바로 다시 읽을지 여부 (기본값: false)");
+        reload.put("default", false);
+        properties.put("reload", reload);
+
+        schema.put("properties", properties);
+        return schema;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) throws Exception {
+        String tableName = (String) params.get("table");
+        if (tableName != null) {
+            tableName = tableName.trim();
+            // 스키마 접두사 제거 (있다면)
+            String allowedSchema = sqlPolicy.getAllowedSchema() + ".";
+            if (tableName.startsWith(allowedSchema)) {
+                tableName = tableName.substring(allowedSchema.length());
+            }
+            if (tableName.isEmpty()) {
+                tableName = null;
+            }
+        }
+        boolean reload = Boolean.TRUE.equals(params.get("reload"));
+
+        int invalidated = schemaIntrospector.invalidate(tableName);
+        // 컬럼 구성이 바뀌었을 수 있으므로 결과 읽기 계획과 결과 캐시도 비움
+        resultPlanCache.clear();
+        queryResultCache.clear();
+        tableStatsService.invalidate(tableName);
+        columnProfiler.clear();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("schema", sqlPolicy.getAllowedSchema());
+        if (tableName != null) {
+            result.put("table", tableName);
+        }
+        result.put("invalidated", invalidated);
+        if (tableName == null && reload && schemaIntrospector.isCacheEnabled()) {
+            result.put("reloaded", schemaIntrospector.reload());
+        }
+
+        logger.info("스키마 캐시 갱신: table={}, invalidated={}", tableName, invalidated);
+        return result;
+    }
+}
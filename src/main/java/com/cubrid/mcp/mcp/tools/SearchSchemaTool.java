@@ -0,0 +1,96 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.cubrid.mcp.service.SchemaIntrospector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SearchSchemaTool implements McpTool {
+    private static final Logger logger = LoggerFactory.getLogger(SearchSchemaTool.class);
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SchemaIntrospector schemaIntrospector;
+    private final SqlPolicy sqlPolicy;
+
+    @Autowired
+    public SearchSchemaTool(SchemaIntrospector schemaIntrospector, SqlPolicy sqlPolicy) {
+        this.schemaIntrospector = schemaIntrospector;
+        this.sqlPolicy = sqlPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return "db.searchSchema";
+    }
+
+    @Override
+    public String getDescription() {
+        return "테이블명, 컬럼명, 주석에서 검색어와 비슷한 항목을 점수순으로 찾습니다. 이름의 일부나 오타가 있어도 찾을 수 있습니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        Map<String, Object> properties = new HashMap<>();
+
+        Map<String, Object> query = new HashMap<>();
+        query.put("type", "string");
+        query.put("description", "검색어 (예: 'customer', 'cust_no', '주문')");
+        properties.put("query", query);
+
+        Map<String, Object> kind = new HashMap<>();
+        kind.put("type", "string");
+        kind.put("enum", new String[]{"all", "table", "column"});
+        kind.put("description", "검색 대상 (기본값: all)");
+        kind.put("default", "all");
+        properties.put("kind", kind);
+
+        Map<String, Object> limit = new HashMap<>();
+        limit.put("type", "integer");
+        limit.put("description", "최대 결과 수 (기본값: " + DEFAULT_LIMIT + ")");
+        limit.put("default", DEFAULT_LIMIT);
+        properties.put("limit", limit);
+
+        schema.put("properties", properties);
+        schema.put("required", new String[]{"query"});
+        return schema;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) throws Exception {
+        String query = (String) params.get("query");
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("검색어가 필요합니다.");
+        }
+        String kind = (String) params.getOrDefault("kind", "all");
+        if (!"all".equals(kind) && !"table".equals(kind) && !"column".equals(kind)) {
+            throw new IllegalArgumentException("kind는 all, table, column 중 하나여야 합니다: " + kind);
+        }
+        int limit = DEFAULT_LIMIT;
+        Object limitObj = params.get("limit");
+        if (limitObj instanceof Number && ((Number) limitObj).intValue() > 0) {
+            limit = ((Number) limitObj).intValue();
+        }
+
+        List<Map<String, Object>> matches =
+            schemaIntrospector.searchSchema(query, "all".equals(kind) ? null : kind, limit);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("schema", sqlPolicy.getAllowedSchema());
+        result.put("query", query);
+        result.put("matches", matches);
+
+        logger.debug("스키마 검색 완료: '{}' {}개", query, matches.size());
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cubrid.mcp.mcp.tools;
+
+import com.cubrid.mcp.dto.TableInfo;
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.cubrid.mcp.service.SchemaIntrospector;
+import com.cubrid.mcp.service.TableStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class TableStatsTool implements McpTool {
+    private static final Logger logger = LoggerFactory.getLogger(TableStatsTool.class);
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final TableStatsService tableStatsService;
+    private final SchemaIntrospector schemaIntrospector;
+    private final SqlPolicy sqlPolicy;
+
+    @Autowired
+    public TableStatsTool(TableStatsService tableStatsService, SchemaIntrospector schemaIntrospector,
+                          SqlPolicy sqlPolicy) {
+        this.tableStatsService = tableStatsService;
+        this.schemaIntrospector = schemaIntrospector;
+        this.sqlPolicy = sqlPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return "db.tableStats";
+    }
+
+    @Override
+    public String getDescription() {
+        return "테이블의 예상 행 수, 페이지 수, 인덱스별 카디널리티를 DB 통계에서 조회합니다. "
+            + "COUNT(*)로 테이블을 읽지 않으므로 큰 테이블에도 빠르지만 값은 근사치입니다.";
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        Map<String, Object> properties = new HashMap<>();
+
+        Map<String, Object> tables = new HashMap<>();
+        tables.put("type", "array");
+        Map<String, Object> items = new HashMap<>();
+        items.put("type", "string");
+        tables.put("items", items);
+        tables.put("description", "테이블명 목록 (스키마 없이)");
+        properties.put("tables", tables);
+
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("type", "string");
+        pattern.put("description", "테이블명 패턴 (LIKE 패턴, tables 대신 사용)");
+        properties.put("pattern", pattern);
+
+        Map<String, Object> limit = new HashMap<>();
+        limit.put("type", "integer");
+        limit.put("description", "pattern 사용 시 최대 테이블 수 (기본값: " + DEFAULT_LIMIT + ")");
+        limit.put("default", DEFAULT_LIMIT);
+        properties.put("limit", limit);
+
+        schema.put("properties", properties);
+        return schema;
+    }
+
+    @Override
+    public Object execute(Map<String, Object> params) throws Exception {
+        List<String> tableNames = new ArrayList<>();
+        Object tablesParam = params.get("tables");
+        String pattern = (String) params.get("pattern");
+
+        if (tablesParam instanceof List) {
+            String allowedSchema = sqlPolicy.getAllowedSchema() + ".";
+            for (Object item : (List<?>) tablesParam) {
+                if (!(item instanceof String) || ((String) item).isEmpty()) {
+                    continue;
+                }
+                // 스키마 접두사 제거 (있다면)
+                String tableName = (String) item;
+                if (tableName.startsWith(allowedSchema)) {
+                    tableName = tableName.substring(allowedSchema.length());
+                }
+                tableNames.add(tableName);
+            }
+        } else if (pattern != null && !pattern.isEmpty()) {
+            int limit = DEFAULT_LIMIT;
+            Object limitObj = params.get("limit");
+            if (limitObj instanceof Number && ((Number) limitObj).intValue() > 0) {
+                limit = ((Number) limitObj).intValue();
+            }
+            for (TableInfo table : schemaIntrospector.listTables(pattern, limit)) {
+                tableNames.add(table.getName());
+            }
+        } else {
+            throw new IllegalArgumentException("tables 또는 pattern이 필요합니다.");
+        }
+
+        Map<String, Object> result = tableStatsService.getStats(tableNames);
+
+        logger.debug("테이블 통계 조회 완료: {}개", tableNames.size());
+        return result;
+    }
+}
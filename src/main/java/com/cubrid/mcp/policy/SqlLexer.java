@@ -0,0 +1,270 @@
+package com.cubrid.mcp.policy;
+
+import java.util.Arrays;
+
+/**
+ * CUBRID SQL 토크나이저입니다.
+ * 문자열 리터럴('...', N'...', X'...', B'...'), 따옴표 식별자("...", `...`, [...]),
+ * 주석(--, //, 블록 주석)을 구분하므로 리터럴이나 주석 안의 단어를 키워드로 오인하지 않습니다.
+ * 토큰은 객체를 만들지 않고 종류와 원문 위치만 배열에 담으며, 공백과 주석은 토큰으로 남기지 않습니다.
+ */
+public final class SqlLexer {
+    /** 따옴표 없는 식별자 또는 키워드 */
+    public static final int WORD = 1;
+    /** 따옴표로 감싼 식별자 */
+    public static final int QUOTED = 2;
+    /** 문자열/비트열 리터럴 */
+    public static final int STRING = 3;
+    /** 숫자 리터럴 */
+    public static final int NUMBER = 4;
+    /** 바인딩 변수 (?) */
+    public static final int PARAM = 5;
+    /** 괄호, 쉼표, 연산자 등 기호 한 글자 */
+    public static final int SYMBOL = 6;
+
+    private SqlLexer() {
+    }
+
+    /**
+     * SQL을 토큰으로 나눕니다.
+     *
+     * @throws SqlPolicy.PolicyViolationException 닫히지 않은 문자열, 식별자, 주석이 있는 경우
+     */
+    public static Tokens tokenize(String sql) throws SqlPolicy.PolicyViolationException {
+        Tokens tokens = new Tokens(sql);
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if ((c == '-' && next(sql, i) == '-') || (c == '/' && next(sql, i) == '/')) {
+                // 줄 끝까지 주석
+                while (i < length && sql.charAt(i) != '\n' && sql.charAt(i) != '\r') {
+                    i++;
+                }
+            } else if (c == '/' && next(sql, i) == '*') {
+                int close = sql.indexOf("*/", i + 2);
+                if (close < 0) {
+                    throw new SqlPolicy.PolicyViolationException("닫히지 않은 주석이 있습니다.");
+                }
+                i = close + 2;
+            } else if (c == '\'') {
+                int end = quoted(sql, i, '\'', "닫히지 않은 문자열이 있습니다.");
+                i = tokens.add(STRING, i, noBackslash(sql, i, end));
+            } else if ((c == 'N' || c == 'n' || c == 'X' || c == 'x' || c == 'B' || c == 'b')
+                       && next(sql, i) == '\'') {
+                // N'...' (국가 문자), X'...'/B'...' (비트열)
+                int end = quoted(sql, i + 1, '\'', "닫히지 않은 문자열이 있습니다.");
+                i = tokens.add(STRING, i, noBackslash(sql, i, end));
+            } else if (c == '"') {
+                int end = quoted(sql, i, c, "닫히지 않은 식별자가 있습니다.");
+                i = tokens.add(QUOTED, i, noBackslash(sql, i, end));
+            } else if (c == '`') {
+                i = tokens.add(QUOTED, i, quoted(sql, i, c, "닫히지 않은 식별자가 있습니다."));
+            } else if (c == '[') {
+                int close = sql.indexOf(']', i + 1);
+                if (close < 0) {
+                    throw new SqlPolicy.PolicyViolationException("닫히지 않은 식별자가 있습니다.");
+                }
+                i = tokens.add(QUOTED, i, close + 1);
+            } else if (isDigit(c) || (c == '.' && isDigit(next(sql, i)) && !followsName(tokens, i))) {
+                i = tokens.add(NUMBER, i, number(sql, i));
+            } else if (isWordStart(c)) {
+                int end = i + 1;
+                while (end < length && isWordPart(sql.charAt(end))) {
+                    end++;
+                }
+                i = tokens.add(WORD, i, end);
+            } else if (c == '?') {
+                i = tokens.add(PARAM, i, i + 1);
+            } else {
+                i = tokens.add(SYMBOL, i, i + 1);
+            }
+        }
+        return tokens;
+    }
+
+    private static char next(String sql, int i) {
+        return i + 1 < sql.length() ? sql.charAt(i + 1) : 0;
+    }
+
+    /**
+     * 따옴표로 시작하는 토큰의 끝 위치 (같은 따옴표를 두 번 쓰면 따옴표 문자 자체)
+     */
+    private static int quoted(String sql, int open, char quote, String unclosedMessage)
+            throws SqlPolicy.PolicyViolationException {
+        int i = open + 1;
+        while (true) {
+            int close = sql.indexOf(quote, i);
+            if (close < 0) {
+                throw new SqlPolicy.PolicyViolationException(unclosedMessage);
+            }
+            if (close + 1 < sql.length() && sql.charAt(close + 1) == quote) {
+                i = close + 2;
+                continue;
+            }
+            return close + 1;
+        }
+    }
+
+    /**
+     * 따옴표 안에 백슬래시가 있으면 거부합니다.
+     * 서버의 no_backslash_escapes 설정에 따라 \'가 따옴표를 닫을 수도, 이스케이프할 수도 있어서
+     * 어느 쪽으로 나누어도 서버와 다르게 읽을 위험이 있습니다 (예: '\'' ; DELETE ... -- ').
+     *
+     * @return end (그대로)
+     */
+    private static int noBackslash(String sql, int start, int end) throws SqlPolicy.PolicyViolationException {
+        for (int i = start; i < end; i++) {
+            if (sql.charAt(i) == '\\') {
+                throw new SqlPolicy.PolicyViolationException("백슬래시(\\)가 포함된 문자열은 허용되지 않습니다.");
+            }
+        }
+        return end;
+    }
+
+    private static int number(String sql, int i) {
+        int length = sql.length();
+        while (i < length && isDigit(sql.charAt(i))) {
+            i++;
+        }
+        if (i < length && sql.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(sql.charAt(i))) {
+                i++;
+            }
+        }
+        if (i < length && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (exponent < length && (sql.charAt(exponent) == '+' || sql.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < length && isDigit(sql.charAt(exponent))) {
+                i = exponent;
+                while (i < length && isDigit(sql.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        return i;
+    }
+
+    /**
+     * 이름 바로 뒤의 점은 소수점이 아니라 구분자 (예: t.1st_col)
+     */
+    private static boolean followsName(Tokens tokens, int i) {
+        int last = tokens.size() - 1;
+        return last >= 0 && tokens.end(last) == i
+            && (tokens.type(last) == WORD || tokens.type(last) == QUOTED);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordStart(char c) {
+        return c == '_' || Character.isLetter(c);
+    }
+
+    private static boolean isWordPart(char c) {
+        return c == '_' || c == '#' || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * 토큰 목록. 토큰마다 종류와 원문 위치(start 포함, end 제외)만 저장합니다.
+     */
+    public static final class Tokens {
+        private final String sql;
+        private int[] types = new int[32];
+        private int[] starts = new int[32];
+        private int[] ends = new int[32];
+        private int size;
+
+        private Tokens(String sql) {
+            this.sql = sql;
+        }
+
+        private int add(int type, int start, int end) {
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            types[size] = type;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+            return end;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int type(int index) {
+            return types[index];
+        }
+
+        public int start(int index) {
+            return starts[index];
+        }
+
+        public int end(int index) {
+            return ends[index];
+        }
+
+        public int length(int index) {
+            return ends[index] - starts[index];
+        }
+
+        /**
+         * 토큰 원문 (새 문자열을 만들므로 비교에는 is/isSymbol을 사용)
+         */
+        public String text(int index) {
+            return sql.substring(starts[index], ends[index]);
+        }
+
+        /**
+         * 따옴표를 뗀 이름 (WORD는 원문 그대로, QUOTED는 따옴표와 이스케이프를 제거)
+         */
+        public String name(int index) {
+            if (types[index] != QUOTED) {
+                return text(index);
+            }
+            char open = sql.charAt(starts[index]);
+            String inner = sql.substring(starts[index] + 1, ends[index] - 1);
+            return open == '[' ? inner : inner.replace(String.valueOf(open) + open, String.valueOf(open));
+        }
+
+        /**
+         * 따옴표 없는 단어가 주어진 키워드와 같은지 (대소문자 무시, 문자열을 만들지 않음)
+         */
+        public boolean is(int index, String keyword) {
+            return index >= 0 && index < size && types[index] == WORD && length(index) == keyword.length()
+                && sql.regionMatches(true, starts[index], keyword, 0, keyword.length());
+        }
+
+        /**
+         * 주어진 기호 한 글자인지
+         */
+        public boolean isSymbol(int index, char symbol) {
+            return index >= 0 && index < size && types[index] == SYMBOL && sql.charAt(starts[index]) == symbol;
+        }
+
+        /**
+         * 이름(따옴표 유무 무관)이 주어진 값과 같은지 (대소문자 무시)
+         */
+        public boolean nameEquals(int index, String value) {
+            if (types[index] == WORD) {
+                return length(index) == value.length()
+                    && sql.regionMatches(true, starts[index], value, 0, value.length());
+            }
+            return types[index] == QUOTED && name(index).equalsIgnoreCase(value);
+        }
+    }
+}
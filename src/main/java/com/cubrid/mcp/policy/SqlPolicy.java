@@ -5,11 +5,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
-
 @Component
 public class SqlPolicy {
     private static final Logger logger = LoggerFactory.getLogger(SqlPolicy.class);
@@ -17,27 +12,12 @@ public class SqlPolicy {
     @Value("${policy.allowed-schema:dba}")
     private String allowedSchema;
     
-    // 금지된 SQL 키워드 (대소문자 무시)
-    private static final Set<String> FORBIDDEN_KEYWORDS = new HashSet<>(Arrays.asList(
-        "INSERT", "UPDATE", "DELETE", "MERGE", "DROP", "ALTER", "CREATE", 
-        "TRUNCATE", "GRANT", "REVOKE", "CALL", "EXEC", "EXECUTE", "SET", 
+    // 금지된 SQL 키워드 (대소문자 무시). 따옴표 밖의 단어 토큰만 비교하므로 문자열/주석 안의 단어는 해당 없음
+    private static final String[] FORBIDDEN_KEYWORDS = {
+        "INSERT", "UPDATE", "DELETE", "MERGE", "DROP", "ALTER", "CREATE",
+        "TRUNCATE", "GRANT", "REVOKE", "CALL", "EXEC", "EXECUTE", "SET",
         "COMMIT", "ROLLBACK", "SAVEPOINT", "LOCK", "UNLOCK"
-    ));
-    
-    // SELECT 문 시작 패턴 (대소문자 무시, 앞뒤 공백 허용)
-    private static final Pattern SELECT_PATTERN = Pattern.compile(
-        "^\\s*SELECT\\s+", Pattern.CASE_INSENSITIVE | Pattern.DOTALL
-    );
-    
-    // 다중 문장 차단 (세미콜론으로 구분된 문장이 2개 이상인지 확인)
-    private static final Pattern MULTI_STATEMENT_PATTERN = Pattern.compile(
-        ".*;\\s*[^;]+", Pattern.CASE_INSENSITIVE | Pattern.DOTALL
-    );
-    
-    // 스키마 참조 패턴 (public. 또는 public 스키마가 아닌 다른 스키마)
-    private static final Pattern SCHEMA_PATTERN = Pattern.compile(
-        "\\b(\\w+)\\.", Pattern.CASE_INSENSITIVE
-    );
+    };
 
     @Value("${policy.hard-max-rows:10000}")
     private int hardMaxRows;
@@ -55,70 +35,72 @@ public class SqlPolicy {
      * @throws PolicyViolationException 정책 위반 시
      */
     public void validate(String sql) throws PolicyViolationException {
+        prepare(sql);
+    }
+
+    /**
+     * SQL 문을 검증하고 파싱한 구조를 반환합니다.
+     * 토큰을 한 번 나누어 문장 수, 시작 키워드, 금칙어, 스키마 참조를 검사하며,
+     * 반환한 구조로 스키마 접두사 추가 등을 다시 파싱하지 않고 처리할 수 있습니다.
+     *
+     * @throws PolicyViolationException 정책 위반 시
+     */
+    public SqlStatement prepare(String sql) throws PolicyViolationException {
         if (sql == null || sql.trim().isEmpty()) {
             throw new PolicyViolationException("SQL 문이 비어있습니다.");
         }
-
-        String normalizedSql = sql.trim();
-        
-        // 1. 다중 문장 차단
-        if (containsMultipleStatements(normalizedSql)) {
-            throw new PolicyViolationException("다중 SQL 문은 허용되지 않습니다.");
+        SqlLexer.Tokens tokens = SqlLexer.tokenize(sql);
+        if (tokens.size() == 0 || tokens.isSymbol(0, ';')) {
+            throw new PolicyViolationException("SQL 문이 비어있습니다.");
         }
-        
-        // 2. SELECT 문인지 확인
-        if (!isSelectStatement(normalizedSql)) {
+
+        // 1. SELECT 문인지 확인 (WITH로 시작하는 CTE 포함)
+        if (!tokens.is(0, "SELECT") && !tokens.is(0, "WITH")) {
             throw new PolicyViolationException("SELECT 문만 허용됩니다.");
         }
-        
-        // 3. 금칙어 검사
-        if (containsForbiddenKeywords(normalizedSql)) {
-            throw new PolicyViolationException("허용되지 않은 SQL 키워드가 포함되어 있습니다.");
+
+        SqlStatement statement = SqlStatement.parse(tokens);
+
+        // 2. 다중 문장 차단 (마지막 세미콜론 뒤에는 아무것도 없어야 함)
+        if (statement.hasTrailingStatement()) {
+            throw new PolicyViolationException("다중 SQL 문은 허용되지 않습니다.");
         }
-        
-        // 4. public 스키마 강제
-        enforcePublicSchema(normalizedSql);
-        
-        logger.debug("SQL 검증 통과: {}", normalizedSql.substring(0, Math.min(100, normalizedSql.length())));
-    }
 
-    /**
-     * 다중 문장인지 확인합니다.
-     */
-    private boolean containsMultipleStatements(String sql) {
-        // 세미콜론이 있고, 그 뒤에 실제 SQL 키워드가 있는지 확인
-        String[] parts = sql.split(";");
-        int statementCount = 0;
-        for (String part : parts) {
-            String trimmed = part.trim();
-            if (!trimmed.isEmpty() && 
-                (trimmed.toUpperCase().startsWith("SELECT") || 
-                 trimmed.toUpperCase().matches("^\\s*WITH\\s+.*"))) {
-                statementCount++;
+        // 3. 금칙어 검사 (따옴표 밖의 단어만, t.set 같은 컬럼명은 제외)
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.type(i) == SqlLexer.WORD && !tokens.isSymbol(i - 1, '.') && isForbiddenKeyword(tokens, i)) {
+                logger.warn("금지된 키워드 발견: {}", tokens.text(i).toUpperCase());
+                throw new PolicyViolationException("허용되지 않은 SQL 키워드가 포함되어 있습니다.");
             }
         }
-        return statementCount > 1;
+
+        // 4. 스키마 참조 검사
+        checkSchemaQualifiers(statement);
+
+        if (logger.isDebugEnabled()) {
+            String trimmed = sql.trim();
+            logger.debug("SQL 검증 통과: {}", trimmed.substring(0, Math.min(100, trimmed.length())));
+        }
+        return statement;
     }
 
     /**
-     * SELECT 문인지 확인합니다.
+     * 스키마 한정자(a.b.c의 a, 테이블 자리의 a.b의 a)가 모두 허용된 스키마인지 확인합니다.
      */
-    private boolean isSelectStatement(String sql) {
-        // SELECT 또는 WITH로 시작하는지 확인 (CTE 지원)
-        String upperSql = sql.toUpperCase().trim();
-        return upperSql.startsWith("SELECT") || upperSql.startsWith("WITH");
+    private void checkSchemaQualifiers(SqlStatement statement) throws PolicyViolationException {
+        SqlLexer.Tokens tokens = statement.getTokens();
+        for (int i : statement.getSchemaQualifiers()) {
+            if (!tokens.nameEquals(i, allowedSchema)) {
+                throw new PolicyViolationException(String.format(
+                    "'%s' 스키마는 허용되지 않습니다. '%s' 스키마만 사용할 수 있습니다.",
+                    tokens.name(i), allowedSchema));
+            }
+        }
     }
 
-    /**
-     * 금지된 키워드가 포함되어 있는지 확인합니다.
-     */
-    private boolean containsForbiddenKeywords(String sql) {
-        String upperSql = sql.toUpperCase();
+    private static boolean isForbiddenKeyword(SqlLexer.Tokens tokens, int index) {
         for (String keyword : FORBIDDEN_KEYWORDS) {
-            // 단어 경계를 고려한 검색
-            Pattern pattern = Pattern.compile("\\b" + keyword + "\\b", Pattern.CASE_INSENSITIVE);
-            if (pattern.matcher(sql).find()) {
-                logger.warn("금지된 키워드 발견: {}", keyword);
+            if (tokens.is(index, keyword)) {
                 return true;
             }
         }
@@ -130,15 +112,7 @@ public class SqlPolicy {
      * 다른 스키마가 명시되어 있으면 예외를 발생시킵니다.
      */
     public void enforcePublicSchema(String sql) throws PolicyViolationException {
-        java.util.regex.Matcher matcher = SCHEMA_PATTERN.matcher(sql);
-        while (matcher.find()) {
-            String schema = matcher.group(1);
-            if (!allowedSchema.equalsIgnoreCase(schema)) {
-                throw new PolicyViolationException(
-                    String.format("'%s' 스키마는 허용되지 않습니다. '%s' 스키마만 사용할 수 있습니다.", schema, allowedSchema)
-                );
-            }
-        }
+        checkSchemaQualifiers(SqlStatement.parse(sql));
         
         // 스키마가 명시되지 않은 경우, 테이블명 앞에 허용된 스키마를 추가하도록 안내
         // (실제 강제는 쿼리 실행 시점에 처리)
@@ -146,35 +120,23 @@ public class SqlPolicy {
 
     /**
      * 테이블명에 허용된 스키마를 강제로 추가합니다.
+     * 테이블 자리(FROM, JOIN, FROM 목록의 쉼표 뒤)의 스키마 없는 이름에만 붙이며,
+     * CTE 이름, 별칭, 컬럼, 함수 인자의 FROM(EXTRACT(YEAR FROM d) 등), 리터럴과 주석은 건드리지 않습니다.
+     * 토큰으로 나눌 수 없는 SQL은 그대로 반환합니다 (실행 전 validate에서 거부됨).
      */
     public String enforcePublicSchemaPrefix(String sql) {
-        // 간단한 정규식으로 테이블명 앞에 허용된 스키마 추가
-        // FROM, JOIN 등의 뒤에 오는 테이블명 처리
-        String result = sql;
-        
-        // FROM schema.table 또는 FROM table 패턴 처리
-        result = Pattern.compile("\\bFROM\\s+([a-zA-Z_][a-zA-Z0-9_]*)", Pattern.CASE_INSENSITIVE)
-            .matcher(result)
-            .replaceAll(m -> {
-                String tableName = m.group(1);
-                if (!tableName.equalsIgnoreCase(allowedSchema)) {
-                    return "FROM " + allowedSchema + "." + tableName;
-                }
-                return m.group(0);
-            });
-        
-        // JOIN schema.table 또는 JOIN table 패턴 처리
-        result = Pattern.compile("\\bJOIN\\s+([a-zA-Z_][a-zA-Z0-9_]*)", Pattern.CASE_INSENSITIVE)
-            .matcher(result)
-            .replaceAll(m -> {
-                String tableName = m.group(1);
-                if (!tableName.equalsIgnoreCase(allowedSchema)) {
-                    return "JOIN " + allowedSchema + "." + tableName;
-                }
-                return m.group(0);
-            });
-        
-        return result;
+        try {
+            return SqlStatement.parse(sql).withSchema(allowedSchema);
+        } catch (PolicyViolationException e) {
+            return sql;
+        }
+    }
+
+    /**
+     * 이미 파싱한 문장의 테이블명에 허용된 스키마를 추가합니다.
+     */
+    public String enforcePublicSchemaPrefix(SqlStatement statement) {
+        return statement.withSchema(allowedSchema);
     }
     
     public String getAllowedSchema() {
@@ -193,6 +155,27 @@ public class SqlPolicy {
         return hardTimeoutMs;
     }
 
+    /**
+     * 요청한 최대 행 수에 하드 상한을 적용합니다 (null 또는 0 이하면 하드 상한).
+     */
+    public int effectiveMaxRows(Integer maxRows) {
+        return (maxRows != null && maxRows > 0) ? Math.min(maxRows, hardMaxRows) : hardMaxRows;
+    }
+
+    /**
+     * 요청한 최대 바이트 수에 하드 상한을 적용합니다 (null 또는 0 이하면 하드 상한).
+     */
+    public long effectiveMaxBytes(Long maxBytes) {
+        return (maxBytes != null && maxBytes > 0) ? Math.min(maxBytes, hardMaxBytes) : hardMaxBytes;
+    }
+
+    /**
+     * 요청한 타임아웃에 하드 상한을 적용합니다 (null 또는 0 이하면 하드 상한).
+     */
+    public long effectiveTimeoutMs(Long timeoutMs) {
+        return (timeoutMs != null && timeoutMs > 0) ? Math.min(timeoutMs, hardTimeoutMs) : hardTimeoutMs;
+    }
+
     /**
      * 정책 위반 예외 클래스
      */
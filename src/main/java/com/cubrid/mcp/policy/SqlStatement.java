@@ -0,0 +1,602 @@
+package com.cubrid.mcp.policy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SELECT/WITH 문의 간단한 구조입니다.
+ * 토큰을 한 번 훑으며 쿼리 블록(최상위 쿼리, 괄호 안의 서브쿼리, CTE 본문)을 트리로 나누고,
+ * 테이블 자리(FROM, JOIN, FROM 목록의 쉼표 뒤)에 나온 이름 중 CTE가 아닌 실제 테이블 참조와
+ * 스키마 한정자를 모아 둡니다. 정책 검사, 스키마 접두사 추가, LIMIT 추가 등이 다시 파싱하지 않고 사용합니다.
+ * 만든 뒤에는 변경하지 않으므로 여러 스레드에서 함께 사용해도 됩니다.
+ */
+public final class SqlStatement {
+    // FROM 목록을 끝내는 절 키워드 (같은 괄호 깊이에서 나오면 이후 쉼표는 테이블 구분자가 아님)
+    private static final String[] CLAUSE_KEYWORDS = {
+        "WHERE", "GROUP", "HAVING", "ORDER", "LIMIT", "UNION", "INTERSECT", "EXCEPT", "DIFFERENCE",
+        "CONNECT", "START", "FOR", "SELECT", "WINDOW"
+    };
+
+    private final SqlLexer.Tokens tokens;
+    private final Query root;
+    // 첫 문장이 끝난 뒤(;) 이어지는 첫 토큰 위치 (없으면 -1)
+    private final int trailing;
+    // 스키마 없이 쓴 테이블 참조의 토큰 위치 (CTE 이름 제외)
+    private final int[] tableRefs;
+    // 스키마 한정자 토큰 위치 (schema.table의 schema, a.b.c의 a)
+    private final int[] schemaQualifiers;
+    // 바인딩 변수(?) 수
+    private final int parameterCount;
+
+    private SqlStatement(SqlLexer.Tokens tokens, Query root, int trailing, int[] tableRefs, int[] schemaQualifiers,
+                         int parameterCount) {
+        this.tokens = tokens;
+        this.root = root;
+        this.trailing = trailing;
+        this.tableRefs = tableRefs;
+        this.schemaQualifiers = schemaQualifiers;
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * SQL을 토큰으로 나누어 구조를 만듭니다.
+     *
+     * @throws SqlPolicy.PolicyViolationException 닫히지 않은 문자열, 식별자, 주석이 있는 경우
+     */
+    public static SqlStatement parse(String sql) throws SqlPolicy.PolicyViolationException {
+        return parse(SqlLexer.tokenize(sql));
+    }
+
+    public static SqlStatement parse(SqlLexer.Tokens tokens) {
+        return new Parser(tokens).parse();
+    }
+
+    public SqlLexer.Tokens getTokens() {
+        return tokens;
+    }
+
+    public String getSql() {
+        return tokens.getSql();
+    }
+
+    /**
+     * 최상위 쿼리 블록
+     */
+    public Query getRoot() {
+        return root;
+    }
+
+    /**
+     * 세미콜론 뒤에 다른 문장이 이어지는지
+     */
+    public boolean hasTrailingStatement() {
+        return trailing >= 0;
+    }
+
+    public int getTableRefCount() {
+        return tableRefs.length;
+    }
+
+    /**
+     * 바인딩 변수(?) 수
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * 스키마 한정자 토큰 위치 목록 (이름은 getTokens().name(i)으로 읽음)
+     */
+    public int[] getSchemaQualifiers() {
+        return schemaQualifiers.clone();
+    }
+
+    /**
+     * 리터럴 값과 서식을 뺀 문장 형태를 반환합니다.
+     * 문자열/숫자 리터럴은 ?로 바꾸고, 따옴표 없는 단어는 대문자로, 공백과 주석은 공백 하나로 줄이므로
+     * 값만 다른 쿼리는 같은 지문을 가집니다 (로그, 통계에서 같은 쿼리 묶기용).
+     */
+    public String fingerprint() {
+        String sql = tokens.getSql();
+        int size = root.end;
+        StringBuilder sb = new StringBuilder(sql.length());
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            int type = tokens.type(i);
+            if (type == SqlLexer.STRING || type == SqlLexer.NUMBER || type == SqlLexer.PARAM) {
+                sb.append('?');
+            } else if (type == SqlLexer.WORD) {
+                for (int j = tokens.start(i); j < tokens.end(i); j++) {
+                    sb.append(Character.toUpperCase(sql.charAt(j)));
+                }
+            } else {
+                sb.append(sql, tokens.start(i), tokens.end(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 공백과 주석을 뺀 문장 원문을 반환합니다.
+     * 토큰을 원문 그대로 공백 하나로 이어 붙이므로 공백과 주석만 다른 SQL은 같은 값을,
+     * 토큰(문자열 리터럴, 따옴표 식별자 안의 공백 포함)이 하나라도 다른 SQL은 다른 값을 가집니다
+     * (결과 캐시, 동시 요청 합치기의 키).
+     */
+    public String canonical() {
+        String sql = tokens.getSql();
+        StringBuilder sb = new StringBuilder(sql.length());
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(sql, tokens.start(i), tokens.end(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 스키마 없이 쓴 테이블 참조 앞에 스키마를 붙인 SQL을 반환합니다.
+     * 토큰 사이의 원문(공백, 주석 포함)은 그대로 두고 한 번에 복사합니다.
+     */
+    public String withSchema(String schema) {
+        return rewrite(schema, new int[0]);
+    }
+
+    /**
+     * 스키마 없이 쓴 테이블 참조 앞에 스키마를 붙이고, 주어진 리터럴 토큰을 바인딩 변수(?)로 바꾼 SQL을 반환합니다.
+     * 두 위치 목록을 원문 순서대로 합쳐 한 번에 복사합니다.
+     *
+     * @param literals 바꿀 리터럴 토큰 위치 (오름차순, liftableLiterals()의 결과)
+     */
+    public String rewrite(String schema, int[] literals) {
+        String sql = tokens.getSql();
+        if (tableRefs.length == 0 && literals.length == 0) {
+            return sql;
+        }
+        StringBuilder sb = new StringBuilder(sql.length() + tableRefs.length * (schema.length() + 1));
+        int copied = 0;
+        int r = 0;
+        int l = 0;
+        while (r < tableRefs.length || l < literals.length) {
+            if (l == literals.length || (r < tableRefs.length && tableRefs[r] < literals[l])) {
+                int start = tokens.start(tableRefs[r++]);
+                sb.append(sql, copied, start).append(schema).append('.');
+                copied = start;
+            } else {
+                int literal = literals[l++];
+                sb.append(sql, copied, tokens.start(literal)).append('?');
+                copied = tokens.end(literal);
+            }
+        }
+        return sb.append(sql, copied, sql.length()).toString();
+    }
+
+    /**
+     * 바인딩 변수로 바꿔도 의미가 같은 리터럴 토큰 위치를 반환합니다.
+     * WHERE, ON, HAVING 조건 안의 비교 연산자(=, <, > 등), LIKE, BETWEEN ... AND의 피연산자와
+     * 리터럴로만 이루어진 IN (...) 목록의 값만 해당합니다.
+     * SELECT 목록, GROUP BY, ORDER BY의 식은 같은 식이 여러 절에 나와야 하므로(SELECT x = 1 ... GROUP BY x = 1)
+     * 바꾸지 않으며, IN (SELECT a, 1 ...)처럼 서브쿼리의 SELECT 목록에 있는 리터럴도 그대로 둡니다.
+     * ORDER BY 1, LIMIT 10, VARCHAR(255), DATE '...' 처럼 값이 문법의 일부인 리터럴과
+     * N'...', X'...', B'...' 리터럴, 음수(-1)는 그대로 둡니다.
+     */
+    public int[] liftableLiterals() {
+        int size = root.end;
+        int[] literals = new int[8];
+        int count = 0;
+        // 괄호 깊이별로 조건절(WHERE/ON/HAVING) 안인지, 리터럴만 있는 IN 목록인지
+        boolean[] predicate = new boolean[8];
+        boolean[] inList = new boolean[8];
+        int depth = 0;
+        for (int i = 0; i < size; i++) {
+            int type = tokens.type(i);
+            if (tokens.isSymbol(i, '(')) {
+                depth++;
+                if (depth == inList.length) {
+                    inList = Arrays.copyOf(inList, depth * 2);
+                    predicate = Arrays.copyOf(predicate, depth * 2);
+                }
+                // 서브쿼리는 자기 SELECT 목록부터 시작, 그 밖의 괄호(식, 함수 인자)는 바깥 절을 따름
+                predicate[depth] = !tokens.is(i + 1, "SELECT") && !tokens.is(i + 1, "WITH") && predicate[depth - 1];
+                inList[depth] = predicate[depth] && tokens.is(i - 1, "IN") && isLiteralList(i + 1);
+            } else if (tokens.isSymbol(i, ')')) {
+                depth = Math.max(0, depth - 1);
+            } else if (type == SqlLexer.WORD) {
+                if (tokens.is(i, "WHERE") || tokens.is(i, "ON") || tokens.is(i, "HAVING")) {
+                    predicate[depth] = true;
+                } else if (endsPredicate(i)) {
+                    predicate[depth] = false;
+                }
+            } else if ((type == SqlLexer.NUMBER
+                        || (type == SqlLexer.STRING && tokens.getSql().charAt(tokens.start(i)) == '\''))
+                       && predicate[depth] && isComparisonOperand(i, inList[depth])) {
+                literals = Parser.append(literals, count++, i);
+            }
+        }
+        return Arrays.copyOf(literals, count);
+    }
+
+    /**
+     * 조건절을 끝내는 절 키워드인지
+     */
+    private boolean endsPredicate(int i) {
+        for (String keyword : PREDICATE_END_KEYWORDS) {
+            if (tokens.is(i, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final String[] PREDICATE_END_KEYWORDS = {
+        "SELECT", "FROM", "JOIN", "GROUP", "ORDER", "LIMIT", "UNION", "INTERSECT", "EXCEPT", "DIFFERENCE",
+        "FOR", "CONNECT", "START", "USING", "WINDOW"
+    };
+
+    /**
+     * start부터 닫는 괄호까지 리터럴, 바인딩 변수, 쉼표만 있는지
+     */
+    private boolean isLiteralList(int start) {
+        boolean empty = true;
+        for (int i = start; i < tokens.size(); i++) {
+            if (tokens.isSymbol(i, ')')) {
+                return !empty;
+            }
+            int type = tokens.type(i);
+            if (type != SqlLexer.NUMBER && type != SqlLexer.STRING && type != SqlLexer.PARAM
+                    && !tokens.isSymbol(i, ',')) {
+                return false;
+            }
+            empty = false;
+        }
+        return false;
+    }
+
+    private boolean isComparisonOperand(int i, boolean inList) {
+        int prev = i - 1;
+        return tokens.isSymbol(prev, '=') || tokens.isSymbol(prev, '<') || tokens.isSymbol(prev, '>')
+            || tokens.is(prev, "LIKE") || tokens.is(prev, "BETWEEN")
+            || (tokens.is(prev, "AND") && tokens.is(i - 3, "BETWEEN"))
+            || (inList && (tokens.isSymbol(prev, '(') || tokens.isSymbol(prev, ',')));
+    }
+
+    /**
+     * 리터럴 토큰의 값 (문자열은 String, 정수는 Long, 소수는 BigDecimal, 지수 표기는 Double)
+     */
+    public Object literalValue(int index) {
+        String text = tokens.text(index);
+        if (tokens.type(index) == SqlLexer.STRING) {
+            return text.substring(1, text.length() - 1).replace("''", "'");
+        }
+        if (text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+            return Double.valueOf(text);
+        }
+        if (text.indexOf('.') >= 0) {
+            return new BigDecimal(text);
+        }
+        try {
+            return Long.valueOf(text);
+        } catch (NumberFormatException e) {
+            return new BigDecimal(text);
+        }
+    }
+
+    /**
+     * 최상위 쿼리 끝에 LIMIT 절을 붙일 원문 위치를 반환합니다 (마지막 토큰 바로 뒤, 세미콜론과 뒤따르는 주석 앞).
+     * 이미 LIMIT가 있거나, FOR 절(FOR ORDERBY_NUM() 등)이 있거나, UNION 등으로 합친 쿼리면
+     * 붙이지 않으므로 -1을 반환합니다.
+     * 기존 LIMIT는 값과 관계없이 그대로 둡니다 (LIMIT ?나 OFFSET이 있는 형태까지 고쳐 쓰지 않으며,
+     * 어느 경우든 maxRows는 JDBC setMaxRows로 지켜짐).
+     */
+    public int limitPosition() {
+        if (root.end == 0 || root.limit >= 0 || root.forUpdate >= 0 || root.setOperator) {
+            return -1;
+        }
+        return tokens.end(root.end - 1);
+    }
+
+    /**
+     * 쿼리 블록 하나 (최상위 쿼리, 서브쿼리, CTE 본문).
+     * 토큰 위치는 SqlStatement의 토큰 목록 기준이며, 절 위치는 이 블록의 괄호 깊이에서 나온 것만 기록합니다.
+     */
+    public static final class Query {
+        private final Query parent;
+        private final int start;
+        private int end;
+        private final List<String> cteNames = new ArrayList<>();
+        private final List<Query> children = new ArrayList<>();
+        private int orderBy = -1;
+        private int limit = -1;
+        private int forUpdate = -1;
+        private boolean setOperator;
+
+        private Query(Query parent, int start) {
+            this.parent = parent;
+            this.start = start;
+            if (parent != null) {
+                parent.children.add(this);
+            }
+        }
+
+        public Query getParent() {
+            return parent;
+        }
+
+        /**
+         * 첫 토큰 위치 (SELECT 또는 WITH)
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * 마지막 토큰 다음 위치 (서브쿼리면 닫는 괄호, 최상위면 세미콜론 또는 토큰 끝)
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        public List<String> getCteNames() {
+            return Collections.unmodifiableList(cteNames);
+        }
+
+        public List<Query> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * 이 블록의 ORDER 키워드 위치 (없으면 -1)
+         */
+        public int getOrderBy() {
+            return orderBy;
+        }
+
+        /**
+         * 이 블록의 LIMIT 키워드 위치 (없으면 -1)
+         */
+        public int getLimit() {
+            return limit;
+        }
+
+        /**
+         * 이 블록의 FOR (FOR UPDATE 등) 키워드 위치 (없으면 -1)
+         */
+        public int getForUpdate() {
+            return forUpdate;
+        }
+
+        /**
+         * UNION/INTERSECT/EXCEPT/DIFFERENCE로 여러 SELECT를 합치는지
+         */
+        public boolean hasSetOperator() {
+            return setOperator;
+        }
+
+        private boolean isCte(SqlLexer.Tokens tokens, int index) {
+            for (Query q = this; q != null; q = q.parent) {
+                for (String name : q.cteNames) {
+                    if (tokens.nameEquals(index, name)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 괄호 하나(또는 최상위)의 상태
+     */
+    private static final class Frame {
+        private final Query query;
+        // 이 괄호가 쿼리 블록을 여는지 (서브쿼리/CTE 본문)
+        private final boolean opensQuery;
+        private boolean inFrom;
+        private boolean inCteList;
+        // WITH RECURSIVE면 CTE 본문에서도 자기 이름을 참조할 수 있음
+        private boolean recursive;
+        // 본문이 닫힐 때 등록할 CTE 이름 (본문 안의 같은 이름은 실제 테이블)
+        private String pendingCte;
+
+        private Frame(Query query, boolean opensQuery) {
+            this.query = query;
+            this.opensQuery = opensQuery;
+        }
+    }
+
+    private static final class Parser {
+        private final SqlLexer.Tokens tokens;
+        private int[] tableRefs = new int[8];
+        private int tableRefCount;
+        private int[] qualifiers = new int[4];
+        private int qualifierCount;
+        private int parameterCount;
+
+        private Parser(SqlLexer.Tokens tokens) {
+            this.tokens = tokens;
+        }
+
+        private SqlStatement parse() {
+            int size = tokens.size();
+            Query root = new Query(null, 0);
+            List<Frame> frames = new ArrayList<>();
+            frames.add(new Frame(root, true));
+            int trailing = -1;
+            int end = size;
+
+            for (int i = 0; i < size; i++) {
+                Frame frame = frames.get(frames.size() - 1);
+                int type = tokens.type(i);
+
+                if (type == SqlLexer.SYMBOL) {
+                    char c = tokens.getSql().charAt(tokens.start(i));
+                    if (c == '(') {
+                        boolean subquery = tokens.is(i + 1, "SELECT") || tokens.is(i + 1, "WITH");
+                        Frame opened = subquery ? new Frame(new Query(frame.query, i + 1), true)
+                            : new Frame(frame.query, false);
+                        // FROM (a JOIN b ON ...) 처럼 테이블 자리에서 연 괄호 안도 FROM 목록
+                        opened.inFrom = !subquery && isTablePosition(frame, i);
+                        frames.add(opened);
+                    } else if (c == ')') {
+                        if (frames.size() > 1) {
+                            frames.remove(frames.size() - 1);
+                            if (frame.opensQuery) {
+                                frame.query.end = i;
+                                registerCte(frames.get(frames.size() - 1));
+                            }
+                        }
+                    } else if (c == ';' && frames.size() == 1) {
+                        end = i;
+                        int next = i + 1;
+                        while (tokens.isSymbol(next, ';')) {
+                            next++;
+                        }
+                        trailing = next < size ? next : -1;
+                        break;
+                    }
+                    continue;
+                }
+
+                if (type == SqlLexer.PARAM) {
+                    parameterCount++;
+                }
+                if (type != SqlLexer.WORD && type != SqlLexer.QUOTED) {
+                    continue;
+                }
+                boolean qualified = tokens.isSymbol(i - 1, '.');
+                if (type == SqlLexer.WORD && !qualified && clause(frame, i)) {
+                    continue;
+                }
+                if (qualified) {
+                    continue;
+                }
+
+                // CTE 이름: WITH [RECURSIVE] name ... , name ...
+                if (frame.inCteList && (tokens.is(i - 1, "WITH") || tokens.is(i - 1, "RECURSIVE")
+                                        || tokens.isSymbol(i - 1, ','))) {
+                    if (tokens.is(i, "RECURSIVE")) {
+                        frame.recursive = true;
+                    } else if (frame.recursive) {
+                        frame.query.cteNames.add(tokens.name(i));
+                    } else {
+                        registerCte(frame);
+                        frame.pendingCte = tokens.name(i);
+                    }
+                    continue;
+                }
+
+                int parts = 1;
+                for (int j = i + 1; tokens.isSymbol(j, '.') && isName(j + 1); j += 2) {
+                    parts++;
+                }
+                boolean tablePosition = isTablePosition(frame, i);
+                if (parts >= 3 || (parts == 2 && tablePosition)) {
+                    qualifiers = append(qualifiers, qualifierCount++, i);
+                } else if (parts == 1 && tablePosition && !isTableKeyword(i) && !frame.query.isCte(tokens, i)) {
+                    tableRefs = append(tableRefs, tableRefCount++, i);
+                }
+            }
+
+            root.end = end;
+            return new SqlStatement(tokens, root, trailing, Arrays.copyOf(tableRefs, tableRefCount),
+                Arrays.copyOf(qualifiers, qualifierCount), parameterCount);
+        }
+
+        /**
+         * 절 키워드를 처리합니다. 키워드였으면 true.
+         */
+        private boolean clause(Frame frame, int i) {
+            if (tokens.is(i, "WITH") && frame.opensQuery && i == frame.query.start) {
+                frame.inCteList = true;
+                return true;
+            }
+            if (tokens.is(i, "FROM")) {
+                // EXTRACT(YEAR FROM d), TRIM(BOTH 'x' FROM s) 같은 함수 인자의 FROM은 테이블 절이 아님
+                frame.inFrom = frame.opensQuery;
+                return true;
+            }
+            if (!isClauseKeyword(i)) {
+                return false;
+            }
+            frame.inFrom = false;
+            if (!frame.opensQuery) {
+                return true;
+            }
+            if (tokens.is(i, "SELECT")) {
+                registerCte(frame);
+                frame.inCteList = false;
+            } else if (tokens.is(i, "ORDER")) {
+                frame.query.orderBy = i;
+            } else if (tokens.is(i, "LIMIT")) {
+                frame.query.limit = i;
+            } else if (tokens.is(i, "FOR")) {
+                frame.query.forUpdate = i;
+            } else if (tokens.is(i, "UNION") || tokens.is(i, "INTERSECT") || tokens.is(i, "EXCEPT")
+                       || tokens.is(i, "DIFFERENCE")) {
+                frame.query.setOperator = true;
+                // 앞 SELECT의 ORDER BY/LIMIT는 전체 결과에 적용되지 않음
+                frame.query.orderBy = -1;
+                frame.query.limit = -1;
+            }
+            return true;
+        }
+
+        /**
+         * CTE 목록에서 본문이 끝난 CTE 이름을 등록합니다 (이후 CTE와 본 쿼리에서만 보임).
+         */
+        private static void registerCte(Frame frame) {
+            if (frame.inCteList && frame.pendingCte != null) {
+                frame.query.cteNames.add(frame.pendingCte);
+                frame.pendingCte = null;
+            }
+        }
+
+        /**
+         * FROM/JOIN 바로 뒤, FROM 목록의 쉼표나 여는 괄호 뒤, FROM ALL/ONLY 뒤
+         */
+        private boolean isTablePosition(Frame frame, int i) {
+            int prev = i - 1;
+            if (tokens.is(prev, "ALL") || tokens.is(prev, "ONLY")) {
+                prev--;
+            }
+            return (tokens.is(prev, "FROM") && frame.opensQuery) || tokens.is(prev, "JOIN")
+                || ((tokens.isSymbol(prev, ',') || tokens.isSymbol(prev, '(')) && frame.inFrom);
+        }
+
+        /**
+         * 테이블 자리에 오지만 테이블명이 아닌 키워드 (FROM ALL t, FROM TABLE(...) 등)
+         */
+        private boolean isTableKeyword(int i) {
+            return tokens.type(i) == SqlLexer.WORD
+                && (tokens.is(i, "ALL") || tokens.is(i, "ONLY") || tokens.is(i, "LATERAL")
+                    || (tokens.is(i, "TABLE") && tokens.isSymbol(i + 1, '(')));
+        }
+
+        private boolean isClauseKeyword(int i) {
+            for (String keyword : CLAUSE_KEYWORDS) {
+                if (tokens.is(i, keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isName(int index) {
+            return index < tokens.size()
+                && (tokens.type(index) == SqlLexer.WORD || tokens.type(index) == SqlLexer.QUOTED);
+        }
+
+        private static int[] append(int[] values, int size, int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            return values;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.cubrid.mcp.service;
+
+import java.util.Map;
+
+/**
+ * 캐시 통계를 db.cacheStats로 노출하는 캐시가 구현합니다.
+ */
+public interface CacheStatsProvider {
+    /**
+     * 통계에 표시할 캐시 이름
+     */
+    String getCacheName();
+
+    /**
+     * 현재 통계 (항목 수, 적중/실패 횟수 등)
+     */
+    Map<String, Object> getCacheStats();
+}
@@ -0,0 +1,381 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+import com.cubrid.mcp.dto.TableInfo;
+import com.cubrid.mcp.policy.SqlPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CUBRID 카탈로그 뷰(db_class, db_attribute, db_index, db_index_key)에서 허용된 스키마 전체를 한 번에 읽습니다.
+ * DatabaseMetaData는 테이블마다 getColumns/getPrimaryKeys/getIndexInfo 카탈로그 조회를 따로 보내므로
+ * 테이블이 N개면 3N번 왕복하지만, 여기서는 커넥션 하나로 쿼리 3개만 실행합니다.
+ */
+@Component
+public class CatalogLoader {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogLoader.class);
+
+    private static final String TABLES_SQL =
+        "SELECT class_name, class_type, comment FROM db_class"
+            + " WHERE UPPER(owner_name) = UPPER(?) AND is_system_class = 'NO'"
+            + " ORDER BY class_name";
+
+    // 같은 이름의 테이블을 다른 소유자가 가진 경우를 피하려고 db_class와 이름과 소유자로 조인하여 거름
+    private static final String COLUMNS_SQL =
+        "SELECT a.class_name, a.attr_name, a.data_type, a.prec, a.scale, a.is_nullable, a.comment"
+            + " FROM db_attribute a, db_class c"
+            + " WHERE a.class_name = c.class_name AND a.owner_name = c.owner_name"
+            + " AND UPPER(c.owner_name) = UPPER(?)"
+            + " AND c.is_system_class = 'NO' AND a.attr_type = 'INSTANCE'"
+            + " ORDER BY a.class_name, a.def_order";
+
+    private static final String INDEXES_SQL =
+        "SELECT i.class_name, i.index_name, i.is_unique, i.is_primary_key, k.key_attr_name"
+            + " FROM db_index i, db_index_key k, db_class c"
+            + " WHERE k.class_name = i.class_name AND k.index_name = i.index_name AND k.owner_name = i.owner_name"
+            + " AND i.class_name = c.class_name AND i.owner_name = c.owner_name"
+            + " AND UPPER(c.owner_name) = UPPER(?)"
+            + " AND c.is_system_class = 'NO'"
+            + " ORDER BY i.class_name, i.index_name, k.key_order";
+
+    // 변경 감지용: 컬럼 이름/타입/정밀도/NULL 허용과 인덱스 키 목록을 읽어 테이블별로 해시 (값 자체는 전송하지 않음)
+    private static final String COLUMN_FINGERPRINT_SQL =
+        "SELECT c.class_name, c.class_type, a.attr_name, a.data_type, a.prec, a.scale, a.is_nullable"
+            + " FROM db_class c LEFT OUTER JOIN db_attribute a"
+            + " ON a.class_name = c.class_name AND a.owner_name = c.owner_name AND a.attr_type = 'INSTANCE'"
+            + " WHERE UPPER(c.owner_name) = UPPER(?) AND c.is_system_class = 'NO'"
+            + " ORDER BY c.class_name, a.def_order";
+
+    private static final String INDEX_FINGERPRINT_SQL =
+        "SELECT i.class_name, i.index_name, i.is_unique, i.is_primary_key, k.key_attr_name, k.asc_desc"
+            + " FROM db_index i, db_index_key k, db_class c"
+            + " WHERE k.class_name = i.class_name AND k.index_name = i.index_name AND k.owner_name = i.owner_name"
+            + " AND i.class_name = c.class_name AND i.owner_name = c.owner_name"
+            + " AND UPPER(c.owner_name) = UPPER(?) AND c.is_system_class = 'NO'"
+            + " ORDER BY i.class_name, i.index_name, k.key_order";
+
+    // 변경 감지용 요약: 지문과 같은 항목을 행마다 CRC32로 줄여 합산하므로 결과는 한 행뿐 (순서와 무관)
+    private static final String COLUMN_SUMMARY_SQL =
+        "SELECT COUNT(*), SUM(CRC32(CONCAT_WS('|', c.class_name, c.class_type, a.attr_name, a.data_type,"
+            + " CAST(a.prec AS VARCHAR), CAST(a.scale AS VARCHAR), a.is_nullable, CAST(a.def_order AS VARCHAR))))"
+            + " FROM db_class c LEFT OUTER JOIN db_attribute a"
+            + " ON a.class_name = c.class_name AND a.owner_name = c.owner_name AND a.attr_type = 'INSTANCE'"
+            + " WHERE UPPER(c.owner_name) = UPPER(?) AND c.is_system_class = 'NO'";
+
+    private static final String INDEX_SUMMARY_SQL =
+        "SELECT COUNT(*), SUM(CRC32(CONCAT_WS('|', i.class_name, i.index_name, i.is_unique, i.is_primary_key,"
+            + " k.key_attr_name, k.asc_desc, CAST(k.key_order AS VARCHAR))))"
+            + " FROM db_index i, db_index_key k, db_class c"
+            + " WHERE k.class_name = i.class_name AND k.index_name = i.index_name AND k.owner_name = i.owner_name"
+            + " AND i.class_name = c.class_name AND i.owner_name = c.owner_name"
+            + " AND UPPER(c.owner_name) = UPPER(?) AND c.is_system_class = 'NO'";
+
+    // 외래키 인덱스가 있는 테이블 (db.joinPath 그래프를 만들 때 이 테이블만 참조 대상을 조회)
+    private static final String FOREIGN_KEY_TABLES_SQL =
+        "SELECT DISTINCT i.class_name FROM db_index i, db_class c"
+            + " WHERE i.class_name = c.class_name AND i.owner_name = c.owner_name"
+            + " AND UPPER(c.owner_name) = UPPER(?) AND c.is_system_class = 'NO'"
+            + " AND i.is_foreign_key = 'YES'";
+
+    // 길이 없이 선언한 VARCHAR / NCHAR VARYING의 카탈로그 정밀도
+    private static final int STRING_MAX_PRECISION = 1073741823;
+    private static final int NCHAR_MAX_PRECISION = 536870911;
+
+    private final DataSource dataSource;
+    private final SqlPolicy sqlPolicy;
+
+    @Autowired
+    public CatalogLoader(DataSource dataSource, SqlPolicy sqlPolicy) {
+        this.dataSource = dataSource;
+        this.sqlPolicy = sqlPolicy;
+    }
+
+    /**
+     * 허용된 스키마의 테이블 목록과 모든 테이블 구조를 읽습니다.
+     */
+    public SchemaSnapshot load() throws SQLException {
+        long start = System.currentTimeMillis();
+        String schema = sqlPolicy.getAllowedSchema();
+        List<TableInfo> tables = new ArrayList<>();
+        Map<String, Map<String, Object>> descriptions = new LinkedHashMap<>();
+
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(TABLES_SQL)) {
+                ps.setString(1, schema);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String tableName = rs.getString(1);
+                        tables.add(new TableInfo(tableName, "VCLASS".equals(rs.getString(2)) ? "VIEW" : "TABLE",
+                            emptyToNull(rs.getString(3))));
+
+                        Map<String, Object> description = new HashMap<>();
+                        description.put("schema", schema);
+                        description.put("table", tableName);
+                        description.put("columns", new ArrayList<ColumnInfo>());
+                        description.put("primaryKey", new ArrayList<String>());
+                        description.put("indexes", new ArrayList<Map<String, Object>>());
+                        descriptions.put(tableName, description);
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(COLUMNS_SQL)) {
+                ps.setString(1, schema);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Map<String, Object> description = descriptions.get(rs.getString(1));
+                        if (description == null) {
+                            continue;
+                        }
+                        String type = typeName(rs.getString(3), rs.getInt(4), rs.getInt(5));
+                        columnsOf(description).add(new ColumnInfo(rs.getString(2), type,
+                            "YES".equals(rs.getString(6)), emptyToNull(rs.getString(7))));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(INDEXES_SQL)) {
+                ps.setString(1, schema);
+                try (ResultSet rs = ps.executeQuery()) {
+                    Map<String, Object> current = null;
+                    String currentKey = null;
+                    while (rs.next()) {
+                        String tableName = rs.getString(1);
+                        String indexName = rs.getString(2);
+                        Map<String, Object> description = descriptions.get(tableName);
+                        if (description == null) {
+                            continue;
+                        }
+                        // 테이블, 인덱스 순으로 정렬되어 있으므로 키가 바뀔 때 새 인덱스 시작
+                        String key = tableName + "." + indexName;
+                        if (!key.equals(currentKey)) {
+                            current = new HashMap<>();
+                            current.put("name", indexName);
+                            current.put("unique", "YES".equals(rs.getString(3)));
+                            current.put("columns", new ArrayList<String>());
+                            indexesOf(description).add(current);
+                            currentKey = key;
+                        }
+                        String columnName = rs.getString(5);
+                        columnsOfIndex(current).add(columnName);
+                        if ("YES".equals(rs.getString(4))) {
+                            primaryKeyOf(description).add(columnName);
+                        }
+                    }
+                }
+            }
+        }
+
+        // 캐시와 동시 요청에서 공유되므로 수정할 수 없게 고정
+        for (Map.Entry<String, Map<String, Object>> entry : descriptions.entrySet()) {
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+
+        logger.info("카탈로그 일괄 조회 완료: {}개 테이블 ({}ms)", tables.size(), System.currentTimeMillis() - start);
+        return new SchemaSnapshot(schema, tables, descriptions, System.currentTimeMillis());
+    }
+
+    /**
+     * 스키마 전체의 구조 요약을 집계 쿼리 2개로 읽습니다 (각각 한 행).
+     * 지문과 같은 항목을 DB에서 합산하므로 행을 전송하거나 해시하지 않으며,
+     * 값이 이전과 같으면 {@link #fingerprints(int)}를 다시 읽지 않아도 됩니다.
+     *
+     * @param timeoutSeconds 쿼리 타임아웃 (0이면 제한 없음)
+     */
+    public String summary(int timeoutSeconds) throws SQLException {
+        String schema = sqlPolicy.getAllowedSchema();
+        StringBuilder summary = new StringBuilder();
+        try (Connection conn = dataSource.getConnection()) {
+            for (String sql : new String[]{COLUMN_SUMMARY_SQL, INDEX_SUMMARY_SQL}) {
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setQueryTimeout(timeoutSeconds);
+                    ps.setString(1, schema);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) {
+                            summary.append(rs.getString(1)).append(':').append(rs.getString(2)).append(';');
+                        }
+                    }
+                }
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * 테이블별 구조 지문을 쿼리 2개로 읽습니다. 값이 달라지면 테이블 구조가 바뀐 것으로 봅니다.
+     * 컬럼 이름과 타입, 인덱스 키 목록을 순서대로 이어 해시하므로 길이가 같은 이름 변경이나
+     * 정밀도가 같은 타입 변경, 인덱스 키 컬럼 변경도 감지합니다.
+     *
+     * @param timeoutSeconds 쿼리 타임아웃 (0이면 제한 없음)
+     * @return 테이블명 -> 지문
+     */
+    public Map<String, String> fingerprints(int timeoutSeconds) throws SQLException {
+        String schema = sqlPolicy.getAllowedSchema();
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(COLUMN_FINGERPRINT_SQL)) {
+                ps.setQueryTimeout(timeoutSeconds);
+                ps.setString(1, schema);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String tableName = rs.getString(1);
+                        MessageDigest digest = digests.get(tableName);
+                        if (digest == null) {
+                            digest = sha256();
+                            update(digest, rs.getString(2));
+                            digests.put(tableName, digest);
+                        }
+                        if (rs.getString(3) != null) {
+                            update(digest, "C", rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                                rs.getString(7));
+                        }
+                    }
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement(INDEX_FINGERPRINT_SQL)) {
+                ps.setQueryTimeout(timeoutSeconds);
+                ps.setString(1, schema);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        MessageDigest digest = digests.get(rs.getString(1));
+                        if (digest != null) {
+                            update(digest, "I", rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                                rs.getString(6));
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, String> fingerprints = new HashMap<>();
+        for (Map.Entry<String, MessageDigest> entry : digests.entrySet()) {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : entry.getValue().digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            fingerprints.put(entry.getKey(), sb.toString());
+        }
+        return fingerprints;
+    }
+
+    /**
+     * 외래키가 하나라도 있는 테이블 이름을 쿼리 하나로 읽습니다.
+     * 카탈로그 뷰에는 참조하는 테이블과 컬럼이 없으므로 그 정보는 이 테이블들만 getImportedKeys로 조회합니다.
+     */
+    public Set<String> foreignKeyTables() throws SQLException {
+        Set<String> tables = new HashSet<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(FOREIGN_KEY_TABLES_SQL)) {
+            ps.setString(1, sqlPolicy.getAllowedSchema());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 값마다 길이를 앞에 붙여 넣으므로 값의 경계가 바뀌면(a,bc / ab,c) 다른 해시가 됩니다.
+     */
+    private static void update(MessageDigest digest, String... values) {
+        for (String value : values) {
+            if (value == null) {
+                digest.update((byte) 0);
+                continue;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            digest.update((byte) 1);
+            digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+    }
+
+    /**
+     * 카탈로그의 타입명을 DatabaseMetaData와 같은 표기로 바꾸고, 길이/정밀도가 있는 타입은 괄호로 붙입니다.
+     */
+    static String typeName(String dataType, int precision, int scale) {
+        if (dataType == null) {
+            return null;
+        }
+        switch (dataType) {
+            case "STRING":
+                return hasLength(precision, STRING_MAX_PRECISION) ? "VARCHAR(" + precision + ")" : "VARCHAR";
+            case "VARNCHAR":
+                return hasLength(precision, NCHAR_MAX_PRECISION)
+                    ? "NCHAR VARYING(" + precision + ")" : "NCHAR VARYING";
+            case "SHORT":
+                return "SMALLINT";
+            case "CHAR":
+            case "NCHAR":
+            case "BIT":
+                return dataType + "(" + precision + ")";
+            case "VARBIT":
+                return "BIT VARYING(" + precision + ")";
+            case "NUMERIC":
+                return scale > 0 ? "NUMERIC(" + precision + "," + scale + ")" : "NUMERIC(" + precision + ")";
+            default:
+                return dataType;
+        }
+    }
+
+    /**
+     * 길이를 지정하지 않은 가변 길이 컬럼은 카탈로그에 -1이나 최대 길이로 기록되므로 괄호를 붙이지 않음
+     */
+    private static boolean hasLength(int precision, int maxPrecision) {
+        return precision >= 0 && precision != maxPrecision;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ColumnInfo> columnsOf(Map<String, Object> description) {
+        return (List<ColumnInfo>) description.get("columns");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> primaryKeyOf(Map<String, Object> description) {
+        return (List<String>) description.get("primaryKey");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> indexesOf(Map<String, Object> description) {
+        return (List<Map<String, Object>>) description.get("indexes");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> columnsOfIndex(Map<String, Object> index) {
+        return (List<String>) index.get("columns");
+    }
+}
@@ -0,0 +1,259 @@
+package com.cubrid.mcp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * JDBC 타입별 컬럼 값 추출기입니다.
+ * 컬럼마다 한 번 골라 두고 행마다 재사용하며, rs.getObject() 대신 타입에 맞는 getter와 wasNull()을 씁니다.
+ * 스트리밍 경로(write)는 숫자를 박싱하지 않고 JsonGenerator에 바로 씁니다.
+ */
+enum ColumnExtractor {
+    INT {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            int v = rs.getInt(index);
+            return rs.wasNull() ? null : Integer.valueOf(v);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            int v = rs.getInt(index);
+            if (rs.wasNull()) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(v);
+            }
+        }
+    },
+    LONG {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            long v = rs.getLong(index);
+            return rs.wasNull() ? null : Long.valueOf(v);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            long v = rs.getLong(index);
+            if (rs.wasNull()) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(v);
+            }
+        }
+    },
+    FLOAT {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            float v = rs.getFloat(index);
+            return rs.wasNull() ? null : Float.valueOf(v);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            float v = rs.getFloat(index);
+            if (rs.wasNull()) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(v);
+            }
+        }
+    },
+    DOUBLE {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            double v = rs.getDouble(index);
+            return rs.wasNull() ? null : Double.valueOf(v);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            double v = rs.getDouble(index);
+            if (rs.wasNull()) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(v);
+            }
+        }
+    },
+    DECIMAL {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getBigDecimal(index);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            BigDecimal v = rs.getBigDecimal(index);
+            if (v == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(v);
+            }
+        }
+    },
+    STRING {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getString(index);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            String v = rs.getString(index);
+            if (v == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(v);
+            }
+        }
+
+        @Override
+        long sizeOf(Object value) {
+            return value == null ? 4 : ResultSetReader.stringSize((String) value);
+        }
+    },
+    DATE {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getDate(index);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            writeDate(rs.getDate(index), gen, provider);
+        }
+    },
+    TIME {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getTime(index);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            // java.sql.Time은 설정과 관계없이 "HH:mm:ss" 문자열로 직렬화됨
+            java.sql.Time v = rs.getTime(index);
+            if (v == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(v.toString());
+            }
+        }
+    },
+    TIMESTAMP {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getTimestamp(index);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            Timestamp v = rs.getTimestamp(index);
+            writeDate(v, gen, provider);
+        }
+    },
+    /**
+     * 그 밖의 타입 (BIT, BLOB/CLOB, 컬렉션 등): 기존처럼 getObject()와 기본 직렬화기를 사용
+     */
+    OBJECT {
+        @Override
+        Object read(ResultSet rs, int index) throws SQLException {
+            return rs.getObject(index);
+        }
+
+        @Override
+        void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+                throws SQLException, IOException {
+            provider.defaultSerializeValue(rs.getObject(index), gen);
+        }
+    };
+
+    /**
+     * 컬럼 값을 읽습니다 (결과를 메모리에 모으는 경로). NULL이면 null을 반환합니다.
+     */
+    abstract Object read(ResultSet rs, int index) throws SQLException;
+
+    /**
+     * 컬럼 값을 읽어 바로 JSON으로 씁니다 (스트리밍 경로).
+     */
+    abstract void write(ResultSet rs, int index, JsonGenerator gen, SerializerProvider provider)
+            throws SQLException, IOException;
+
+    /**
+     * read()가 반환한 값의 JSON 직렬화 바이트 수
+     */
+    long sizeOf(Object value) {
+        return ResultSetReader.serializedSize(value);
+    }
+
+    /**
+     * JDBC 타입(java.sql.Types)에 맞는 추출기를 고릅니다.
+     */
+    static ColumnExtractor forType(int sqlType) {
+        switch (sqlType) {
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return INT;
+            case Types.BIGINT:
+                return LONG;
+            case Types.REAL:
+                return FLOAT;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return DECIMAL;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return STRING;
+            case Types.DATE:
+                return DATE;
+            case Types.TIME:
+                return TIME;
+            case Types.TIMESTAMP:
+                return TIMESTAMP;
+            default:
+                return OBJECT;
+        }
+    }
+
+    /**
+     * Date/Timestamp는 기본 설정(WRITE_DATES_AS_TIMESTAMPS)이면 epoch 밀리초로 직접 쓰고,
+     * 그 외 설정에서는 기본 직렬화기에 맡겨 출력 형식을 그대로 유지합니다.
+     */
+    private static void writeDate(java.util.Date v, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (v == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            gen.writeNumber(v.getTime());
+        } else {
+            provider.defaultSerializeValue(v, gen);
+        }
+    }
+}
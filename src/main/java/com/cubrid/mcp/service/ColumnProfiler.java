@@ -0,0 +1,564 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+import com.cubrid.mcp.dto.TableInfo;
+import com.cubrid.mcp.policy.SqlPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컬럼 값 분포를 요약합니다 (db.profileColumns).
+ * 행 수, NULL 수, 최솟값/최댓값, 평균 길이는 표본 파생 테이블에 대한 집계 SELECT 하나로 DB에서 계산하고,
+ * 서로 다른 값 수(HyperLogLog)와 자주 나오는 값(Misra-Gries)만 값을 읽어 스케치로 구합니다.
+ * 값을 읽는 행 수는 policy.hard-max-rows를 넘지 않습니다.
+ * 표본은 테이블 통계의 예상 행 수로 비율을 정해 DRANDOM()으로 고르며, 예상 행 수를 모르면 앞쪽 행을 읽습니다.
+ * 통계 조회와 두 SELECT는 요청 하나의 타임아웃을 함께 씁니다.
+ * 결과는 테이블, 컬럼, 샘플 크기, K를 키로 TTL 동안 캐시합니다.
+ */
+@Service
+public class ColumnProfiler implements CacheStatsProvider {
+    private static final Logger logger = LoggerFactory.getLogger(ColumnProfiler.class);
+
+    // 문자열 값은 이 길이로 잘라서 비교함 (top-K, 최솟값/최댓값)
+    private static final int TOP_VALUE_LENGTH = 255;
+    // top-K를 구할 때 유지하는 카운터 수 (K의 배수, 최소값)
+    private static final int FREQUENCY_CAPACITY_FACTOR = 20;
+    private static final int MIN_FREQUENCY_CAPACITY = 1000;
+    // 무작위 표본이 요청한 행 수보다 모자라지 않도록 비율을 조금 높게 잡음
+    private static final double OVERSAMPLE = 1.2;
+    // 스케치 SELECT의 드라이버 fetch size
+    private static final int FETCH_SIZE = 1000;
+
+    // 값을 비교할 수 없어 NULL 수만 세는 타입
+    private static final Set<String> OPAQUE_TYPES = new HashSet<>(Arrays.asList(
+        "BLOB", "CLOB", "SET", "MULTISET", "SEQUENCE", "LIST", "OBJECT", "JSON", "BIT", "BIT VARYING"
+    ));
+    // 평균 길이를 계산하는 문자열 타입
+    private static final Set<String> STRING_TYPES = new HashSet<>(Arrays.asList(
+        "CHAR", "VARCHAR", "STRING", "NCHAR", "NCHAR VARYING", "CHARACTER", "CHARACTER VARYING", "ENUM"
+    ));
+
+    private final DataSource dataSource;
+    private final SqlPolicy sqlPolicy;
+    private final SchemaIntrospector schemaIntrospector;
+    private final TableStatsService tableStatsService;
+    private final QueryWatchdog watchdog;
+    private final long defaultSample;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    // 접근 순서 LinkedHashMap (가장 오래 사용되지 않은 항목이 앞)
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public ColumnProfiler(DataSource dataSource, SqlPolicy sqlPolicy, SchemaIntrospector schemaIntrospector,
+                          TableStatsService tableStatsService, QueryWatchdog watchdog,
+                          @Value("${schema.profile.default-sample:100000}") long defaultSample,
+                          @Value("${schema.profile.ttl-ms:300000}") long ttlMs,
+                          @Value("${schema.profile.max-entries:128}") int maxEntries) {
+        this.dataSource = dataSource;
+        this.sqlPolicy = sqlPolicy;
+        this.schemaIntrospector = schemaIntrospector;
+        this.tableStatsService = tableStatsService;
+        this.watchdog = watchdog;
+        this.defaultSample = defaultSample;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 테이블 컬럼의 값 분포를 반환합니다.
+     *
+     * @param tableName 테이블명 (대소문자 무시)
+     * @param columnNames 요약할 컬럼 (null이거나 비어 있으면 전체 컬럼)
+     * @param sample 표본 행 수 (null이면 schema.profile.default-sample, 0 이하이면 전체 테이블).
+     *               서로 다른 값 수와 top은 이 중 최대 policy.hard-max-rows 행으로 구함
+     * @param topK 컬럼별로 반환할 자주 나오는 값 수 (0이면 구하지 않음)
+     * @param timeoutMs 요약 전체의 타임아웃 밀리초 (null이면 기본값, 하드 상한 적용)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> profile(String tableName, List<String> columnNames, Long sample, int topK,
+                                       Long timeoutMs) throws SQLException {
+        long sampleRows = Math.max(0, sample == null ? defaultSample : sample);
+        String table = resolveTable(tableName);
+        Map<String, Object> description = schemaIntrospector.describeTable(table);
+        List<ColumnInfo> allColumns = (List<ColumnInfo>) description.get("columns");
+
+        List<ColumnInfo> columns = new ArrayList<>();
+        if (columnNames == null || columnNames.isEmpty()) {
+            columns.addAll(allColumns);
+        } else {
+            for (String name : columnNames) {
+                ColumnInfo column = findColumn(allColumns, name);
+                if (column == null) {
+                    throw new IllegalArgumentException("컬럼을 찾을 수 없습니다: " + table + "." + name);
+                }
+                if (!columns.contains(column)) {
+                    columns.add(column);
+                }
+            }
+        }
+
+        StringBuilder key = new StringBuilder(table).append('|').append(sampleRows).append('|').append(topK);
+        for (ColumnInfo column : columns) {
+            key.append('|').append(column.getName());
+        }
+        Map<String, Object> cached = lookup(key.toString());
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, Object> result = load(table, columns, sampleRows, topK, sqlPolicy.effectiveTimeoutMs(timeoutMs));
+        store(key.toString(), result);
+        return result;
+    }
+
+    private Map<String, Object> load(String table, List<ColumnInfo> columns, long sampleRows, int topK,
+                                     long timeoutMs) throws SQLException {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMs;
+        RequestContext context = RequestContext.current();
+        if (context != null) {
+            context.checkCancelled();
+        }
+        // 값을 읽어 오는 스케치는 표본 중에서도 hard-max-rows 행까지만
+        long sketchRows = sampleRows > 0 ? Math.min(sampleRows, sqlPolicy.getHardMaxRows()) : sqlPolicy.getHardMaxRows();
+
+        Long rowsEstimate = null;
+        try {
+            rowsEstimate = tableStatsService.rowsEstimate(table, timeoutMs);
+        } catch (SQLException e) {
+            if (context != null) {
+                context.checkCancelled();
+            }
+            logger.debug("예상 행 수를 읽지 못해 앞쪽 행을 표본으로 사용합니다: {} ({})", table, e.getMessage());
+        }
+        Double fraction = sampleRows > 0 ? fraction(sampleRows, rowsEstimate) : null;
+        Double sketchFraction = fraction(sketchRows, rowsEstimate);
+
+        List<ColumnStats> stats = new ArrayList<>();
+        boolean sketch = false;
+        for (ColumnInfo column : columns) {
+            ColumnStats columnStats = new ColumnStats(column, topK);
+            stats.add(columnStats);
+            sketch |= !columnStats.opaque;
+        }
+        long rows;
+        long sketched = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            rows = execute(conn, aggregateSql(table, columns, sampleRows, fraction), remaining(deadline, timeoutMs),
+                context, rs -> {
+                    if (!rs.next()) {
+                        return 0L;
+                    }
+                    int pos = 2;
+                    for (ColumnStats column : stats) {
+                        pos = column.aggregate(rs, pos);
+                    }
+                    return rs.getLong(1);
+                });
+            if (sketch && rows > 0) {
+                sketched = execute(conn, sketchSql(table, columns, sketchRows, sketchFraction),
+                    remaining(deadline, timeoutMs), context, rs -> {
+                        long count = 0;
+                        while (rs.next()) {
+                            count++;
+                            int pos = 1;
+                            for (ColumnStats column : stats) {
+                                pos = column.add(rs, pos);
+                            }
+                        }
+                        return count;
+                    });
+            }
+        }
+        // 표본이 테이블 전체를 덮었으면 (비율 없이 읽었는데 상한보다 적게 나옴) 정확한 값
+        boolean rowsExact = sampleRows <= 0 || (fraction == null && rows < sampleRows);
+        boolean sketchExact = !sketch || (sketchFraction == null && sketched < sketchRows);
+
+        List<Map<String, Object>> profiles = new ArrayList<>();
+        boolean approximate = false;
+        for (ColumnStats column : stats) {
+            Map<String, Object> profile = column.toProfile(rows, topK, !rowsExact || (!column.opaque && !sketchExact));
+            approximate |= profile.containsKey("approximate");
+            profiles.add(profile);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("schema", sqlPolicy.getAllowedSchema());
+        result.put("table", table);
+        result.put("rows", rows);
+        result.put("sampled", sampleRows > 0);
+        if (sampleRows > 0) {
+            result.put("sampling", fraction != null ? "random" : "first");
+        }
+        if (sketch) {
+            result.put("sketchRows", sketched);
+        }
+        if (rowsEstimate != null) {
+            result.put("rowsEstimate", rowsEstimate);
+        }
+        if (approximate) {
+            result.put("approximate", true);
+        }
+        result.put("columns", profiles);
+        result.put("elapsedMs", System.currentTimeMillis() - start);
+        result.put("collectedAt", System.currentTimeMillis());
+        logger.debug("컬럼 요약 완료: {} ({}개 컬럼, {}행, 스케치 {}행, {}ms)", table, columns.size(), rows, sketched,
+            result.get("elapsedMs"));
+        return result;
+    }
+
+    /**
+     * 예상 행 수가 limit보다 크면 DRANDOM() 표본 비율 (아니면 null, 앞에서부터 limit행)
+     */
+    private static Double fraction(long limit, Long rowsEstimate) {
+        if (rowsEstimate == null || rowsEstimate <= limit) {
+            return null;
+        }
+        return Math.min(1.0, limit * OVERSAMPLE / rowsEstimate);
+    }
+
+    private static long remaining(long deadline, long timeoutMs) throws SQLTimeoutException {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new SQLTimeoutException(String.format("컬럼 요약 타임아웃: %dms 제한을 초과했습니다", timeoutMs));
+        }
+        return remaining;
+    }
+
+    /**
+     * 표본 파생 테이블에 대한 집계 SELECT (결과 1행).
+     * 결과 컬럼 순서: COUNT(*), 컬럼마다 비교할 수 없는 타입은 NULL 아닌 수, 나머지는 COUNT, MIN, MAX
+     * (문자열은 앞부분으로 비교하고 평균 CHAR_LENGTH 추가)
+     *
+     * @param sampleRows 표본 행 수 (0 이하이면 전체 테이블)
+     * @param fraction 무작위 표본 비율 (null이면 앞에서부터 sampleRows행)
+     */
+    String aggregateSql(String table, List<ColumnInfo> columns, long sampleRows, Double fraction) {
+        StringBuilder inner = new StringBuilder();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*)");
+        for (ColumnInfo column : columns) {
+            String c = TableStatsService.quote(column.getName());
+            inner.append(inner.length() == 0 ? "" : ", ").append(c);
+            if (isOpaque(column)) {
+                sql.append(", SUM(CASE WHEN ").append(c).append(" IS NULL THEN 0 ELSE 1 END)");
+                continue;
+            }
+            String value = comparable(column, c);
+            sql.append(", COUNT(").append(c).append("), MIN(").append(value).append("), MAX(").append(value).append(')');
+            if (isString(column)) {
+                sql.append(", AVG(CAST(CHAR_LENGTH(").append(c).append(") AS DOUBLE))");
+            }
+        }
+        sql.append(" FROM (SELECT ").append(inner.length() == 0 ? "1" : inner)
+            .append(from(table, sampleRows, fraction)).append(") s");
+        return sql.toString();
+    }
+
+    /**
+     * 서로 다른 값 수와 top을 구할 값을 읽는 SELECT (비교할 수 없는 타입 제외, 문자열은 앞부분)
+     *
+     * @param fraction 무작위 표본 비율 (null이면 앞에서부터 sketchRows행)
+     */
+    String sketchSql(String table, List<ColumnInfo> columns, long sketchRows, Double fraction) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        boolean first = true;
+        for (ColumnInfo column : columns) {
+            if (isOpaque(column)) {
+                continue;
+            }
+            sql.append(first ? "" : ", ").append(comparable(column, TableStatsService.quote(column.getName())));
+            first = false;
+        }
+        return sql.append(from(table, sketchRows, fraction)).toString();
+    }
+
+    private static String comparable(ColumnInfo column, String quoted) {
+        return isString(column) ? "SUBSTRING(" + quoted + ", 1, " + TOP_VALUE_LENGTH + ")" : quoted;
+    }
+
+    private String from(String table, long rows, Double fraction) {
+        StringBuilder sql = new StringBuilder(" FROM ").append(sqlPolicy.getAllowedSchema()).append('.')
+            .append(TableStatsService.quote(table));
+        if (rows > 0) {
+            sql.append(" WHERE ");
+            if (fraction != null) {
+                // DRANDOM()은 행마다 새 값 (DRAND()는 문장 하나에 한 값)
+                sql.append("DRANDOM() < ").append(BigDecimal.valueOf(fraction).toPlainString()).append(" AND ");
+            }
+            sql.append("ROWNUM <= ").append(rows);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 워치독과 요청 취소를 적용하여 SELECT를 실행합니다.
+     */
+    private <T> T execute(Connection conn, String sql, long timeoutMs, RequestContext context,
+                          ResultHandler<T> handler) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setQueryTimeout(QueryExecutor.backstopTimeoutSeconds(timeoutMs));
+            stmt.setFetchSize(FETCH_SIZE);
+            if (context != null) {
+                context.attach(stmt);
+            }
+            try (QueryWatchdog.Watch watch = watchdog.watch(stmt, timeoutMs)) {
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    return handler.handle(rs);
+                } catch (SQLException e) {
+                    throw watch.translate(e, context);
+                }
+            } finally {
+                if (context != null) {
+                    context.detach();
+                }
+            }
+        }
+    }
+
+    private String resolveTable(String tableName) throws SQLException {
+        List<String> known = new ArrayList<>();
+        for (TableInfo table : schemaIntrospector.listTables("%", Integer.MAX_VALUE)) {
+            known.add(table.getName());
+        }
+        String table = JoinGraph.resolve(tableName, known);
+        if (table == null) {
+            throw new IllegalArgumentException("테이블을 찾을 수 없습니다: " + tableName);
+        }
+        return table;
+    }
+
+    private static ColumnInfo findColumn(List<ColumnInfo> columns, String name) {
+        for (ColumnInfo column : columns) {
+            if (column.getName().equals(name)) {
+                return column;
+            }
+        }
+        for (ColumnInfo column : columns) {
+            if (column.getName().equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 타입명에서 길이/정밀도를 뗀 이름 (예: "VARCHAR(100)" -> "VARCHAR")
+     */
+    private static String baseType(ColumnInfo column) {
+        String type = column.getType() == null ? "" : column.getType().toUpperCase(Locale.ROOT);
+        int paren = type.indexOf('(');
+        return (paren >= 0 ? type.substring(0, paren) : type).trim();
+    }
+
+    static boolean isOpaque(ColumnInfo column) {
+        return OPAQUE_TYPES.contains(baseType(column));
+    }
+
+    static boolean isString(ColumnInfo column) {
+        return STRING_TYPES.contains(baseType(column));
+    }
+
+    private static void putValue(Map<String, Object> profile, String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        // 숫자와 불리언은 그대로, 날짜 등은 문자열로
+        profile.put(key, value instanceof Number || value instanceof Boolean ? value : value.toString());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+
+    private Map<String, Object> lookup(String key) {
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry == null || System.currentTimeMillis() - entry.createdAt > ttlMs) {
+                if (entry != null) {
+                    cache.remove(key);
+                }
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.result;
+        }
+    }
+
+    private void store(String key, Map<String, Object> result) {
+        if (ttlMs <= 0 || maxEntries <= 0) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(key, new Entry(result));
+            while (cache.size() > maxEntries) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * 모든 항목을 비웁니다.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return "columnProfiles";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (cache) {
+            stats.put("entries", cache.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlMs", ttlMs);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler<T> {
+        T handle(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * 컬럼 하나의 집계 결과와 스케치
+     */
+    private static final class ColumnStats {
+        private final ColumnInfo column;
+        private final boolean opaque;
+        private final boolean string;
+        private final DistinctCounter distinct;
+        private final FrequentValues frequent;
+        private long nonNull;
+        private Object min;
+        private Object max;
+        private Double avgLength;
+
+        private ColumnStats(ColumnInfo column, int topK) {
+            this.column = column;
+            this.opaque = isOpaque(column);
+            this.string = isString(column);
+            this.distinct = opaque ? null : new DistinctCounter();
+            this.frequent = opaque || topK <= 0 ? null
+                : new FrequentValues(Math.max(MIN_FREQUENCY_CAPACITY, topK * FREQUENCY_CAPACITY_FACTOR));
+        }
+
+        /**
+         * 집계 SELECT 결과에서 이 컬럼의 값을 읽습니다 (aggregateSql의 컬럼 순서).
+         *
+         * @param pos 이 컬럼의 첫 결과 컬럼 위치
+         * @return 다음 컬럼의 위치
+         */
+        private int aggregate(ResultSet rs, int pos) throws SQLException {
+            nonNull = rs.getLong(pos);
+            if (opaque) {
+                return pos + 1;
+            }
+            min = rs.getObject(pos + 1);
+            max = rs.getObject(pos + 2);
+            if (!string) {
+                return pos + 3;
+            }
+            double length = rs.getDouble(pos + 3);
+            avgLength = rs.wasNull() ? null : length;
+            return pos + 4;
+        }
+
+        /**
+         * 스케치 SELECT의 현재 행에서 이 컬럼의 값을 읽습니다 (비교할 수 없는 타입은 결과에 없음).
+         *
+         * @return 다음 컬럼의 위치
+         */
+        private int add(ResultSet rs, int pos) throws SQLException {
+            if (opaque) {
+                return pos;
+            }
+            Object value = rs.getObject(pos);
+            if (value != null) {
+                String key = value.toString();
+                distinct.add(key);
+                if (frequent != null) {
+                    frequent.add(key);
+                }
+            }
+            return pos + 1;
+        }
+
+        /**
+         * @param sampled 값이 표본(또는 스케치용 표본)에서 나왔는지. true면 모든 값이 추정치
+         */
+        private Map<String, Object> toProfile(long rows, int topK, boolean sampled) {
+            Map<String, Object> profile = new LinkedHashMap<>();
+            profile.put("name", column.getName());
+            profile.put("type", column.getType());
+            profile.put("nulls", rows - nonNull);
+            profile.put("nullRatio", rows > 0 ? round((double) (rows - nonNull) / rows) : 0.0);
+            if (opaque) {
+                if (sampled) {
+                    profile.put("approximate", true);
+                }
+                return profile;
+            }
+            // 추정치가 실제 NULL 아닌 값 수보다 클 수는 없음
+            profile.put("distinct", Math.min(distinct.count(), nonNull));
+            putValue(profile, "min", min);
+            putValue(profile, "max", max);
+            if (avgLength != null) {
+                profile.put("avgLength", round(avgLength));
+            }
+            if (frequent != null) {
+                // 한 번씩만 나온 값은 자주 나오는 값이 아님 (값이 모두 다른 PK 등은 top 생략)
+                List<Map<String, Object>> top = frequent.top(topK, 2);
+                if (!top.isEmpty()) {
+                    profile.put("top", top);
+                }
+            }
+            if (sampled || !distinct.isExact() || (frequent != null && !frequent.isExact())) {
+                profile.put("approximate", true);
+            }
+            return profile;
+        }
+    }
+
+    private static final class Entry {
+        private final Map<String, Object> result;
+        private final long createdAt = System.currentTimeMillis();
+
+        private Entry(Map<String, Object> result) {
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnData;
+import com.cubrid.mcp.dto.QueryResult;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 읽은 행을 컬럼 배열로 쌓는 sink입니다 (format: columnar).
+ * 행을 추가할 때마다 컬럼별로 plain / dict / rle 인코딩의 직렬화 크기를 함께 갱신하고,
+ * 끝나면 컬럼마다 가장 작은 인코딩을 고릅니다. maxBytes는 이렇게 고른 인코딩 기준의 크기에 적용됩니다.
+ */
+final class ColumnarEncoder implements ResultSetReader.RowSink {
+    // 인코딩별 고정 부분 ({"encoding":...,"values":[]} 등)의 바이트 수
+    private static final int PLAIN_OVERHEAD = "{\"encoding\":\"plain\",\"values\":[]}".length();
+    private static final int DICT_OVERHEAD = "{\"encoding\":\"dict\",\"dictionary\":[],\"indexes\":[]}".length();
+    private static final int RLE_OVERHEAD = "{\"encoding\":\"rle\",\"values\":[],\"runs\":[]}".length();
+
+    // 이 행 수를 넘긴 뒤에도 서로 다른 값(구간)이 절반을 넘으면 dict(rle) 후보에서 제외
+    private static final int MIN_ROWS_FOR_ABANDON = 64;
+    // dictionary 최대 크기
+    private static final int MAX_DICTIONARY_SIZE = 65536;
+
+    private final ColumnState[] states;
+
+    ColumnarEncoder(ResultPlan plan) {
+        states = new ColumnState[plan.getColumnCount()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new ColumnState(plan.extractor(i + 1));
+        }
+    }
+
+    @Override
+    public long add(ResultSet rs, ResultPlan plan) throws SQLException {
+        long total = Math.max(0, states.length - 1);
+        for (int i = 0; i < states.length; i++) {
+            ColumnState state = states[i];
+            state.add(state.extractor.read(rs, i + 1));
+            total += state.bestSize();
+        }
+        return total;
+    }
+
+    @Override
+    public void fill(QueryResult result) {
+        List<ColumnData> data = new ArrayList<>(states.length);
+        for (ColumnState state : states) {
+            data.add(state.encode());
+        }
+        result.setFormat(ResultFormat.COLUMNAR.getName());
+        result.setData(data);
+    }
+
+    /**
+     * 컬럼 하나의 값과 인코딩별 크기
+     */
+    private static final class ColumnState {
+        private final ColumnExtractor extractor;
+        private final List<Object> values = new ArrayList<>();
+        private long valuesBytes;
+
+        // dict: 문자열 컬럼만 후보. 제외되면 null
+        private Map<Object, Integer> dictIndex;
+        private List<Object> dictionary;
+        private long dictBytes;
+        private long indexBytes;
+
+        // rle: 제외되면 false
+        private boolean rleEnabled = true;
+        private Object runValue;
+        private int runLength;
+        private int runCount;
+        private long runValuesBytes;
+        private long runsBytes;
+
+        private ColumnState(ColumnExtractor extractor) {
+            this.extractor = extractor;
+            if (extractor == ColumnExtractor.STRING) {
+                dictIndex = new HashMap<>();
+                dictionary = new ArrayList<>();
+            }
+        }
+
+        private void add(Object value) {
+            long size = extractor.sizeOf(value);
+            values.add(value);
+            valuesBytes += size;
+            int n = values.size();
+
+            if (dictIndex != null) {
+                Integer index = dictIndex.get(value);
+                if (index == null) {
+                    index = dictionary.size();
+                    dictIndex.put(value, index);
+                    dictionary.add(value);
+                    dictBytes += size;
+                }
+                indexBytes += ResultSetReader.digits(index);
+                if (dictionary.size() > MAX_DICTIONARY_SIZE
+                        || (n >= MIN_ROWS_FOR_ABANDON && dictionary.size() * 2 > n)) {
+                    dictIndex = null;
+                    dictionary = null;
+                }
+            }
+
+            if (rleEnabled) {
+                if (runCount > 0 && Objects.equals(runValue, value)) {
+                    runsBytes += ResultSetReader.digits(runLength + 1) - ResultSetReader.digits(runLength);
+                    runLength++;
+                } else {
+                    runValue = value;
+                    runLength = 1;
+                    runCount++;
+                    runValuesBytes += size;
+                    runsBytes += 1;
+                }
+                if (n >= MIN_ROWS_FOR_ABANDON && runCount * 2 > n) {
+                    rleEnabled = false;
+                    runValue = null;
+                }
+            }
+        }
+
+        private long plainSize() {
+            return PLAIN_OVERHEAD + valuesBytes + Math.max(0, values.size() - 1);
+        }
+
+        private long dictSize() {
+            return DICT_OVERHEAD + dictBytes + Math.max(0, dictionary.size() - 1)
+                + indexBytes + Math.max(0, values.size() - 1);
+        }
+
+        private long rleSize() {
+            return RLE_OVERHEAD + runValuesBytes + runsBytes + 2L * Math.max(0, runCount - 1);
+        }
+
+        private long bestSize() {
+            long best = plainSize();
+            if (dictIndex != null) {
+                best = Math.min(best, dictSize());
+            }
+            if (rleEnabled) {
+                best = Math.min(best, rleSize());
+            }
+            return best;
+        }
+
+        private ColumnData encode() {
+            long plain = plainSize();
+            long dict = dictIndex != null ? dictSize() : Long.MAX_VALUE;
+            long rle = rleEnabled ? rleSize() : Long.MAX_VALUE;
+
+            if (dict < plain && dict <= rle) {
+                int[] indexes = new int[values.size()];
+                for (int i = 0; i < indexes.length; i++) {
+                    indexes[i] = dictIndex.get(values.get(i));
+                }
+                return ColumnData.dict(dictionary, indexes);
+            }
+            if (rle < plain) {
+                List<Object> runValues = new ArrayList<>(runCount);
+                int[] runs = new int[runCount];
+                int run = -1;
+                for (Object value : values) {
+                    if (run >= 0 && Objects.equals(runValues.get(run), value)) {
+                        runs[run]++;
+                    } else {
+                        runValues.add(value);
+                        runs[++run] = 1;
+                    }
+                }
+                return ColumnData.rle(runValues, runs);
+            }
+            return ColumnData.plain(values);
+        }
+    }
+}
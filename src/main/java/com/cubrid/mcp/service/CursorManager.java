@@ -0,0 +1,257 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.QueryResult;
+import com.cubrid.mcp.policy.SqlPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * db.query 커서 모드로 연 ResultSet을 보관하고 db.fetch 요청에 이어서 페이지를 반환합니다.
+ * 열린 커서는 풀 커넥션을 하나씩 점유하므로 동시에 열 수 있는 수를 제한하고,
+ * 일정 시간 사용되지 않은 커서는 주기적으로 닫습니다.
+ * stdio 전송은 프로세스당 클라이언트 세션이 하나이므로 이 상한이 곧 세션별 상한이며,
+ * 커서가 풀을 모두 차지하지 않도록 풀 크기보다 하나 적게 제한합니다.
+ */
+@Service
+public class CursorManager implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(CursorManager.class);
+
+    private final SqlPolicy sqlPolicy;
+    private final QueryWatchdog watchdog;
+    private final Map<String, Cursor> cursors = new ConcurrentHashMap<>();
+
+    // 마지막 조회 후 이 시간이 지나면 커서를 닫음
+    private final long ttlMs;
+
+    // 동시에 열어 둘 수 있는 커서 수 (커서마다 풀 커넥션 하나를 점유, 풀 크기 - 1 이하)
+    private final int maxOpen;
+
+    // 드라이버 fetch size 상한
+    private final int fetchSize;
+
+    @Autowired
+    public CursorManager(SqlPolicy sqlPolicy, QueryWatchdog watchdog, ScheduledExecutorService mcpScheduler,
+                         @Value("${cursor.ttl-ms:300000}") long ttlMs,
+                         @Value("${cursor.max-open:4}") int maxOpen,
+                         @Value("${cubrid.pool.maximum-pool-size:10}") int poolSize,
+                         @Value("${cursor.fetch-size:500}") int fetchSize) {
+        this.sqlPolicy = sqlPolicy;
+        this.watchdog = watchdog;
+        this.ttlMs = ttlMs;
+        // 커서를 최대로 열어도 다른 요청이 쓸 커넥션 하나는 남김
+        int connectionBudget = Math.max(1, poolSize - 1);
+        if (maxOpen > connectionBudget) {
+            logger.warn("cursor.max-open({})이 커넥션 풀 크기({})보다 커서 {}로 제한합니다", maxOpen, poolSize, connectionBudget);
+        }
+        this.maxOpen = Math.max(1, Math.min(maxOpen, connectionBudget));
+        this.fetchSize = Math.max(1, fetchSize);
+
+        long sweepInterval = Math.max(1000L, ttlMs / 4);
+        mcpScheduler.scheduleWithFixedDelay(this::evictIdle, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 페이지 크기에 맞는 드라이버 fetch size를 반환합니다.
+     */
+    int fetchSizeFor(int pageSize) {
+        return pageSize > 0 ? Math.min(pageSize, fetchSize) : fetchSize;
+    }
+
+    /**
+     * 열린 ResultSet을 커서로 등록합니다.
+     * 커서 수 상한에 도달하면 가장 오래 사용되지 않은 커서를 닫아 커넥션을 반환합니다.
+     * 상한 확인과 등록 사이에 다른 요청이 끼어들어 상한을 넘지 않도록 등록은 한 번에 하나씩 처리합니다.
+     *
+     * @return 새 커서 id
+     */
+    synchronized String register(Connection conn, Statement stmt, ResultSet rs, ResultPlan plan, ResultFormat format,
+                    int rowsFetched, boolean rowPending) {
+        while (cursors.size() >= maxOpen) {
+            Cursor oldest = cursors.values().stream()
+                .min(Comparator.comparingLong(c -> c.lastAccess))
+                .orElse(null);
+            if (oldest == null) {
+                break;
+            }
+            logger.info("커서 수 상한({}) 도달: 가장 오래된 커서 닫음 (id={})", maxOpen, oldest.id);
+            close(oldest);
+        }
+
+        Cursor cursor = new Cursor(UUID.randomUUID().toString(), conn, stmt, rs, plan, format, rowPending);
+        cursor.rowsFetched = rowsFetched;
+        cursors.put(cursor.id, cursor);
+        logger.debug("커서 등록: id={}, 열린 커서 {}개", cursor.id, cursors.size());
+        return cursor.id;
+    }
+
+    /**
+     * 커서에서 다음 페이지를 읽습니다. 더 읽을 행이 없으면 커서를 닫고 cursorId 없이 반환합니다.
+     *
+     * @param cursorId 커서 id
+     * @param pageSize 페이지당 최대 행 수 (null이면 하드 상한)
+     * @param maxBytes 페이지당 최대 바이트 수 (null이면 하드 상한)
+     * @param timeoutMs 이번 페이지 조회 타임아웃 밀리초 (null이면 하드 상한)
+     */
+    public QueryResult fetch(String cursorId, Integer pageSize, Long maxBytes, Long timeoutMs) throws SQLException {
+        Cursor cursor = cursorId != null ? cursors.get(cursorId) : null;
+        if (cursor == null) {
+            throw new IllegalArgumentException("커서를 찾을 수 없습니다 (만료되었거나 이미 닫힘): " + cursorId);
+        }
+
+        int effectivePageSize = sqlPolicy.effectiveMaxRows(pageSize);
+        long effectiveMaxBytes = sqlPolicy.effectiveMaxBytes(maxBytes);
+        long effectiveTimeout = sqlPolicy.effectiveTimeoutMs(timeoutMs);
+
+        RequestContext context = RequestContext.current();
+        synchronized (cursor) {
+            if (cursor.closed) {
+                throw new IllegalArgumentException("커서를 찾을 수 없습니다 (만료되었거나 이미 닫힘): " + cursorId);
+            }
+            cursor.lastAccess = System.currentTimeMillis();
+
+            boolean keepOpen = false;
+            try {
+                if (context != null) {
+                    context.checkCancelled();
+                    context.attach(cursor.stmt);
+                }
+                try (QueryWatchdog.Watch watch = watchdog.watch(cursor.stmt, effectiveTimeout)) {
+                    try {
+                        cursor.rs.setFetchSize(fetchSizeFor(effectivePageSize));
+                        ResultSetReader.RowSink sink = cursor.format.newSink(cursor.plan, effectiveMaxBytes);
+                        ResultSetReader.Page page = ResultSetReader.readPage(
+                            cursor.rs, cursor.plan, effectivePageSize, effectiveMaxBytes, watch,
+                            cursor.rowPending, sink);
+                        cursor.rowPending = page.rowPending;
+                        cursor.rowsFetched += page.rowCount;
+
+                        QueryResult result = ResultSetReader.toResult(cursor.plan, sink, page);
+                        result.setElapsedMs(watch.elapsedMs());
+                        // 워치독이 취소한 Statement는 이어서 읽을 수 없으므로 닫음
+                        if (!page.exhausted && !page.timedOut) {
+                            result.setCursorId(cursor.id);
+                            keepOpen = true;
+                        }
+                        logger.debug("커서 조회: id={}, {}행 (누적 {}행), 계속={}",
+                                    cursor.id, page.rowCount, cursor.rowsFetched, keepOpen);
+                        return result;
+                    } catch (SQLException e) {
+                        throw watch.translate(e, context);
+                    }
+                }
+            } finally {
+                if (context != null) {
+                    context.detach();
+                }
+                if (!keepOpen) {
+                    close(cursor);
+                }
+            }
+        }
+    }
+
+    /**
+     * 커서를 닫고 커넥션을 풀로 반환합니다.
+     *
+     * @return 열려 있던 커서를 닫았으면 true
+     */
+    public boolean close(String cursorId) {
+        Cursor cursor = cursorId != null ? cursors.get(cursorId) : null;
+        if (cursor == null) {
+            return false;
+        }
+        close(cursor);
+        return true;
+    }
+
+    public int getOpenCount() {
+        return cursors.size();
+    }
+
+    private void close(Cursor cursor) {
+        cursors.remove(cursor.id, cursor);
+        // fetch 중인 커서는 끝난 뒤에 닫힘 (같은 락)
+        synchronized (cursor) {
+            if (cursor.closed) {
+                return;
+            }
+            cursor.closed = true;
+            closeQuietly(cursor.rs, cursor.stmt, cursor.conn);
+        }
+        logger.debug("커서 닫음: id={}, 누적 {}행", cursor.id, cursor.rowsFetched);
+    }
+
+    /**
+     * TTL이 지난 유휴 커서를 닫습니다.
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (Cursor cursor : new ArrayList<>(cursors.values())) {
+            if (now - cursor.lastAccess > ttlMs) {
+                logger.info("유휴 커서 만료: id={} ({}ms 동안 사용되지 않음)", cursor.id, now - cursor.lastAccess);
+                close(cursor);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Cursor cursor : new ArrayList<>(cursors.values())) {
+            close(cursor);
+        }
+    }
+
+    static void closeQuietly(ResultSet rs, Statement stmt, Connection conn) {
+        for (AutoCloseable resource : new AutoCloseable[]{rs, stmt, conn}) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.debug("커서 자원 해제 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Cursor {
+        private final String id;
+        private final Connection conn;
+        private final Statement stmt;
+        private final ResultSet rs;
+        private final ResultPlan plan;
+        // db.query에서 지정한 결과 형식 (이후 페이지에도 유지)
+        private final ResultFormat format;
+        private boolean rowPending;
+        private long rowsFetched;
+        private boolean closed;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private Cursor(String id, Connection conn, Statement stmt, ResultSet rs,
+                       ResultPlan plan, ResultFormat format, boolean rowPending) {
+            this.id = id;
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.plan = plan;
+            this.format = format;
+            this.rowPending = rowPending;
+        }
+    }
+}
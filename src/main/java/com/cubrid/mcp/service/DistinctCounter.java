@@ -0,0 +1,92 @@
+package com.cubrid.mcp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 서로 다른 값 수를 한 번 읽으면서 셉니다 (db.profileColumns).
+ * 값이 적은 동안은 64비트 해시를 모두 보관해 정확히 세고, EXACT_LIMIT를 넘으면
+ * HyperLogLog(레지스터 4096개, 4KB, 표준 오차 약 1.6%)로 바꿔 메모리를 일정하게 유지합니다.
+ */
+final class DistinctCounter {
+    // 정확히 세는 최대 값 수
+    static final int EXACT_LIMIT = 1024;
+
+    private static final int P = 12;
+    private static final int M = 1 << P;
+
+    private Set<Long> exact = new HashSet<>();
+    private byte[] registers;
+
+    void add(String value) {
+        long hash = hash(value);
+        if (exact != null) {
+            exact.add(hash);
+            if (exact.size() <= EXACT_LIMIT) {
+                return;
+            }
+            registers = new byte[M];
+            for (long h : exact) {
+                addHash(h);
+            }
+            exact = null;
+            return;
+        }
+        addHash(hash);
+    }
+
+    private void addHash(long hash) {
+        int index = (int) (hash >>> (64 - P));
+        // 남은 비트의 선행 0 개수 + 1 (끝에 1을 붙여 최대 64 - P + 1)
+        int rank = Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * 정확한 값인지 (false면 HyperLogLog 추정치)
+     */
+    boolean isExact() {
+        return exact != null;
+    }
+
+    long count() {
+        if (exact != null) {
+            return exact.size();
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / M);
+        double estimate = alpha * M * M / sum;
+        if (estimate <= 2.5 * M && zeros > 0) {
+            // 작은 범위 보정 (linear counting)
+            estimate = M * Math.log((double) M / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * UTF-8 바이트의 FNV-1a 해시에 MurmurHash3 finalizer를 적용한 64비트 해시
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
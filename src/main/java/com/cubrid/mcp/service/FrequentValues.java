@@ -0,0 +1,78 @@
+package com.cubrid.mcp.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자주 나오는 값을 한 번 읽으면서 구합니다 (Misra-Gries, db.profileColumns).
+ * 최대 capacity개의 카운터만 유지하며, 서로 다른 값이 capacity 이하이면 개수가 정확합니다.
+ * 넘치면 모든 카운터를 1씩 줄이므로 개수는 실제보다 작을 수 있고(최대 n / (capacity + 1)),
+ * 그보다 자주 나오는 값은 반드시 남습니다.
+ */
+final class FrequentValues {
+    private final int capacity;
+    private final Map<String, long[]> counters = new HashMap<>();
+    private boolean exact = true;
+
+    FrequentValues(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    void add(String value) {
+        long[] counter = counters.get(value);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(value, new long[] {1});
+            return;
+        }
+        // 새 값과 기존 카운터를 모두 1씩 줄임 (새 값은 0이 되어 추가되지 않음)
+        exact = false;
+        Iterator<long[]> it = counters.values().iterator();
+        while (it.hasNext()) {
+            long[] c = it.next();
+            if (--c[0] == 0) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 개수가 정확한지 (false면 개수가 하한값)
+     */
+    boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * 개수가 minCount 이상인 값 중 많은 순서로 k개 (개수가 같으면 값 순서)
+     *
+     * @return value, count 맵 목록
+     */
+    List<Map<String, Object>> top(int k, long minCount) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] >= minCount) {
+                entries.add(entry);
+            }
+        }
+        entries.sort((x, y) -> {
+            int c = Long.compare(y.getValue()[0], x.getValue()[0]);
+            return c != 0 ? c : x.getKey().compareTo(y.getKey());
+        });
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, entries.size()); i++) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("value", entries.get(i).getKey());
+            value.put("count", entries.get(i).getValue()[0]);
+            top.add(value);
+        }
+        return top;
+    }
+}
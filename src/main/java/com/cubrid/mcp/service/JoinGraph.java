@@ -0,0 +1,206 @@
+package com.cubrid.mcp.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 허용된 스키마의 외래키 그래프입니다 (db.joinPath).
+ * 테이블을 정점, 외래키를 간선으로 보고 방향 없이 탐색하여 테이블 사이의 최단 조인 경로를 찾습니다.
+ * 만든 뒤에는 변경하지 않으므로 여러 스레드에서 함께 사용해도 됩니다.
+ */
+public final class JoinGraph {
+    private final Map<String, List<ForeignKey>> adjacency;
+    private final int foreignKeyCount;
+    private final long builtAt = System.currentTimeMillis();
+
+    public JoinGraph(List<ForeignKey> foreignKeys) {
+        Map<String, List<ForeignKey>> adjacency = new HashMap<>();
+        for (ForeignKey fk : foreignKeys) {
+            adjacency.computeIfAbsent(fk.childTable, k -> new ArrayList<>()).add(fk);
+            if (!fk.parentTable.equals(fk.childTable)) {
+                adjacency.computeIfAbsent(fk.parentTable, k -> new ArrayList<>()).add(fk);
+            }
+        }
+        // 탐색 결과가 실행마다 달라지지 않도록 간선 순서 고정
+        Comparator<ForeignKey> order = Comparator.comparing((ForeignKey fk) -> fk.childTable)
+            .thenComparing(fk -> fk.parentTable).thenComparing(fk -> fk.name == null ? "" : fk.name);
+        for (List<ForeignKey> edges : adjacency.values()) {
+            edges.sort(order);
+        }
+        this.adjacency = adjacency;
+        this.foreignKeyCount = foreignKeys.size();
+    }
+
+    public int getForeignKeyCount() {
+        return foreignKeyCount;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * 주어진 테이블을 모두 잇는 조인 경로를 찾습니다.
+     * 첫 테이블에서 시작하여 아직 연결되지 않은 테이블 중 가장 가까운 것을 BFS로 찾아 붙이는 과정을 반복합니다
+     * (테이블이 두 개면 최단 경로, 세 개 이상이면 근사 최소 트리).
+     *
+     * @param tables 연결할 테이블 (2개 이상, 그래프에 맞는 이름)
+     * @param maxHops 테이블 하나를 붙일 때 허용하는 최대 간선 수
+     * @return joins(조인 순서대로), sql(FROM/JOIN 절), unreachable(연결하지 못한 테이블)
+     */
+    public Map<String, Object> joinPath(List<String> tables, int maxHops) {
+        Set<String> tree = new LinkedHashSet<>();
+        tree.add(tables.get(0));
+        Set<String> remaining = new LinkedHashSet<>(tables.subList(1, tables.size()));
+        remaining.removeAll(tree);
+
+        List<Step> steps = new ArrayList<>();
+        while (!remaining.isEmpty()) {
+            List<Step> path = nearest(tree, remaining, maxHops);
+            if (path == null) {
+                break;
+            }
+            for (Step step : path) {
+                tree.add(step.table);
+                remaining.remove(step.table);
+                steps.add(step);
+            }
+        }
+
+        List<Map<String, Object>> joins = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("FROM ").append(tables.get(0));
+        for (Step step : steps) {
+            String predicate = step.fk.predicate();
+            Map<String, Object> join = new LinkedHashMap<>();
+            join.put("table", step.table);
+            join.put("joinedTo", step.from);
+            if (step.fk.name != null) {
+                join.put("foreignKey", step.fk.name);
+            }
+            join.put("on", predicate);
+            joins.add(join);
+            sql.append("\n  JOIN ").append(step.table).append(" ON ").append(predicate);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("found", remaining.isEmpty());
+        result.put("hops", steps.size());
+        result.put("joins", joins);
+        result.put("sql", sql.toString());
+        if (!remaining.isEmpty()) {
+            result.put("unreachable", new ArrayList<>(remaining));
+        }
+        return result;
+    }
+
+    /**
+     * 트리의 모든 테이블에서 동시에 BFS를 하여 가장 가까운 남은 테이블까지의 경로를 반환합니다 (없으면 null).
+     */
+    private List<Step> nearest(Set<String> tree, Set<String> targets, int maxHops) {
+        Map<String, Step> reachedBy = new HashMap<>();
+        Map<String, Integer> depth = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        for (String table : tree) {
+            depth.put(table, 0);
+            queue.add(table);
+        }
+
+        while (!queue.isEmpty()) {
+            String table = queue.poll();
+            int hops = depth.get(table);
+            if (hops >= maxHops) {
+                continue;
+            }
+            for (ForeignKey fk : adjacency.getOrDefault(table, Collections.emptyList())) {
+                String next = fk.childTable.equals(table) ? fk.parentTable : fk.childTable;
+                if (depth.containsKey(next)) {
+                    continue;
+                }
+                depth.put(next, hops + 1);
+                reachedBy.put(next, new Step(next, table, fk));
+                if (targets.contains(next)) {
+                    // 트리 쪽에서 목표 쪽 순서로 경로 복원
+                    List<Step> path = new ArrayList<>();
+                    for (String at = next; !tree.contains(at); at = reachedBy.get(at).from) {
+                        path.add(reachedBy.get(at));
+                    }
+                    Collections.reverse(path);
+                    return path;
+                }
+                queue.add(next);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 이름이 정확히 같은 테이블이 없으면 대소문자를 무시하고 찾습니다.
+     */
+    public static String resolve(String name, List<String> tableNames) {
+        if (tableNames.contains(name)) {
+            return name;
+        }
+        for (String table : tableNames) {
+            if (table.equalsIgnoreCase(name)) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private static final class Step {
+        private final String table;
+        private final String from;
+        private final ForeignKey fk;
+
+        private Step(String table, String from, ForeignKey fk) {
+            this.table = table;
+            this.from = from;
+            this.fk = fk;
+        }
+    }
+
+    /**
+     * 외래키 하나 (복합 키면 컬럼이 여러 개)
+     */
+    public static final class ForeignKey {
+        private final String name;
+        private final String childTable;
+        private final List<String> childColumns;
+        private final String parentTable;
+        private final List<String> parentColumns;
+
+        public ForeignKey(String name, String childTable, List<String> childColumns,
+                          String parentTable, List<String> parentColumns) {
+            this.name = name;
+            this.childTable = childTable;
+            this.childColumns = childColumns;
+            this.parentTable = parentTable;
+            this.parentColumns = parentColumns;
+        }
+
+        /**
+         * 조인 조건 (예: "orders.customer_id = customers.id")
+         */
+        String predicate() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < childColumns.size(); i++) {
+                if (i > 0) {
+                    sb.append(" AND ");
+                }
+                sb.append(childTable).append('.').append(childColumns.get(i))
+                    .append(" = ").append(parentTable).append('.').append(parentColumns.get(i));
+            }
+            return sb.toString();
+        }
+    }
+}
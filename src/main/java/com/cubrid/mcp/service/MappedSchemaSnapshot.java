@@ -0,0 +1,239 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+import com.cubrid.mcp.dto.TableInfo;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 메모리 매핑한 스키마 스냅샷 파일입니다 ({@link SchemaSnapshotStore}가 기록).
+ * 열 때는 헤더와 테이블 목록(디렉터리)을 읽고 본문은 길이만 확인하며, 테이블 구조는 조회될 때 해당 위치만 디코딩합니다.
+ *
+ * <pre>
+ * 헤더:     magic(int) version(int) loadedAt(long) schema(str)
+ *           지문 수(int) [테이블명(str) 지문(str)]...
+ *           테이블 수(int) [테이블명(str) 타입(str) 주석(str) 본문 위치(int)]...
+ * 본문:     컬럼 수(int) [이름(str) 타입(str) nullable(byte) 주석(str)]...
+ *           PK 컬럼 수(int) [이름(str)]...
+ *           인덱스 수(int) [이름(str) unique(byte) 컬럼 수(int) [이름(str)]...]...
+ * str:      UTF-8 바이트 길이(int, null이면 -1) + 바이트
+ * </pre>
+ */
+final class MappedSchemaSnapshot {
+    static final int MAGIC = 0x434d5353; // "CMSS"
+    static final int VERSION = 2;
+
+    private final ByteBuffer buffer;
+    private final String schema;
+    private final long loadedAt;
+    private final Map<String, String> fingerprints;
+    private final List<TableInfo> tables;
+    // 테이블명(소문자, 스키마 캐시 키와 같음) -> 디렉터리 순번
+    private final Map<String, Integer> positions;
+    // 디렉터리 순번 -> 본문 시작 위치 (버퍼 기준)
+    private final int[] offsets;
+
+    private MappedSchemaSnapshot(ByteBuffer buffer, String schema, long loadedAt, Map<String, String> fingerprints,
+                                 List<TableInfo> tables, Map<String, Integer> positions, int[] offsets) {
+        this.buffer = buffer;
+        this.schema = schema;
+        this.loadedAt = loadedAt;
+        this.fingerprints = fingerprints;
+        this.tables = tables;
+        this.positions = positions;
+        this.offsets = offsets;
+    }
+
+    /**
+     * 헤더와 디렉터리를 읽고, 모든 개수와 위치가 파일 안에 있는지 확인합니다.
+     * 잘렸거나 손상된 파일이면 IllegalArgumentException (테이블 본문은 건너뛰며 확인만 하고 디코딩하지 않음).
+     */
+    static MappedSchemaSnapshot read(ByteBuffer buffer) {
+        try {
+            return readChecked(buffer.duplicate(), buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("스냅샷 파일이 잘렸습니다.");
+        }
+    }
+
+    private static MappedSchemaSnapshot readChecked(ByteBuffer in, ByteBuffer buffer) {
+        if (in.remaining() < 8 || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IllegalArgumentException("스냅샷 형식이 아닙니다.");
+        }
+        long loadedAt = in.getLong();
+        String schema = readString(in);
+
+        // 지문: 문자열 2개 (최소 8바이트)
+        int fingerprintCount = readCount(in, 8);
+        Map<String, String> fingerprints = new HashMap<>(fingerprintCount * 2);
+        for (int i = 0; i < fingerprintCount; i++) {
+            fingerprints.put(readString(in), readString(in));
+        }
+
+        // 디렉터리: 문자열 3개 + 위치 (최소 16바이트)
+        int tableCount = readCount(in, 16);
+        List<TableInfo> tables = new ArrayList<>(tableCount);
+        Map<String, Integer> positions = new HashMap<>(tableCount * 2);
+        int[] offsets = new int[tableCount];
+        int[] relative = new int[tableCount];
+        for (int i = 0; i < tableCount; i++) {
+            TableInfo table = new TableInfo(readString(in), readString(in), readString(in));
+            tables.add(table);
+            relative[i] = in.getInt();
+        }
+        int bodyStart = in.position();
+        int bodyEnd = bodyStart;
+        for (int i = 0; i < tableCount; i++) {
+            // 본문은 디렉터리 순서대로 이어져 있음
+            if (relative[i] != bodyEnd - bodyStart) {
+                throw new IllegalArgumentException("스냅샷 본문 위치가 맞지 않습니다: " + tables.get(i).getName());
+            }
+            skipTable(in);
+            bodyEnd = in.position();
+            positions.put(tables.get(i).getName().toLowerCase(Locale.ROOT), i);
+            offsets[i] = bodyStart + relative[i];
+        }
+        if (bodyEnd != in.limit()) {
+            throw new IllegalArgumentException("스냅샷 파일 끝에 알 수 없는 데이터가 있습니다.");
+        }
+        return new MappedSchemaSnapshot(buffer, schema, loadedAt, Collections.unmodifiableMap(fingerprints),
+            Collections.unmodifiableList(tables), positions, offsets);
+    }
+
+    /**
+     * 테이블 본문 하나를 디코딩하지 않고 건너뜁니다 (개수와 길이가 파일 안에 있는지 확인).
+     */
+    private static void skipTable(ByteBuffer in) {
+        // 컬럼: 문자열 3개 + nullable (최소 13바이트)
+        int columnCount = readCount(in, 13);
+        for (int i = 0; i < columnCount; i++) {
+            skipString(in);
+            skipString(in);
+            in.get();
+            skipString(in);
+        }
+        int primaryKeyCount = readCount(in, 4);
+        for (int i = 0; i < primaryKeyCount; i++) {
+            skipString(in);
+        }
+        // 인덱스: 이름 + unique + 키 개수 (최소 9바이트)
+        int indexCount = readCount(in, 9);
+        for (int i = 0; i < indexCount; i++) {
+            skipString(in);
+            in.get();
+            int keyCount = readCount(in, 4);
+            for (int k = 0; k < keyCount; k++) {
+                skipString(in);
+            }
+        }
+    }
+
+    String getSchema() {
+        return schema;
+    }
+
+    long getLoadedAt() {
+        return loadedAt;
+    }
+
+    Map<String, String> getFingerprints() {
+        return fingerprints;
+    }
+
+    List<TableInfo> getTables() {
+        return tables;
+    }
+
+    /**
+     * 테이블 구조를 디코딩합니다 (스냅샷에 없으면 null).
+     * CUBRID 식별자처럼 이름은 대소문자를 무시하고 찾으며, 결과의 table에는 저장된 이름을 넣습니다.
+     */
+    Map<String, Object> describe(String tableName) {
+        Integer position = positions.get(tableName.toLowerCase(Locale.ROOT));
+        if (position == null) {
+            return null;
+        }
+        // 위치는 버퍼마다 따로이므로 동시에 호출해도 안전
+        ByteBuffer in = buffer.duplicate();
+        in.position(offsets[position]);
+
+        int columnCount = in.getInt();
+        List<ColumnInfo> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(new ColumnInfo(readString(in), readString(in), in.get() != 0, readString(in)));
+        }
+
+        int primaryKeyCount = in.getInt();
+        List<String> primaryKey = new ArrayList<>(primaryKeyCount);
+        for (int i = 0; i < primaryKeyCount; i++) {
+            primaryKey.add(readString(in));
+        }
+
+        int indexCount = in.getInt();
+        List<Map<String, Object>> indexes = new ArrayList<>(indexCount);
+        for (int i = 0; i < indexCount; i++) {
+            Map<String, Object> index = new HashMap<>();
+            index.put("name", readString(in));
+            index.put("unique", in.get() != 0);
+            int keyCount = in.getInt();
+            List<String> keys = new ArrayList<>(keyCount);
+            for (int k = 0; k < keyCount; k++) {
+                keys.add(readString(in));
+            }
+            index.put("columns", keys);
+            indexes.add(index);
+        }
+
+        Map<String, Object> description = new HashMap<>();
+        description.put("schema", schema);
+        description.put("table", tables.get(position).getName());
+        description.put("columns", columns);
+        description.put("primaryKey", primaryKey);
+        description.put("indexes", indexes);
+        return Collections.unmodifiableMap(description);
+    }
+
+    /**
+     * 개수를 읽고, 항목마다 최소 minEntryBytes가 필요하다고 보고 남은 바이트와 비교합니다.
+     */
+    private static int readCount(ByteBuffer in, int minEntryBytes) {
+        int count = in.getInt();
+        if (count < 0 || (long) count * minEntryBytes > in.remaining()) {
+            throw new IllegalArgumentException("스냅샷 개수가 파일 크기를 넘습니다: " + count);
+        }
+        return count;
+    }
+
+    private static int readLength(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < -1 || length > in.remaining()) {
+            throw new IllegalArgumentException("스냅샷 문자열 길이가 파일 크기를 넘습니다: " + length);
+        }
+        return length;
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = readLength(in);
+        if (length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readLength(in);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
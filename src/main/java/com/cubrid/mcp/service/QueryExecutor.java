@@ -1,16 +1,16 @@
 package com.cubrid.mcp.service;
 
-import com.cubrid.mcp.dto.ColumnInfo;
 import com.cubrid.mcp.dto.QueryResult;
 import com.cubrid.mcp.policy.SqlPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.sql.*;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -19,11 +19,26 @@ public class QueryExecutor {
 
     private final DataSource dataSource;
     private final SqlPolicy sqlPolicy;
+    private final QueryWatchdog watchdog;
+    private final CursorManager cursorManager;
+    private final ResultPlanCache planCache;
+    private final SingleFlight singleFlight;
+    private final SqlStatementCache statementCache;
+    private final boolean limitPushdown;
 
     @Autowired
-    public QueryExecutor(DataSource dataSource, SqlPolicy sqlPolicy) {
+    public QueryExecutor(DataSource dataSource, SqlPolicy sqlPolicy, QueryWatchdog watchdog,
+                         CursorManager cursorManager, ResultPlanCache planCache, SingleFlight singleFlight,
+                         SqlStatementCache statementCache,
+                         @Value("${query.limit-pushdown:true}") boolean limitPushdown) {
         this.dataSource = dataSource;
         this.sqlPolicy = sqlPolicy;
+        this.watchdog = watchdog;
+        this.cursorManager = cursorManager;
+        this.planCache = planCache;
+        this.singleFlight = singleFlight;
+        this.statementCache = statementCache;
+        this.limitPushdown = limitPushdown;
     }
 
     /**
@@ -39,122 +54,335 @@ public class QueryExecutor {
      */
     public QueryResult executeQuery(String sql, Integer maxRows, Long maxBytes, Long timeoutMs) 
             throws SQLException, SqlPolicy.PolicyViolationException {
+        return executeQuery(sql, maxRows, maxBytes, timeoutMs, ResultFormat.JSON);
+    }
+
+    /**
+     * SELECT 쿼리를 실행하고 지정한 형식으로 결과를 반환합니다.
+     *
+     * @param format 결과 형식 (JSON: 행 배열, COLUMNAR: 컬럼 배열)
+     * @see #executeQuery(String, Integer, Long, Long)
+     */
+    public QueryResult executeQuery(String sql, Integer maxRows, Long maxBytes, Long timeoutMs, ResultFormat format)
+            throws SQLException, SqlPolicy.PolicyViolationException {
+        return executeQuery(sql, Collections.emptyList(), maxRows, maxBytes, timeoutMs, format);
+    }
+
+    /**
+     * 바인딩 변수(?)가 있는 SELECT 쿼리를 실행합니다.
+     *
+     * @param params SQL의 ? 순서대로 바인딩할 값 (문자열, 숫자, 불리언, null)
+     * @see #executeQuery(String, Integer, Long, Long, ResultFormat)
+     */
+    public QueryResult executeQuery(String sql, List<?> params, Integer maxRows, Long maxBytes, Long timeoutMs,
+                                    ResultFormat format)
+            throws SQLException, SqlPolicy.PolicyViolationException {
         
-        // 1. SQL 정책 검사
-        sqlPolicy.validate(sql);
-        
-        // 2. public 스키마 강제 (스키마가 없으면 추가)
-        String enforcedSql = sqlPolicy.enforcePublicSchemaPrefix(sql);
+        // 1. SQL 정책 검사, 2. public 스키마 강제 (스키마가 없으면 추가)
+        // 같은 SQL은 캐시된 검사/재작성 결과를 사용
+        SqlStatementCache.Prepared prepared = statementCache.prepare(sql);
+        String enforcedSql = prepared.getSql();
         
         // 3. 제한 값 적용 (하드 상한 고려)
-        int effectiveMaxRows = (maxRows != null && maxRows > 0) 
-            ? Math.min(maxRows, sqlPolicy.getHardMaxRows()) 
-            : sqlPolicy.getHardMaxRows();
-        
-        long effectiveMaxBytes = (maxBytes != null && maxBytes > 0)
-            ? Math.min(maxBytes, sqlPolicy.getHardMaxBytes())
-            : sqlPolicy.getHardMaxBytes();
-        
-        long effectiveTimeout = (timeoutMs != null && timeoutMs > 0)
-            ? Math.min(timeoutMs, sqlPolicy.getHardTimeoutMs())
-            : sqlPolicy.getHardTimeoutMs();
+        int effectiveMaxRows = sqlPolicy.effectiveMaxRows(maxRows);
+        long effectiveMaxBytes = sqlPolicy.effectiveMaxBytes(maxBytes);
+        long effectiveTimeout = sqlPolicy.effectiveTimeoutMs(timeoutMs);
+
+        // 4. 최대 행 수보다 한 행 더 요청해 잘림 여부를 정확히 판단 (가능하면 SQL에도 LIMIT ?를 붙임)
+        int fetchLimit = fetchLimit(effectiveMaxRows);
+        boolean limited = pushLimit(prepared, fetchLimit);
+        String executedSql = limited ? prepared.getLimitedSql() : enforcedSql;
+        List<Object> bindValues = prepared.bindValues(params, limited ? fetchLimit : 0);
+
+        logger.debug("쿼리 실행: maxRows={}, maxBytes={}, timeoutMs={}, fingerprint={}", 
+                    effectiveMaxRows, effectiveMaxBytes, effectiveTimeout, prepared.getFingerprint());
 
-        logger.debug("쿼리 실행: maxRows={}, maxBytes={}, timeoutMs={}", 
-                    effectiveMaxRows, effectiveMaxBytes, effectiveTimeout);
+        // 취소/데드라인 처리를 위한 요청 컨텍스트 (MCP 요청 밖에서 호출되면 null)
+        RequestContext context = RequestContext.current();
+        if (context != null) {
+            context.checkCancelled();
+        }
 
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(enforcedSql)) {
+             PreparedStatement stmt = conn.prepareStatement(executedSql)) {
             
-            // 타임아웃 설정
-            stmt.setQueryTimeout((int) (effectiveTimeout / 1000));
+            // 드라이버 타임아웃은 초 단위 안전장치로만 사용 (올림하여 0=무제한이 되지 않도록 함)
+            // 실제 제한은 워치독이 밀리초 단위로 강제
+            stmt.setQueryTimeout(backstopTimeoutSeconds(effectiveTimeout));
             
-            // 최대 행 수 설정
-            if (effectiveMaxRows > 0) {
-                stmt.setMaxRows(effectiveMaxRows);
+            // 최대 행 수 설정 (잘림 판단용 한 행 포함)
+            if (fetchLimit > 0) {
+                stmt.setMaxRows(fetchLimit);
             }
+            bind(stmt, bindValues);
             
-            long startTime = System.currentTimeMillis();
-            try (ResultSet rs = stmt.executeQuery()) {
-                return processResultSet(rs, effectiveMaxRows, effectiveMaxBytes);
+            // 취소 시 Statement.cancel()이 호출되도록 등록 (이미 취소되었으면 실행하지 않음)
+            if (context != null) {
+                context.attach(stmt);
+            }
+            try (QueryWatchdog.Watch watch = watchdog.watch(stmt, effectiveTimeout)) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    QueryResult result = processResultSet(enforcedSql, rs, effectiveMaxRows, effectiveMaxBytes, watch, format);
+                    result.setElapsedMs(watch.elapsedMs());
+                    logger.debug("쿼리 실행 완료: {}ms, {}행, timedOut={}",
+                                result.getElapsedMs(), result.getRowCount(), result.isTimedOut());
+                    return result;
+                } catch (SQLException e) {
+                    throw watch.translate(e, context);
+                }
             } finally {
-                long elapsed = System.currentTimeMillis() - startTime;
-                logger.debug("쿼리 실행 완료: {}ms", elapsed);
+                if (context != null) {
+                    context.detach();
+                }
             }
         }
     }
 
     /**
-     * ResultSet을 처리하여 QueryResult로 변환합니다.
+     * executeQuery와 같지만, 같은 SQL(공백과 주석을 뺀 토큰 기준)과 같은 제한 값의 요청이 동시에 들어오면
+     * 한 번만 실행하고 결과를 함께 반환합니다. 반환된 결과는 공유되므로 수정하지 않아야 합니다.
+     *
+     * @see #executeQuery(String, Integer, Long, Long, ResultFormat)
      */
-    private QueryResult processResultSet(ResultSet rs, int maxRows, long maxBytes) throws SQLException {
-        ResultSetMetaData metaData = rs.getMetaData();
-        int columnCount = metaData.getColumnCount();
-        
-        // 컬럼 정보 추출
-        List<ColumnInfo> columns = new ArrayList<>();
-        for (int i = 1; i <= columnCount; i++) {
-            String columnName = metaData.getColumnName(i);
-            String columnType = metaData.getColumnTypeName(i);
-            boolean nullable = (metaData.isNullable(i) == ResultSetMetaData.columnNullable);
-            columns.add(new ColumnInfo(columnName, columnType, nullable));
+    public QueryResult executeQueryShared(String sql, List<?> params, Integer maxRows, Long maxBytes, Long timeoutMs,
+                                          ResultFormat format)
+            throws SQLException, SqlPolicy.PolicyViolationException {
+        String key = "query|" + sqlPolicy.effectiveMaxRows(maxRows) + "|" + sqlPolicy.effectiveMaxBytes(maxBytes)
+            + "|" + sqlPolicy.effectiveTimeoutMs(timeoutMs) + "|" + format.getName() + "|" + paramsKey(params)
+            + "|" + statementCache.prepare(sql).getKey();
+        try {
+            return singleFlight.<QueryResult, Exception>execute(key,
+                () -> executeQuery(sql, params, maxRows, maxBytes, timeoutMs, format));
+        } catch (SQLException | SqlPolicy.PolicyViolationException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // executeQuery가 던지는 예외는 위에서 모두 처리됨
+            throw new IllegalStateException(e);
         }
-        
-        // 행 데이터 추출
-        List<List<Object>> rows = new ArrayList<>();
-        long totalBytes = 0;
-        boolean truncated = false;
-        int rowCount = 0;
-        
-        while (rs.next()) {
-            if (maxRows > 0 && rowCount >= maxRows) {
-                truncated = true;
-                break;
+    }
+
+    /**
+     * SELECT 쿼리를 실행하고, 행을 모으지 않은 채 응답 직렬화 시점에 스트리밍할 결과를 반환합니다.
+     * 실행 오류와 첫 행 이전의 타임아웃은 여기서 예외로 전달되며, 이후 행은 직렬화하면서 읽습니다.
+     * 반환된 결과는 커넥션을 점유하므로 직렬화하거나 close()해야 합니다.
+     * 행은 이 메서드가 반환된 뒤 응답을 직렬화하면서 한 번만 읽히므로 executeQueryShared와 달리 동시 요청을 합치지 않습니다.
+     *
+     * @param sql SQL 쿼리
+     * @param params SQL의 ? 순서대로 바인딩할 값
+     * @param maxRows 최대 행 수 (null이면 무제한, 하드 상한 적용)
+     * @param maxBytes 최대 바이트 수 (null이면 무제한, 하드 상한 적용). 실제 출력 바이트 기준
+     * @param timeoutMs 타임아웃 밀리초 (null이면 기본값, 하드 상한 적용). 스트리밍이 끝날 때까지 적용
+     * @param format 결과 형식 (JSON 또는 텍스트 형식. COLUMNAR는 스트리밍할 수 없음)
+     */
+    public StreamingQueryResult streamQuery(String sql, List<?> params, Integer maxRows, Long maxBytes,
+                                            Long timeoutMs, ResultFormat format)
+            throws SQLException, SqlPolicy.PolicyViolationException {
+        if (!format.isStreamable()) {
+            throw new IllegalArgumentException(format.getName() + " 형식은 스트리밍할 수 없습니다.");
+        }
+        SqlStatementCache.Prepared prepared = statementCache.prepare(sql);
+        String enforcedSql = prepared.getSql();
+
+        int effectiveMaxRows = sqlPolicy.effectiveMaxRows(maxRows);
+        long effectiveMaxBytes = sqlPolicy.effectiveMaxBytes(maxBytes);
+        long effectiveTimeout = sqlPolicy.effectiveTimeoutMs(timeoutMs);
+        int fetchLimit = fetchLimit(effectiveMaxRows);
+        boolean limited = pushLimit(prepared, fetchLimit);
+        List<Object> bindValues = prepared.bindValues(params, limited ? fetchLimit : 0);
+
+        RequestContext context = RequestContext.current();
+        if (context != null) {
+            context.checkCancelled();
+        }
+
+        Connection conn = dataSource.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        QueryWatchdog.Watch watch = null;
+        boolean handedOff = false;
+        try {
+            stmt = conn.prepareStatement(limited ? prepared.getLimitedSql() : enforcedSql);
+            stmt.setQueryTimeout(backstopTimeoutSeconds(effectiveTimeout));
+            if (fetchLimit > 0) {
+                stmt.setMaxRows(fetchLimit);
             }
-            
-            List<Object> row = new ArrayList<>();
-            for (int i = 1; i <= columnCount; i++) {
-                Object value = rs.getObject(i);
-                row.add(value);
-                
-                // 바이트 수 추정 (대략적)
-                if (value != null) {
-                    totalBytes += estimateBytes(value);
+            stmt.setFetchSize(cursorManager.fetchSizeFor(fetchLimit));
+            bind(stmt, bindValues);
+
+            if (context != null) {
+                context.attach(stmt);
+            }
+            watch = watchdog.watch(stmt, effectiveTimeout);
+            boolean hasRow;
+            ResultPlan plan;
+            try {
+                rs = stmt.executeQuery();
+                plan = planCache.planFor(enforcedSql, rs);
+                // 첫 행까지는 여기서 읽어 실행 오류를 일반 오류 응답으로 돌려줄 수 있게 함
+                hasRow = rs.next();
+            } catch (SQLException e) {
+                throw watch.translate(e, context);
+            }
+
+            StreamingQueryResult result = new StreamingQueryResult(conn, stmt, rs, plan, hasRow,
+                effectiveMaxRows, effectiveMaxBytes, watch, context, format);
+            handedOff = true;
+            return result;
+        } finally {
+            if (!handedOff) {
+                if (watch != null) {
+                    watch.close();
+                }
+                if (context != null) {
+                    context.detach();
                 }
+                CursorManager.closeQuietly(rs, stmt, conn);
             }
-            
-            rows.add(row);
-            rowCount++;
-            
-            // 바이트 제한 확인
-            if (maxBytes > 0 && totalBytes > maxBytes) {
-                truncated = true;
-                logger.warn("결과 크기 제한 초과: {} bytes (제한: {} bytes)", totalBytes, maxBytes);
-                break;
+        }
+    }
+
+    /**
+     * SELECT 쿼리를 커서 모드로 실행하여 첫 페이지를 반환합니다.
+     * 남은 행이 있으면 ResultSet을 연 채로 CursorManager에 등록하고 cursorId를 함께 반환하며,
+     * 이후 페이지는 CursorManager.fetch로 이어서 읽습니다.
+     *
+     * @param sql SQL 쿼리
+     * @param params SQL의 ? 순서대로 바인딩할 값
+     * @param pageSize 페이지당 최대 행 수 (null이면 하드 상한)
+     * @param maxBytes 페이지당 최대 바이트 수 (null이면 하드 상한)
+     * @param timeoutMs 첫 페이지 조회 타임아웃 밀리초 (null이면 하드 상한)
+     * @param format 결과 형식 (이후 db.fetch 페이지에도 같은 형식 적용)
+     */
+    public QueryResult openCursor(String sql, List<?> params, Integer pageSize, Long maxBytes, Long timeoutMs,
+                                  ResultFormat format)
+            throws SQLException, SqlPolicy.PolicyViolationException {
+        SqlStatementCache.Prepared prepared = statementCache.prepare(sql);
+        String enforcedSql = prepared.getSql();
+        List<Object> bindValues = prepared.bindValues(params);
+
+        int effectivePageSize = sqlPolicy.effectiveMaxRows(pageSize);
+        long effectiveMaxBytes = sqlPolicy.effectiveMaxBytes(maxBytes);
+        long effectiveTimeout = sqlPolicy.effectiveTimeoutMs(timeoutMs);
+
+        RequestContext context = RequestContext.current();
+        if (context != null) {
+            context.checkCancelled();
+        }
+
+        Connection conn = dataSource.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        boolean registered = false;
+        try {
+            stmt = conn.prepareStatement(enforcedSql);
+            stmt.setQueryTimeout(backstopTimeoutSeconds(effectiveTimeout));
+            // 전체 행 수는 제한하지 않고, 드라이버가 페이지 크기만큼씩 가져오도록 설정
+            stmt.setFetchSize(cursorManager.fetchSizeFor(effectivePageSize));
+            bind(stmt, bindValues);
+
+            if (context != null) {
+                context.attach(stmt);
+            }
+            try (QueryWatchdog.Watch watch = watchdog.watch(stmt, effectiveTimeout)) {
+                try {
+                    rs = stmt.executeQuery();
+                    ResultPlan plan = planCache.planFor(enforcedSql, rs);
+                    ResultSetReader.RowSink sink = format.newSink(plan, effectiveMaxBytes);
+                    ResultSetReader.Page page = ResultSetReader.readPage(
+                        rs, plan, effectivePageSize, effectiveMaxBytes, watch, false, sink);
+
+                    QueryResult result = ResultSetReader.toResult(plan, sink, page);
+                    result.setElapsedMs(watch.elapsedMs());
+
+                    // 워치독이 취소한 Statement는 이어서 읽을 수 없으므로 등록하지 않음
+                    if (!page.exhausted && !page.timedOut) {
+                        String cursorId = cursorManager.register(conn, stmt, rs, plan, format, page.rowCount, page.rowPending);
+                        result.setCursorId(cursorId);
+                        registered = true;
+                    }
+                    logger.debug("커서 첫 페이지 조회 완료: {}ms, {}행, cursorId={}",
+                                result.getElapsedMs(), result.getRowCount(), result.getCursorId());
+                    return result;
+                } catch (SQLException e) {
+                    throw watch.translate(e, context);
+                }
+            } finally {
+                if (context != null) {
+                    context.detach();
+                }
+            }
+        } finally {
+            if (!registered) {
+                CursorManager.closeQuietly(rs, stmt, conn);
             }
         }
-        
-        return new QueryResult(columns, rows, rowCount, truncated);
     }
 
     /**
-     * 객체의 바이트 수를 추정합니다.
+     * ResultSet을 처리하여 QueryResult로 변환합니다.
+     * 컬럼 정보와 추출기는 SQL별로 캐시된 계획을 재사용합니다.
+     */
+    private QueryResult processResultSet(String sql, ResultSet rs, int maxRows, long maxBytes,
+                                         QueryWatchdog.Watch watch, ResultFormat format) throws SQLException {
+        ResultPlan plan = planCache.planFor(sql, rs);
+        ResultSetReader.RowSink sink = format.newSink(plan, maxBytes);
+        ResultSetReader.Page page = ResultSetReader.readPage(rs, plan, maxRows, maxBytes, watch, false, sink);
+        return ResultSetReader.toResult(plan, sink, page);
+    }
+
+    /**
+     * 바인딩 값을 순서대로 설정합니다.
      */
-    private long estimateBytes(Object value) {
-        if (value == null) {
-            return 0;
+    private static void bind(PreparedStatement stmt, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                stmt.setNull(i + 1, Types.NULL);
+            } else {
+                stmt.setObject(i + 1, value);
+            }
         }
-        
-        if (value instanceof String) {
-            return ((String) value).getBytes().length;
-        } else if (value instanceof Number) {
-            return 8; // 숫자 타입은 대략 8바이트
-        } else if (value instanceof Boolean) {
-            return 1;
-        } else if (value instanceof Date || value instanceof Time || value instanceof Timestamp) {
-            return 8;
-        } else {
-            // 기타 타입은 toString() 길이로 추정
-            return value.toString().getBytes().length;
+    }
+
+    /**
+     * 공유 실행/결과 캐시 키에 넣을 바인딩 값 표현 (타입과 길이를 함께 적어 서로 다른 값 목록이 겹치지 않게 함)
+     */
+    static String paramsKey(List<?> params) {
+        if (params == null || params.isEmpty()) {
+            return "";
         }
+        StringBuilder sb = new StringBuilder();
+        for (Object param : params) {
+            if (param == null) {
+                sb.append("N;");
+            } else {
+                String value = param.toString();
+                sb.append(param.getClass().getSimpleName()).append(':').append(value.length()).append(':')
+                    .append(value).append(';');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 최대 행 수보다 한 행 더 (0이면 무제한). 남는 한 행으로 결과가 잘렸는지 판단합니다.
+     */
+    static int fetchLimit(int maxRows) {
+        return maxRows > 0 && maxRows < Integer.MAX_VALUE ? maxRows + 1 : maxRows;
+    }
+
+    /**
+     * 최상위 쿼리에 LIMIT가 없으면 LIMIT ?를 붙여 fetchLimit를 바인딩할지 여부.
+     * CUBRID가 상위 N개 정렬이나 조기 종료 계획을 쓸 수 있게 하며, 행 수는 바인딩하므로 SQL은 maxRows와 무관합니다.
+     */
+    private boolean pushLimit(SqlStatementCache.Prepared prepared, int fetchLimit) {
+        return limitPushdown && fetchLimit > 0 && prepared.isLimitable();
+    }
+
+    /**
+     * 드라이버 타임아웃(초)을 계산합니다. 밀리초를 올림하여 0(무제한)이 되지 않도록 합니다.
+     */
+    static int backstopTimeoutSeconds(long timeoutMs) {
+        return (int) ((timeoutMs + 999) / 1000);
     }
 }
@@ -0,0 +1,242 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.QueryResult;
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * db.query 결과 캐시입니다 (query.cache.enabled로 켬).
+ * 공백과 주석을 뺀 SQL(토큰 기준)과 실제 적용되는 제한 값(maxRows, maxBytes), 결과 형식을 키로 하며,
+ * 전체 크기(직렬화 바이트 수)를 상한으로 LRU 순서로 비우고 TTL이 지난 항목은 버립니다.
+ * 적중하면 커넥션 획득, DB 왕복 없이 저장된 결과를 반환합니다 (키를 만들 때 SqlStatementCache로 검사한 결과를 재사용).
+ */
+@Service
+public class QueryResultCache implements CacheStatsProvider {
+    private static final Logger logger = LoggerFactory.getLogger(QueryResultCache.class);
+
+    private final SqlPolicy sqlPolicy;
+    private final SqlStatementCache statementCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long ttlMs;
+
+    // 접근 순서 LinkedHashMap (가장 오래 사용되지 않은 항목이 앞)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    @Autowired
+    public QueryResultCache(SqlPolicy sqlPolicy, SqlStatementCache statementCache, ObjectMapper objectMapper,
+                            @Value("${query.cache.enabled:false}") boolean enabled,
+                            @Value("${query.cache.max-bytes:16777216}") long maxBytes,
+                            @Value("${query.cache.ttl-ms:30000}") long ttlMs) {
+        this.sqlPolicy = sqlPolicy;
+        this.statementCache = statementCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled && maxBytes > 0 && ttlMs > 0;
+        this.maxBytes = maxBytes;
+        this.ttlMs = ttlMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시된 결과를 반환하고, 없으면 loader로 실행해 저장합니다.
+     * 타임아웃으로 잘린 결과와 maxBytes보다 큰 결과는 저장하지 않습니다.
+     *
+     * @param sql 요청 SQL (공백과 주석을 뺀 토큰 원문을 키로 사용)
+     * @param params SQL의 ? 순서대로 바인딩할 값 (키에 포함됨)
+     * @param maxRows 요청 최대 행 수 (하드 상한을 적용한 값이 키에 포함됨)
+     * @param maxBytes 요청 최대 바이트 수 (하드 상한을 적용한 값이 키에 포함됨)
+     * @param format 결과 형식
+     * @param loader 캐시에 없을 때 쿼리를 실행
+     */
+    public QueryResult getOrLoad(String sql, List<?> params, Integer maxRows, Long maxBytes, ResultFormat format,
+                                 Loader loader)
+            throws SQLException, SqlPolicy.PolicyViolationException {
+        String key = key(sql, params, maxRows, maxBytes, format);
+        QueryResult cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        QueryResult result = loader.load();
+        if (!result.isTimedOut()) {
+            store(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * 캐시 키: 실제 적용되는 제한 값 + 형식 + 바인딩 값 + 토큰 원문 (SqlStatement#canonical)
+     *
+     * @throws SqlPolicy.PolicyViolationException 정책 위반 시 (위반한 SQL은 캐시하지 않음)
+     */
+    String key(String sql, List<?> params, Integer maxRows, Long maxBytes, ResultFormat format)
+            throws SqlPolicy.PolicyViolationException {
+        return sqlPolicy.effectiveMaxRows(maxRows) + "|" + sqlPolicy.effectiveMaxBytes(maxBytes) + "|"
+            + format.getName() + "|" + QueryExecutor.paramsKey(params) + "|" + statementCache.prepare(sql).getKey();
+    }
+
+    private QueryResult lookup(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.createdAt > ttlMs) {
+                remove(key, entry);
+                expirations.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.result.asCached();
+        }
+    }
+
+    private void store(String key, QueryResult result) {
+        long size = sizeOf(result);
+        if (size < 0 || size > maxBytes) {
+            logger.debug("결과가 캐시 상한보다 커서 저장하지 않음: {} bytes", size);
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            entries.put(key, new Entry(result, size));
+            totalBytes += size;
+
+            // 상한을 넘으면 가장 오래 사용되지 않은 항목부터 제거 (이미 만료된 항목은 만료로 집계)
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext() && totalBytes > maxBytes) {
+                Map.Entry<String, Entry> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                it.remove();
+                totalBytes -= eldest.getValue().size;
+                if (now - eldest.getValue().createdAt > ttlMs) {
+                    expirations.incrementAndGet();
+                } else {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            totalBytes -= entry.size;
+        }
+    }
+
+    /**
+     * 모든 항목을 비웁니다.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            totalBytes = 0;
+        }
+    }
+
+    /**
+     * 결과의 JSON 직렬화 바이트 수 (실패하면 -1)
+     */
+    private long sizeOf(QueryResult result) {
+        try (ByteCounter out = new ByteCounter()) {
+            objectMapper.writeValue(out, result);
+            return out.count;
+        } catch (IOException e) {
+            logger.debug("결과 크기 계산 실패: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return "queryResults";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("ttlMs", ttlMs);
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("hitRate", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        return stats;
+    }
+
+    /**
+     * 캐시에 없을 때 쿼리를 실행합니다.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        QueryResult load() throws SQLException, SqlPolicy.PolicyViolationException;
+    }
+
+    private static final class Entry {
+        private final QueryResult result;
+        private final long size;
+        private final long createdAt = System.currentTimeMillis();
+
+        private Entry(QueryResult result, long size) {
+            this.result = result;
+            this.size = size;
+        }
+    }
+
+    /**
+     * 바이트를 버리고 수만 세는 출력 스트림 (직렬화 크기 계산용)
+     */
+    private static final class ByteCounter extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.cubrid.mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿼리 타임아웃을 밀리초 단위로 강제하는 공용 워치독입니다.
+ * JDBC setQueryTimeout은 초 단위라 500ms 같은 값은 0(무제한)이 되므로,
+ * 공용 스케줄러에 취소 작업을 예약해 제한 시간이 지나면 Statement.cancel()을 호출합니다.
+ */
+@Component
+public class QueryWatchdog {
+    private static final Logger logger = LoggerFactory.getLogger(QueryWatchdog.class);
+
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public QueryWatchdog(ScheduledExecutorService mcpScheduler) {
+        this.scheduler = mcpScheduler;
+    }
+
+    /**
+     * Statement 감시를 시작합니다. 반환된 Watch를 닫으면 예약된 취소가 해제됩니다.
+     *
+     * @param stmt 감시할 Statement
+     * @param timeoutMs 제한 시간 밀리초 (0 이하이면 감시하지 않음)
+     */
+    public Watch watch(Statement stmt, long timeoutMs) {
+        Watch watch = new Watch(stmt, timeoutMs);
+        if (timeoutMs > 0) {
+            watch.future = scheduler.schedule(watch::fire, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        return watch;
+    }
+
+    /**
+     * 감시 중인 쿼리 하나의 실행 시간과 워치독 취소 여부를 담습니다.
+     */
+    public static final class Watch implements AutoCloseable {
+        private final Statement stmt;
+        private final long timeoutMs;
+        private final long startNanos = System.nanoTime();
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean fired;
+        private volatile boolean closed;
+
+        private Watch(Statement stmt, long timeoutMs) {
+            this.stmt = stmt;
+            this.timeoutMs = timeoutMs;
+        }
+
+        private void fire() {
+            if (closed) {
+                return;
+            }
+            fired = true;
+            try {
+                stmt.cancel();
+                logger.warn("쿼리 타임아웃: {}ms 제한 초과로 취소 (실행 {}ms)", timeoutMs, elapsedMs());
+            } catch (SQLException e) {
+                logger.warn("타임아웃 쿼리 취소 실패: {}", e.getMessage());
+            }
+        }
+
+        /**
+         * 워치독이 제한 시간 초과로 쿼리를 취소했는지 여부
+         */
+        public boolean isFired() {
+            return fired;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        /**
+         * 감시 시작 이후 경과 시간 (밀리초)
+         */
+        public long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * 실행 중 발생한 예외를 취소 원인에 맞는 예외로 바꿉니다.
+         * 요청 취소가 우선이며, 워치독이 취소했으면 제한 시간과 실행 시간을 담은 타임아웃 예외를 반환합니다.
+         */
+        public SQLException translate(SQLException e, RequestContext context) {
+            if (context != null && context.isCancelled()) {
+                return new SQLException("요청이 취소되었습니다: " + context.getCancelReason(), e);
+            }
+            if (fired) {
+                return new SQLTimeoutException(String.format(
+                    "쿼리 타임아웃: %dms 제한을 초과하여 워치독이 쿼리를 취소했습니다 (실행 %dms)",
+                    timeoutMs, elapsedMs()), e);
+            }
+            return e;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+    }
+}
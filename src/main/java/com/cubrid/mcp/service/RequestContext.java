@@ -0,0 +1,137 @@
+package com.cubrid.mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 처리 중인 MCP 요청 하나의 취소 상태를 담습니다.
+ * 워커 스레드에 바인딩되어 QueryExecutor가 실행 중인 Statement를 등록하면,
+ * 취소나 데드라인 만료 시 Statement.cancel()로 CUBRID 쪽 실행을 즉시 중단합니다.
+ */
+public final class RequestContext {
+    private static final Logger logger = LoggerFactory.getLogger(RequestContext.class);
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    private final Object requestId;
+    private volatile String cancelReason;
+    private volatile boolean deadlineExceeded;
+    private volatile Statement statement;
+    private volatile boolean streamingAllowed;
+    // 취소되면 사유로 완료 (다른 작업을 기다리는 쪽이 폴링하지 않고 깨어나도록)
+    private final CompletableFuture<String> cancellation = new CompletableFuture<>();
+
+    public RequestContext(Object requestId) {
+        this.requestId = requestId;
+    }
+
+    /**
+     * 현재 스레드에 바인딩된 요청 컨텍스트를 반환합니다 (MCP 요청 밖에서 호출되면 null).
+     */
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(RequestContext context) {
+        CURRENT.set(context);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    public Object getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * 응답을 전송 스트림에 직접 쓰는 경로에서 처리 중인지 여부.
+     * true이면 조회 결과를 메모리에 모으지 않고 ResultSet에서 바로 직렬화할 수 있습니다.
+     */
+    public boolean isStreamingAllowed() {
+        return streamingAllowed;
+    }
+
+    public void setStreamingAllowed(boolean streamingAllowed) {
+        this.streamingAllowed = streamingAllowed;
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    /**
+     * 요청이 취소되면 취소 사유로 완료되는 future
+     */
+    public CompletableFuture<String> cancellation() {
+        return cancellation;
+    }
+
+    /**
+     * 요청을 취소합니다. 실행 중인 Statement가 있으면 바로 cancel() 합니다.
+     */
+    public void cancel(String reason) {
+        if (cancelReason != null) {
+            return;
+        }
+        cancelReason = reason;
+        cancelStatement(statement);
+        cancellation.complete(reason);
+    }
+
+    /**
+     * 요청 데드라인이 지나 취소합니다. 클라이언트 취소와 달리 오류 응답을 보냅니다.
+     */
+    public void expire(String reason) {
+        deadlineExceeded = true;
+        cancel(reason);
+    }
+
+    /**
+     * 실행할 Statement를 등록합니다. 이미 취소된 요청이면 실행 전에 예외를 던집니다.
+     */
+    public void attach(Statement stmt) throws SQLException {
+        this.statement = stmt;
+        // cancel()과 경합해도 둘 중 하나는 상대의 쓰기를 보게 됨 (둘 다 volatile)
+        if (cancelReason != null) {
+            this.statement = null;
+            throw new SQLException("요청이 취소되었습니다: " + cancelReason);
+        }
+    }
+
+    public void detach() {
+        this.statement = null;
+    }
+
+    /**
+     * 취소된 요청이면 예외를 던집니다.
+     */
+    public void checkCancelled() throws SQLException {
+        if (cancelReason != null) {
+            throw new SQLException("요청이 취소되었습니다: " + cancelReason);
+        }
+    }
+
+    private void cancelStatement(Statement stmt) {
+        if (stmt == null) {
+            return;
+        }
+        try {
+            stmt.cancel();
+            logger.info("실행 중인 쿼리 취소: id={}, 사유={}", requestId, cancelReason);
+        } catch (SQLException e) {
+            logger.warn("쿼리 취소 실패: id={}, {}", requestId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.cubrid.mcp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 응답 하나를 직렬화해 담는 출력 버퍼입니다.
+ * 스트리밍 결과는 행을 읽으면서 이 버퍼에 쓰고, 다 쓴 뒤에만 출력 잠금을 잡아 한 번에 내보냅니다.
+ * 쌓인 바이트가 spillBytes를 넘으면 그때 잠금을 잡고 응답이 끝날 때까지 출력에 바로 쓰므로
+ * 큰 응답도 힙에는 spillBytes 정도만 남습니다 (그동안 다른 응답은 잠금을 기다림).
+ * 마지막에 쓴 행을 되돌릴 수 있어 maxBytes를 넘기는 행을 출력에서 뺄 수 있으며,
+ * 되돌릴 수 있는 위치({@link #pin(long)}) 이후의 바이트는 넘쳐도 내보내지 않습니다.
+ */
+public class ResponseBuffer extends OutputStream {
+    private final OutputStream target;
+    private final Lock lock;
+    private final int spillBytes;
+
+    private byte[] buf;
+    private int count;
+    // 이미 출력으로 내보낸 바이트 수 (buf[0]의 응답 내 위치)
+    private long flushed;
+    // 이 위치부터는 되돌릴 수 있으므로 내보내지 않음 (-1이면 제한 없음)
+    private long pinned = -1;
+    private boolean locked;
+    private boolean finished;
+
+    /**
+     * @param target 응답을 쓸 출력 (여러 응답이 lock으로 나누어 씀)
+     * @param lock 출력 잠금
+     * @param spillBytes 이 크기를 넘으면 잠금을 잡고 바로 씀 (0이면 끝까지 버퍼에 모음)
+     */
+    public ResponseBuffer(OutputStream target, Lock lock, int spillBytes) {
+        this.target = target;
+        this.lock = lock;
+        this.spillBytes = spillBytes;
+        this.buf = new byte[8192];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+        spillIfFull();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+        spillIfFull();
+    }
+
+    /**
+     * 지금까지 쓴 응답 바이트 수 (이미 내보낸 바이트 포함)
+     */
+    public long size() {
+        return flushed + count;
+    }
+
+    /**
+     * position 이후에 쓰는 바이트는 {@link #truncate(long)}로 되돌릴 수 있도록 내보내지 않습니다.
+     * 앞선 위치는 더 이상 되돌리지 않는 것으로 보고 넘치면 내보냅니다.
+     */
+    public void pin(long position) {
+        pinned = position;
+    }
+
+    /**
+     * 앞에서부터 size 바이트만 남기고 버립니다. 이미 내보낸 부분은 되돌릴 수 없으므로 false.
+     */
+    public boolean truncate(long size) {
+        if (size < flushed || size > size()) {
+            return false;
+        }
+        count = (int) (size - flushed);
+        return true;
+    }
+
+    /**
+     * 남은 바이트와 줄바꿈을 내보내고 잠금을 놓습니다. 잠금을 아직 잡지 않았으면 이때 잡습니다.
+     */
+    public void finish() throws IOException {
+        lock();
+        try {
+            target.write(buf, 0, count);
+            target.write('\n');
+            target.flush();
+            flushed += count;
+            count = 0;
+            finished = true;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 잠금을 잡은 채로 실패했으면 줄을 끝내 다음 응답과 섞이지 않게 하고 잠금을 놓습니다.
+     * 응답을 보내지 못하고 끝날 때 호출하며, 여러 번 호출해도 안전합니다.
+     * (close()는 생성기가 닫을 때도 불리므로 잠금을 놓지 않음)
+     */
+    public void release() {
+        if (!locked) {
+            return;
+        }
+        try {
+            if (!finished && flushed > 0) {
+                target.write('\n');
+                target.flush();
+            }
+        } catch (IOException e) {
+            // 출력이 닫힌 경우: 잠금만 놓음
+        } finally {
+            count = 0;
+            locked = false;
+            lock.unlock();
+        }
+    }
+
+    private void spillIfFull() throws IOException {
+        if (spillBytes <= 0 || count <= spillBytes) {
+            return;
+        }
+        int length = pinned < 0 ? count : (int) Math.max(0, Math.min(count, pinned - flushed));
+        if (length == 0) {
+            return;
+        }
+        lock();
+        target.write(buf, 0, length);
+        System.arraycopy(buf, length, buf, 0, count - length);
+        count -= length;
+        flushed += length;
+    }
+
+    private void lock() {
+        if (!locked) {
+            lock.lock();
+            locked = true;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+        }
+    }
+}
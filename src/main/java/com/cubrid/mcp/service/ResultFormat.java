@@ -0,0 +1,87 @@
+package com.cubrid.mcp.service;
+
+/**
+ * db.query / db.fetch 결과 출력 형식
+ */
+public enum ResultFormat {
+    /**
+     * 기본 행 배열 형식: rows: [[...], [...]]
+     */
+    JSON("json"),
+
+    /**
+     * 컬럼 배열 형식: data: [{encoding, ...}, ...]. 컬럼마다 plain/dict/rle 중 가장 작은 인코딩을 고릅니다.
+     */
+    COLUMNAR("columnar"),
+
+    /**
+     * CSV 텍스트 (헤더 포함): text
+     */
+    CSV("csv"),
+
+    /**
+     * TSV 텍스트 (헤더 포함): text
+     */
+    TSV("tsv"),
+
+    /**
+     * 한 줄에 JSON 객체 하나인 텍스트: text
+     */
+    NDJSON("ndjson");
+
+    private final String name;
+
+    ResultFormat(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 형식 이름을 해석합니다. null이나 빈 문자열이면 JSON입니다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 형식
+     */
+    public static ResultFormat parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return JSON;
+        }
+        for (ResultFormat format : values()) {
+            if (format.name.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 format입니다: " + value + " (json, columnar, csv, tsv, ndjson 중 하나)");
+    }
+
+    /**
+     * 결과를 text 필드의 문자열로 내보내는 형식인지 여부
+     */
+    public boolean isText() {
+        return this == CSV || this == TSV || this == NDJSON;
+    }
+
+    /**
+     * 행을 읽는 대로 출력할 수 있는 형식인지 여부 (columnar는 행을 모두 읽어야 인코딩을 고를 수 있음)
+     */
+    public boolean isStreamable() {
+        return this != COLUMNAR;
+    }
+
+    /**
+     * 이 형식으로 행을 쌓을 sink를 만듭니다.
+     *
+     * @param maxBytes 바이트 제한 (텍스트 형식은 넘치는 행을 받지 않음)
+     */
+    ResultSetReader.RowSink newSink(ResultPlan plan, long maxBytes) {
+        if (this == COLUMNAR) {
+            return new ColumnarEncoder(plan);
+        }
+        if (isText()) {
+            return new TextSink(this, plan, maxBytes);
+        }
+        return new ResultSetReader.RowList();
+    }
+}
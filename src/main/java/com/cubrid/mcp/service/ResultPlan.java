@@ -0,0 +1,76 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 결과 컬럼 정보와 컬럼별 값 추출기 묶음입니다.
+ * 같은 SQL을 다시 실행할 때 ResultPlanCache에서 꺼내 재사용합니다.
+ */
+final class ResultPlan {
+    private final List<ColumnInfo> columns;
+    private final ColumnExtractor[] extractors;
+    private final int[] sqlTypes;
+
+    private ResultPlan(List<ColumnInfo> columns, ColumnExtractor[] extractors, int[] sqlTypes) {
+        this.columns = columns;
+        this.extractors = extractors;
+        this.sqlTypes = sqlTypes;
+    }
+
+    /**
+     * ResultSet 메타데이터로부터 컬럼 정보와 추출기를 만듭니다.
+     */
+    static ResultPlan from(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        List<ColumnInfo> columns = new ArrayList<>(columnCount);
+        ColumnExtractor[] extractors = new ColumnExtractor[columnCount];
+        int[] sqlTypes = new int[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            String columnName = metaData.getColumnName(i);
+            String columnType = metaData.getColumnTypeName(i);
+            boolean nullable = (metaData.isNullable(i) == ResultSetMetaData.columnNullable);
+            columns.add(new ColumnInfo(columnName, columnType, nullable));
+            sqlTypes[i - 1] = metaData.getColumnType(i);
+            extractors[i - 1] = ColumnExtractor.forType(sqlTypes[i - 1]);
+        }
+        return new ResultPlan(Collections.unmodifiableList(columns), extractors, sqlTypes);
+    }
+
+    /**
+     * 캐시된 계획이 이번 결과의 컬럼 구성(개수, 이름, JDBC 타입)과 일치하는지 확인합니다.
+     * 드라이버가 이미 받아 둔 메타데이터만 읽으므로 DB 왕복은 없으며, 다르면 계획을 다시 만들어야 합니다.
+     */
+    boolean matches(ResultSetMetaData metaData) throws SQLException {
+        if (metaData.getColumnCount() != extractors.length) {
+            return false;
+        }
+        for (int i = 1; i <= extractors.length; i++) {
+            if (metaData.getColumnType(i) != sqlTypes[i - 1]
+                    || !columns.get(i - 1).getName().equals(metaData.getColumnName(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<ColumnInfo> getColumns() {
+        return columns;
+    }
+
+    int getColumnCount() {
+        return extractors.length;
+    }
+
+    /**
+     * @param index 1부터 시작하는 컬럼 번호
+     */
+    ColumnExtractor extractor(int index) {
+        return extractors[index - 1];
+    }
+}
@@ -0,0 +1,94 @@
+package com.cubrid.mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL별 결과 계획(ResultPlan)을 보관하는 LRU 캐시입니다.
+ * 같은 SQL을 반복 실행할 때 컬럼 정보와 추출기를 다시 만들지 않습니다.
+ * 캐시된 계획은 실행마다 드라이버가 받아 둔 메타데이터의 컬럼 수, 이름, 타입과 대조하여 달라졌으면 새로 만듭니다.
+ * 스키마 변경 감지가 다음 주기에 캐시를 비우기 전이나 지문 조회가 실패한 동안에도 바뀐 컬럼 구성을 놓치지 않습니다.
+ */
+@Component
+public class ResultPlanCache implements CacheStatsProvider {
+    private static final Logger logger = LoggerFactory.getLogger(ResultPlanCache.class);
+
+    private final Map<String, ResultPlan> plans;
+    private final int capacity;
+
+    @Autowired
+    public ResultPlanCache(@Value("${query.plan-cache-size:256}") int maxEntries) {
+        int capacity = Math.max(0, maxEntries);
+        this.capacity = capacity;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResultPlan> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * 실행된 SQL의 결과 계획을 반환합니다. 캐시에 없거나 컬럼 구성이 달라졌으면 새로 만들어 저장합니다.
+     * 캐시에 있으면 컬럼 정보와 추출기를 다시 만들지 않습니다.
+     *
+     * @param sql 실제로 실행한 SQL (캐시 키)
+     * @param rs 실행 결과
+     */
+    ResultPlan planFor(String sql, ResultSet rs) throws SQLException {
+        ResultPlan plan;
+        synchronized (plans) {
+            plan = plans.get(sql);
+        }
+        ResultSetMetaData metaData = rs.getMetaData();
+        if (plan != null && plan.matches(metaData)) {
+            return plan;
+        }
+        if (plan != null) {
+            logger.debug("결과 컬럼 구성이 바뀌어 계획을 다시 만듭니다");
+        }
+
+        plan = ResultPlan.from(metaData);
+        synchronized (plans) {
+            plans.put(sql, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * 캐시된 계획을 모두 버립니다.
+     */
+    public void clear() {
+        synchronized (plans) {
+            plans.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return "resultPlans";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", size());
+        stats.put("maxEntries", capacity);
+        return stats;
+    }
+}
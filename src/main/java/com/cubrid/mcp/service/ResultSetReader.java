@@ -0,0 +1,231 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.QueryResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ResultSet에서 행을 페이지 단위로 읽습니다.
+ * 일반 쿼리(QueryExecutor)와 커서 조회(CursorManager)가 같은 읽기 로직을 공유합니다.
+ */
+final class ResultSetReader {
+    private static final Logger logger = LoggerFactory.getLogger(ResultSetReader.class);
+
+    private ResultSetReader() {
+    }
+
+    /**
+     * 현재 위치에서 최대 maxRows 행을 읽습니다.
+     * 행을 읽는 도중 워치독이 쿼리를 취소하면 그때까지 읽은 행을 timedOut으로 표시해 반환합니다.
+     * 읽은 값은 출력 형식에 맞는 sink에 쌓이며, maxBytes는 sink가 계산한 직렬화 크기에 적용됩니다.
+     *
+     * @param rowPending 직전 페이지에서 rs.next()로 이미 이동해 둔 행이 있으면 true
+     */
+    static Page readPage(ResultSet rs, ResultPlan plan, int maxRows, long maxBytes,
+                         QueryWatchdog.Watch watch, boolean rowPending, RowSink sink) throws SQLException {
+        Page page = new Page();
+        long totalBytes = 0;
+        boolean positioned = rowPending;
+
+        while (true) {
+            if (!positioned) {
+                try {
+                    if (!rs.next()) {
+                        page.exhausted = true;
+                        break;
+                    }
+                } catch (SQLException e) {
+                    // 이미 읽은 행이 있으면 부분 결과로 반환
+                    if (watch.isFired() && page.rowCount > 0) {
+                        page.truncated = true;
+                        page.timedOut = true;
+                        logger.warn("행 조회 중 타임아웃: {}행까지 반환 (제한: {}ms)", page.rowCount, watch.getTimeoutMs());
+                        break;
+                    }
+                    throw e;
+                }
+            }
+            positioned = false;
+
+            if (maxRows > 0 && page.rowCount >= maxRows) {
+                // 이동해 둔 행은 다음 페이지의 첫 행이 됨
+                page.truncated = true;
+                page.rowPending = true;
+                break;
+            }
+
+            long added = sink.add(rs, plan);
+            if (added < 0) {
+                // 바이트 제한 때문에 sink가 행을 받지 않음: 다음 페이지의 첫 행으로 남김
+                page.truncated = true;
+                page.rowPending = true;
+                logger.warn("결과 크기 제한 도달: {} bytes에서 중단 (제한: {} bytes)", totalBytes, maxBytes);
+                break;
+            }
+            totalBytes = added;
+            page.rowCount++;
+
+            // 바이트 제한 확인
+            if (maxBytes > 0 && totalBytes > maxBytes) {
+                page.truncated = true;
+                logger.warn("결과 크기 제한 초과: {} bytes (제한: {} bytes)", totalBytes, maxBytes);
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 읽은 페이지를 QueryResult로 만듭니다.
+     */
+    static QueryResult toResult(ResultPlan plan, RowSink sink, Page page) {
+        QueryResult result = new QueryResult(plan.getColumns(), null, page.rowCount, page.truncated);
+        result.setTimedOut(page.timedOut);
+        sink.fill(result);
+        return result;
+    }
+
+    /**
+     * 값이 JSON으로 직렬화될 때의 UTF-8 바이트 수를 계산합니다 (기본 ObjectMapper 설정 기준).
+     * 문자열을 byte[]로 인코딩하지 않고 문자를 훑어 계산하므로 추가 할당이 없습니다.
+     */
+    static long serializedSize(Object value) {
+        if (value == null) {
+            return 4; // null
+        }
+        if (value instanceof String) {
+            return stringSize((String) value);
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return digits(((Number) value).longValue());
+        }
+        if (value instanceof Boolean) {
+            return ((Boolean) value) ? 4 : 5;
+        }
+        if (value instanceof java.sql.Time) {
+            // Time은 "HH:mm:ss" 문자열로 직렬화됨
+            return stringSize(value.toString());
+        }
+        if (value instanceof java.util.Date) {
+            // Date/Timestamp는 epoch 밀리초 숫자로 직렬화됨
+            return digits(((java.util.Date) value).getTime());
+        }
+        if (value instanceof byte[]) {
+            // Base64 문자열
+            return 2 + ((((byte[]) value).length + 2) / 3) * 4L;
+        }
+        if (value instanceof Number) {
+            // BigDecimal, Double 등은 toString() 형태의 숫자 리터럴
+            return value.toString().length();
+        }
+        // 기타 타입은 toString() 문자열로 간주
+        return stringSize(value.toString());
+    }
+
+    /**
+     * JSON 문자열 리터럴(따옴표, 이스케이프 포함)의 UTF-8 바이트 수
+     */
+    static long stringSize(String s) {
+        long size = 2;
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x20) {
+                // 줄바꿈, 탭 등은 2바이트 이스케이프, 나머지 제어 문자는 6바이트 유니코드 이스케이프
+                size += (c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') ? 2 : 6;
+            } else if (c == '"' || c == '\\') {
+                size += 2;
+            } else if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isSurrogate(c)) {
+                // Jackson(UTF-8 출력)은 서로게이트 쌍을 문자마다 6바이트 유니코드 이스케이프로 씀
+                size += 6;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
+    static int digits(long v) {
+        if (v == Long.MIN_VALUE) {
+            return 20;
+        }
+        int n = 1;
+        if (v < 0) {
+            n++;
+            v = -v;
+        }
+        while (v >= 10) {
+            v /= 10;
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * 읽은 행을 출력 형식에 맞게 쌓아 두는 대상
+     */
+    interface RowSink {
+        /**
+         * 현재 행의 값을 읽어 추가하고, 지금까지 추가한 결과의 직렬화 바이트 수를 반환합니다.
+         * 바이트 제한을 넘어 행을 추가하지 않았으면 -1을 반환합니다 (행은 다음 페이지에서 다시 읽음).
+         */
+        long add(ResultSet rs, ResultPlan plan) throws SQLException;
+
+        /**
+         * 쌓인 값을 결과에 채웁니다.
+         */
+        void fill(QueryResult result);
+    }
+
+    /**
+     * 기본 행 배열 형식 (rows: [[...], [...]])
+     */
+    static final class RowList implements RowSink {
+        private final List<List<Object>> rows = new ArrayList<>();
+        private long totalBytes;
+
+        @Override
+        public long add(ResultSet rs, ResultPlan plan) throws SQLException {
+            int columnCount = plan.getColumnCount();
+            // 행 직렬화 크기: 대괄호 + 쉼표(컬럼 구분, 행 구분) + 각 값
+            long rowBytes = 2 + Math.max(0, columnCount - 1) + (rows.isEmpty() ? 0 : 1);
+            List<Object> row = new ArrayList<>(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                ColumnExtractor extractor = plan.extractor(i);
+                Object value = extractor.read(rs, i);
+                row.add(value);
+                rowBytes += extractor.sizeOf(value);
+            }
+            rows.add(row);
+            totalBytes += rowBytes;
+            return totalBytes;
+        }
+
+        @Override
+        public void fill(QueryResult result) {
+            result.setRows(rows);
+        }
+    }
+
+    /**
+     * 한 번에 읽은 행 묶음
+     */
+    static final class Page {
+        int rowCount;
+        boolean truncated;
+        boolean timedOut;
+        // 다음 행으로 이미 이동해 둔 상태 (커서를 이어서 읽을 때 rs.next()를 건너뜀)
+        boolean rowPending;
+        // rs.next()가 false를 반환해 더 읽을 행이 없음
+        boolean exhausted;
+    }
+}
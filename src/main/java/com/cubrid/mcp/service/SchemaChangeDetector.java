@@ -0,0 +1,230 @@
+package com.cubrid.mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블별 구조 지문({@link CatalogLoader#fingerprints(int)})을 주기적으로 비교하여 스키마 변경을 감지합니다.
+ * 매번 먼저 한 행짜리 요약({@link CatalogLoader#summary(int)})을 읽어 이전과 같으면 지문은 읽지 않습니다.
+ * 변경되면 해당 테이블만 스키마 캐시에서 다시 읽고, 결과 컬럼 정보/결과 캐시를 비운 뒤 리스너(MCP 서버)에 알립니다.
+ */
+@Component
+public class SchemaChangeDetector implements InitializingBean, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaChangeDetector.class);
+
+    private static final int QUERY_TIMEOUT_SECONDS = 10;
+
+    private final CatalogLoader catalogLoader;
+    private final SchemaIntrospector schemaIntrospector;
+    private final ResultPlanCache resultPlanCache;
+    private final QueryResultCache queryResultCache;
+    private final ColumnProfiler columnProfiler;
+    private final long intervalMs;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService poller;
+    // 마지막으로 확인한 지문 (첫 조회 전에는 null)
+    private Map<String, String> fingerprints;
+    // 지문을 읽기 직전에 확인한 요약 (지문과 짝을 이룸)
+    private String summary;
+    // 요약 쿼리를 쓸 수 없는 버전이면 false로 바꾸고 매번 지문만 비교
+    private boolean summarySupported = true;
+
+    @Autowired
+    public SchemaChangeDetector(CatalogLoader catalogLoader, SchemaIntrospector schemaIntrospector,
+                                ResultPlanCache resultPlanCache, QueryResultCache queryResultCache,
+                                ColumnProfiler columnProfiler,
+                                @Value("${schema.change-detection.interval-ms:30000}") long intervalMs) {
+        this.catalogLoader = catalogLoader;
+        this.schemaIntrospector = schemaIntrospector;
+        this.resultPlanCache = resultPlanCache;
+        this.queryResultCache = queryResultCache;
+        this.columnProfiler = columnProfiler;
+        this.intervalMs = intervalMs;
+    }
+
+    public boolean isEnabled() {
+        return intervalMs > 0;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!isEnabled()) {
+            return;
+        }
+        // DB 조회가 느려져도 공용 스케줄러(데드라인, 워치독)를 막지 않도록 전용 스레드 사용
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "schema-change-detector");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::poll, 0, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("스키마 변경 감지 시작: {}ms 간격", intervalMs);
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * 지문을 다시 읽어 이전과 비교합니다. 첫 호출은 기준값만 저장합니다.
+     */
+    synchronized void poll() {
+        // 요약을 지문보다 먼저 읽어야 그 사이에 바뀐 스키마도 다음 주기에 요약 불일치로 드러남
+        String currentSummary = null;
+        SQLException summaryError = null;
+        if (summarySupported) {
+            try {
+                currentSummary = catalogLoader.summary(QUERY_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                summaryError = e;
+            }
+        }
+        if (fingerprints != null && currentSummary != null && currentSummary.equals(summary)) {
+            return;
+        }
+
+        Map<String, String> current;
+        try {
+            current = catalogLoader.fingerprints(QUERY_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            logger.debug("스키마 지문 조회 실패: {}", e.getMessage());
+            return;
+        }
+        // 지문은 읽히는데 요약만 실패하면 연결 문제가 아니라 이 버전에서 쓸 수 없는 쿼리로 봄
+        if (summaryError != null) {
+            summarySupported = false;
+            logger.info("스키마 요약 쿼리를 쓸 수 없어 매번 지문을 비교합니다: {}", summaryError.getMessage());
+        }
+
+        Map<String, String> previous = fingerprints;
+        fingerprints = current;
+        summary = currentSummary;
+        if (previous == null) {
+            return;
+        }
+
+        Change change = diff(previous, current);
+        if (change.isEmpty()) {
+            return;
+        }
+        logger.info("스키마 변경 감지: 추가 {}, 삭제 {}, 변경 {}", change.getAdded(), change.getRemoved(), change.getChanged());
+
+        Set<String> affected = new HashSet<>(change.getAdded());
+        affected.addAll(change.getRemoved());
+        affected.addAll(change.getChanged());
+        schemaIntrospector.refreshTables(affected);
+        resultPlanCache.clear();
+        queryResultCache.clear();
+        columnProfiler.clear();
+
+        for (Listener listener : listeners) {
+            try {
+                listener.onSchemaChanged(change);
+            } catch (RuntimeException e) {
+                logger.warn("스키마 변경 알림 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    static Change diff(Map<String, String> previous, Map<String, String> current) {
+        Set<String> added = new TreeSet<>();
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            String before = previous.get(entry.getKey());
+            if (before == null) {
+                added.add(entry.getKey());
+            } else if (!before.equals(entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        Set<String> removed = new TreeSet<>(previous.keySet());
+        removed.removeAll(current.keySet());
+        return new Change(added, removed, changed);
+    }
+
+    /**
+     * 스키마 변경을 통지받습니다 (감지 스레드에서 호출됨).
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onSchemaChanged(Change change);
+    }
+
+    /**
+     * 감지된 변경 (테이블명 집합)
+     */
+    public static final class Change {
+        private final Set<String> added;
+        private final Set<String> removed;
+        private final Set<String> changed;
+
+        Change(Set<String> added, Set<String> removed, Set<String> changed) {
+            this.added = Collections.unmodifiableSet(added);
+            this.removed = Collections.unmodifiableSet(removed);
+            this.changed = Collections.unmodifiableSet(changed);
+        }
+
+        public Set<String> getAdded() {
+            return added;
+        }
+
+        public Set<String> getRemoved() {
+            return removed;
+        }
+
+        public Set<String> getChanged() {
+            return changed;
+        }
+
+        /**
+         * 테이블이 추가, 삭제, 변경 중 하나에 포함되는지 확인합니다.
+         * CUBRID 식별자는 대소문자를 구분하지 않으므로 이름도 대소문자를 무시하고 비교합니다.
+         */
+        public boolean affects(String table) {
+            for (Set<String> tables : List.of(added, removed, changed)) {
+                for (String name : tables) {
+                    if (name.equalsIgnoreCase(table)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 테이블이 추가되거나 삭제되었는지 (목록 자체의 변경)
+         */
+        public boolean isListChanged() {
+            return !added.isEmpty() || !removed.isEmpty();
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+        }
+    }
+}
@@ -4,48 +4,208 @@ import com.cubrid.mcp.dto.ColumnInfo;
 import com.cubrid.mcp.dto.TableInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 허용된 스키마의 테이블 목록과 테이블 구조(컬럼, PK, 인덱스)를 조회합니다.
+ * 조회 결과는 TTL 동안 캐시하여 같은 테이블을 다시 조회할 때 DB 왕복이 없으며,
+ * 시작 시 백그라운드에서 전체 스키마를 미리 읽어 둡니다. db.refreshSchema로 캐시를 비울 수 있습니다.
+ */
 @Service
-public class SchemaIntrospector {
+public class SchemaIntrospector implements CacheStatsProvider, InitializingBean {
     private static final Logger logger = LoggerFactory.getLogger(SchemaIntrospector.class);
 
+    private static final int FINGERPRINT_TIMEOUT_SECONDS = 10;
+
     private final DataSource dataSource;
     private final com.cubrid.mcp.policy.SqlPolicy sqlPolicy;
+    private final SingleFlight singleFlight;
+    private final CatalogLoader catalogLoader;
+    private final ExecutorService schemaExecutor;
+    private final SchemaSnapshotStore snapshotStore;
+
+    private final boolean cacheEnabled;
+    private final long ttlMs;
+    private final boolean warmUp;
+    private final boolean bulkLoad;
+
+    // 전체 테이블 목록 (listTables는 여기서 패턴/개수로 걸러 반환)
+    private volatile CacheEntry<List<TableInfo>> tableList;
+    // 테이블명(소문자, cacheKey) -> 테이블 구조
+    private final Map<String, CacheEntry<Map<String, Object>>> tableCache = new ConcurrentHashMap<>();
+    // 무효화할 때마다 증가. 무효화 전에 시작한 조회 결과는 캐시에 넣지 않음
+    private final AtomicLong generation = new AtomicLong();
+    // 시작 시 연 스냅샷 파일. 캐시에 없는 테이블은 여기서 디코딩하며, 무효화하거나 다시 읽으면 버림
+    private volatile MappedSchemaSnapshot mapped;
+    // db.searchSchema 색인과 만들 때의 generation (무효화되거나 TTL이 지나면 다시 만듦)
+    private volatile SchemaSearchIndex searchIndex;
+    private volatile long searchIndexGeneration = -1;
+    // db.joinPath 외래키 그래프 (색인과 같은 조건으로 다시 만듦)
+    private volatile JoinGraph joinGraph;
+    private volatile long joinGraphGeneration = -1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
 
     @Autowired
-    public SchemaIntrospector(DataSource dataSource, com.cubrid.mcp.policy.SqlPolicy sqlPolicy) {
+    public SchemaIntrospector(DataSource dataSource, com.cubrid.mcp.policy.SqlPolicy sqlPolicy,
+                              SingleFlight singleFlight, CatalogLoader catalogLoader,
+                              @Qualifier("schemaExecutor") ExecutorService schemaExecutor,
+                              SchemaSnapshotStore snapshotStore,
+                              @Value("${schema.cache.enabled:true}") boolean cacheEnabled,
+                              @Value("${schema.cache.ttl-ms:600000}") long ttlMs,
+                              @Value("${schema.cache.warm-up:true}") boolean warmUp,
+                              @Value("${schema.cache.bulk-load:true}") boolean bulkLoad) {
         this.dataSource = dataSource;
         this.sqlPolicy = sqlPolicy;
+        this.singleFlight = singleFlight;
+        this.catalogLoader = catalogLoader;
+        this.schemaExecutor = schemaExecutor;
+        this.snapshotStore = snapshotStore;
+        this.cacheEnabled = cacheEnabled && ttlMs > 0;
+        this.ttlMs = ttlMs;
+        this.warmUp = warmUp;
+        this.bulkLoad = bulkLoad;
     }
     
     private String getAllowedSchema() {
         return sqlPolicy.getAllowedSchema();
     }
 
+    /**
+     * 캐시를 켠 경우 저장된 스냅샷 파일이 있으면 바로 열어 사용하고, 백그라운드 스레드에서
+     * 스냅샷이 최신인지 확인하거나 전체 스키마를 미리 읽습니다.
+     * 서버 시작을 막지 않으며, 실패해도 요청 시점에 다시 조회하므로 경고만 남깁니다.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!cacheEnabled) {
+            return;
+        }
+        boolean snapshotExists = snapshotStore.exists();
+        MappedSchemaSnapshot snapshot = snapshotStore.open();
+        if (snapshot != null && snapshot.getSchema().equals(getAllowedSchema())) {
+            mapped = snapshot;
+            tableList = new CacheEntry<>(snapshot.getTables());
+            logger.info("스키마 스냅샷 사용: {}개 테이블 (저장 시각 {})", snapshot.getTables().size(),
+                new java.util.Date(snapshot.getLoadedAt()));
+        }
+        // 스냅샷 파일이 있었지만 쓸 수 없으면 (손상 등) warm-up이 꺼져 있어도 다시 만듦
+        if (!warmUp && mapped == null && !snapshotExists) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "schema-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            MappedSchemaSnapshot snapshot = mapped;
+            // 스냅샷 이후 스키마가 바뀌지 않았으면 그대로 사용 (필요한 테이블만 조회 시점에 디코딩)
+            if (snapshot != null
+                && snapshot.getFingerprints().equals(catalogLoader.fingerprints(FINGERPRINT_TIMEOUT_SECONDS))) {
+                logger.info("스키마 스냅샷 확인: 변경 없음 ({}ms)", System.currentTimeMillis() - start);
+            } else {
+                if (snapshot != null) {
+                    logger.info("스키마 스냅샷 이후 변경이 있어 다시 읽습니다.");
+                }
+                int count = reload();
+                logger.info("스키마 캐시 준비 완료: {}개 테이블 ({}ms)", count, System.currentTimeMillis() - start);
+            }
+            // 첫 db.searchSchema, db.joinPath가 기다리지 않도록 색인과 외래키 그래프도 미리 만듦
+            searchIndex();
+            joinGraph(tableNames());
+        } catch (Exception e) {
+            logger.warn("스키마 캐시 미리 읽기 실패 (요청 시점에 조회합니다): {}", e.getMessage());
+        }
+    }
+
     /**
      * 허용된 스키마의 테이블 목록을 조회합니다.
      * 
      * @param pattern 테이블명 패턴 (LIKE 패턴, 예: "%", "user%")
      * @param limit 최대 반환 개수
-     * @return 테이블 정보 목록
+     * @return 테이블 정보 목록 (동시에 들어온 같은 요청과 공유될 수 있으므로 수정하지 않아야 함)
      */
     public List<TableInfo> listTables(String pattern, Integer limit) throws SQLException {
+        String effectivePattern = (pattern == null || pattern.isEmpty()) ? "%" : pattern;
+        int maxResults = (limit != null && limit > 0) ? limit : 500;
+        if (!cacheEnabled) {
+            return singleFlight.execute("listTables|" + maxResults + "|" + effectivePattern,
+                () -> loadTables(effectivePattern, maxResults));
+        }
+
         List<TableInfo> tables = new ArrayList<>();
-        
-        if (pattern == null || pattern.isEmpty()) {
-            pattern = "%";
+        for (TableInfo table : allTables()) {
+            if (tables.size() >= maxResults) {
+                break;
+            }
+            if (likeMatches(effectivePattern, table.getName())) {
+                tables.add(table);
+            }
         }
-        
-        int maxResults = (limit != null && limit > 0) ? limit : 500;
+        return tables;
+    }
+
+    /**
+     * 전체 테이블 목록 (캐시)
+     */
+    private List<TableInfo> allTables() throws SQLException {
+        CacheEntry<List<TableInfo>> entry = tableList;
+        if (entry != null && entry.isFresh(ttlMs)) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        return singleFlight.execute("listTables|all", () -> {
+            long gen = generation.get();
+            List<TableInfo> tables = Collections.unmodifiableList(loadTables("%", Integer.MAX_VALUE));
+            if (generation.get() == gen) {
+                tableList = new CacheEntry<>(tables);
+            }
+            return tables;
+        });
+    }
+
+    /**
+     * 전체 테이블 이름 (캐시를 끈 경우 DB에서 조회)
+     */
+    private List<String> tableNames() throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (TableInfo table : cacheEnabled ? allTables() : loadTables("%", Integer.MAX_VALUE)) {
+            names.add(table.getName());
+        }
+        return names;
+    }
+
+    private List<TableInfo> loadTables(String pattern, int maxResults) throws SQLException {
+        List<TableInfo> tables = new ArrayList<>();
         String allowedSchema = getAllowedSchema();
 
         try (Connection conn = dataSource.getConnection()) {
@@ -58,13 +218,13 @@ public class SchemaIntrospector {
                     String tableName = rs.getString("TABLE_NAME");
                     String tableType = rs.getString("TABLE_TYPE");
                     
-                    tables.add(new TableInfo(tableName, tableType));
+                    tables.add(new TableInfo(tableName, tableType, remarks(rs)));
                     count++;
                 }
             }
         }
 
-        logger.debug("테이블 목록 조회 완료: {}개 (pattern={}, limit={})", tables.size(), pattern, limit);
+        logger.debug("테이블 목록 조회 완료: {}개 (pattern={}, limit={})", tables.size(), pattern, maxResults);
         return tables;
     }
 
@@ -72,13 +232,497 @@ public class SchemaIntrospector {
      * 테이블의 상세 정보를 조회합니다.
      * 
      * @param tableName 테이블명 (스키마 없이)
-     * @return 테이블 스키마 정보 (컬럼, PK, 인덱스)
+     * @return 테이블 스키마 정보 (컬럼, PK, 인덱스). 캐시 및 동시 요청과 공유되므로 수정할 수 없음
      */
     public Map<String, Object> describeTable(String tableName) throws SQLException {
         if (tableName == null || tableName.isEmpty()) {
             throw new IllegalArgumentException("테이블명이 필요합니다.");
         }
+        if (!cacheEnabled) {
+            return singleFlight.execute("describeTable|" + cacheKey(tableName), () -> loadTable(tableName));
+        }
+
+        Map<String, Object> cached = cached(tableName);
+        if (cached != null) {
+            return cached;
+        }
+        misses.incrementAndGet();
+        return singleFlight.execute("describeTable|" + cacheKey(tableName), () -> {
+            long gen = generation.get();
+            Map<String, Object> table = Collections.unmodifiableMap(loadTable(tableName));
+            if (generation.get() == gen) {
+                tableCache.put(cacheKey(tableName), new CacheEntry<>(table));
+            }
+            return table;
+        });
+    }
+
+    /**
+     * 여러 테이블의 상세 정보를 한 번에 조회합니다.
+     * 캐시에 있는 테이블은 바로 반환하고, 나머지는 스키마 조회 풀(schema.describe-parallelism)에서 병렬로 조회합니다.
+     * 이름은 테이블 목록에서 대소문자를 무시하고 찾으며, 없는 테이블은 조회하지 않고 실패로 반환합니다.
+     * 한 테이블의 조회가 실패해도 나머지 결과는 반환합니다.
+     *
+     * @param tableNames 테이블명 목록 (스키마 없이, 중복은 한 번만 조회)
+     * @return 요청 순서대로의 테이블별 결과
+     */
+    public List<TableDescription> describeTables(List<String> tableNames) throws SQLException {
+        List<String> known = tableNames();
+        Map<String, TableDescription> results = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Map<String, Object>>> pending = new LinkedHashMap<>();
+        for (String name : tableNames) {
+            String tableName = JoinGraph.resolve(name, known);
+            if (tableName == null) {
+                results.putIfAbsent(name, TableDescription.failure(name, "테이블을 찾을 수 없습니다."));
+                continue;
+            }
+            if (results.containsKey(tableName)) {
+                continue;
+            }
+            Map<String, Object> cached = cached(tableName);
+            if (cached != null) {
+                results.put(tableName, TableDescription.success(tableName, cached));
+            } else {
+                results.put(tableName, null);
+                pending.put(tableName, null);
+            }
+        }
+
+        if (pending.size() == 1) {
+            String tableName = pending.keySet().iterator().next();
+            results.put(tableName, describeOne(tableName));
+            return new ArrayList<>(results.values());
+        }
+
+        List<Future<?>> tasks = new ArrayList<>();
+        for (String tableName : pending.keySet()) {
+            CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+            pending.put(tableName, future);
+            tasks.add(schemaExecutor.submit(() -> {
+                try {
+                    future.complete(describeTable(tableName));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }));
+        }
+        RequestContext context = RequestContext.current();
+        try {
+            for (Map.Entry<String, CompletableFuture<Map<String, Object>>> entry : pending.entrySet()) {
+                results.put(entry.getKey(), await(entry.getKey(), entry.getValue(), context));
+            }
+        } finally {
+            // 취소 등으로 빠져나온 경우 남은 조회 중단
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * DB 왕복 없이 캐시나 스냅샷에서만 찾습니다 (없거나 만료되었으면 null).
+     */
+    private Map<String, Object> cached(String tableName) {
+        if (!cacheEnabled) {
+            return null;
+        }
+        CacheEntry<Map<String, Object>> entry = tableCache.get(cacheKey(tableName));
+        if (entry != null && entry.isFresh(ttlMs)) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        MappedSchemaSnapshot snapshot = mapped;
+        if (snapshot != null && entry == null) {
+            long gen = generation.get();
+            Map<String, Object> table = snapshot.describe(tableName);
+            if (table != null) {
+                if (generation.get() == gen) {
+                    tableCache.putIfAbsent(cacheKey(tableName), new CacheEntry<>(table));
+                }
+                hits.incrementAndGet();
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private TableDescription describeOne(String tableName) {
+        try {
+            return TableDescription.success(tableName, describeTable(tableName));
+        } catch (SQLException | RuntimeException e) {
+            if (e instanceof CancellationException) {
+                throw (CancellationException) e;
+            }
+            logger.debug("테이블 스키마 조회 실패: {} ({})", tableName, e.getMessage());
+            return TableDescription.failure(tableName, e.getMessage());
+        }
+    }
+
+    /**
+     * 테이블 조회 결과나 요청 취소 중 먼저 오는 쪽을 기다립니다 (둘 다 future 완료로 깨어나므로 폴링하지 않음).
+     */
+    private TableDescription await(String tableName, CompletableFuture<Map<String, Object>> future,
+                                   RequestContext context) {
+        try {
+            if (context != null) {
+                try {
+                    CompletableFuture.anyOf(future, context.cancellation()).get();
+                } catch (ExecutionException e) {
+                    // 조회 예외는 아래 future.get()에서 다시 받음
+                }
+                if (!future.isDone()) {
+                    throw new CancellationException("요청이 취소되었습니다: " + context.getCancelReason());
+                }
+            }
+            return TableDescription.success(tableName, future.get());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            logger.debug("테이블 스키마 조회 실패: {} ({})", tableName, cause.getMessage());
+            return TableDescription.failure(tableName, cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("대기 중 인터럽트되었습니다.");
+        }
+    }
+
+    /**
+     * 테이블명, 컬럼명, 주석에서 검색어와 비슷한 항목을 점수순으로 찾습니다.
+     * 색인은 처음 검색할 때 캐시된 스키마로 만들며, 이후 검색은 DB에 접근하지 않습니다.
+     * 스키마 캐시를 끈 경우에는 컬럼을 읽지 않고 테이블명과 테이블 주석만 색인합니다.
+     *
+     * @param query 검색어
+     * @param kind "table", "column" 또는 null(전체)
+     * @param limit 최대 결과 수
+     */
+    public List<Map<String, Object>> searchSchema(String query, String kind, int limit) throws SQLException {
+        return searchIndex().search(query, kind, limit);
+    }
+
+    private SchemaSearchIndex searchIndex() throws SQLException {
+        SchemaSearchIndex index = searchIndex;
+        if (index != null && searchIndexGeneration == generation.get()
+            && System.currentTimeMillis() - index.getBuiltAt() <= ttlMs) {
+            return index;
+        }
+        return singleFlight.execute("searchIndex", () -> {
+            long gen = generation.get();
+            long start = System.currentTimeMillis();
+            List<TableInfo> tables = cacheEnabled ? allTables() : loadTables("%", Integer.MAX_VALUE);
+            Map<String, Map<String, Object>> descriptions = new HashMap<>();
+            if (cacheEnabled) {
+                for (TableInfo table : tables) {
+                    descriptions.put(table.getName(), describeTable(table.getName()));
+                }
+            }
+            SchemaSearchIndex built = SchemaSearchIndex.build(tables, descriptions);
+            searchIndex = built;
+            searchIndexGeneration = gen;
+            logger.debug("스키마 검색 색인 생성: {}개 항목 ({}ms)", built.getEntryCount(),
+                System.currentTimeMillis() - start);
+            return built;
+        });
+    }
+
+    /**
+     * 외래키를 따라 주어진 테이블들을 잇는 최단 조인 경로와 조인 조건을 찾습니다.
+     * 외래키 그래프는 처음 호출할 때 한 번 읽어 캐시하며, 이후 호출은 DB에 접근하지 않습니다.
+     *
+     * @param tableNames 연결할 테이블 (2개 이상, 스키마 없이)
+     * @param maxHops 테이블 하나를 붙일 때 허용하는 최대 조인 수
+     */
+    public Map<String, Object> joinPath(List<String> tableNames, int maxHops) throws SQLException {
+        if (tableNames == null || tableNames.size() < 2) {
+            throw new IllegalArgumentException("테이블이 2개 이상 필요합니다.");
+        }
+        List<String> known = tableNames();
+        List<String> resolved = new ArrayList<>();
+        for (String name : tableNames) {
+            String table = JoinGraph.resolve(name, known);
+            if (table == null) {
+                throw new IllegalArgumentException("테이블을 찾을 수 없습니다: " + name);
+            }
+            if (!resolved.contains(table)) {
+                resolved.add(table);
+            }
+        }
+        if (resolved.size() < 2) {
+            throw new IllegalArgumentException("서로 다른 테이블이 2개 이상 필요합니다.");
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("schema", getAllowedSchema());
+        result.put("tables", resolved);
+        result.putAll(joinGraph(known).joinPath(resolved, maxHops));
+        return result;
+    }
+
+    private JoinGraph joinGraph(List<String> tableNames) throws SQLException {
+        JoinGraph graph = joinGraph;
+        if (graph != null && joinGraphGeneration == generation.get()
+            && System.currentTimeMillis() - graph.getBuiltAt() <= ttlMs) {
+            return graph;
+        }
+        return singleFlight.execute("joinGraph", () -> {
+            long gen = generation.get();
+            long start = System.currentTimeMillis();
+            JoinGraph built = new JoinGraph(loadForeignKeys(tableNames));
+            joinGraph = built;
+            joinGraphGeneration = gen;
+            logger.info("외래키 그래프 생성: {}개 테이블, {}개 외래키 ({}ms)", tableNames.size(),
+                built.getForeignKeyCount(), System.currentTimeMillis() - start);
+            return built;
+        });
+    }
+
+    /**
+     * 외래키를 커넥션 하나로 조회합니다 (DatabaseMetaData.getImportedKeys).
+     * schema.cache.bulk-load가 켜져 있으면 카탈로그 뷰에서 외래키가 있는 테이블을 먼저 한 번에 찾아
+     * 그 테이블만 조회하므로, 외래키가 없는 테이블마다 왕복하지 않습니다.
+     */
+    private List<JoinGraph.ForeignKey> loadForeignKeys(List<String> tableNames) throws SQLException {
+        List<JoinGraph.ForeignKey> foreignKeys = new ArrayList<>();
+        String allowedSchema = getAllowedSchema();
+        Set<String> known = new HashSet<>(tableNames);
+        RequestContext context = RequestContext.current();
+
+        List<String> children = tableNames;
+        if (bulkLoad) {
+            try {
+                Set<String> withForeignKeys = catalogLoader.foreignKeyTables();
+                children = new ArrayList<>();
+                for (String tableName : tableNames) {
+                    if (withForeignKeys.contains(tableName)) {
+                        children.add(tableName);
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warn("카탈로그에서 외래키 테이블 조회 실패, 모든 테이블을 조회합니다: {}", e.getMessage());
+            }
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            for (String tableName : children) {
+                if (context != null) {
+                    context.checkCancelled();
+                }
+                // 외래키 이름별로 KEY_SEQ 순서의 컬럼 쌍을 모음
+                Map<String, List<String[]>> byName = new LinkedHashMap<>();
+                Map<String, String> parentOf = new HashMap<>();
+                try (ResultSet rs = metaData.getImportedKeys(null, allowedSchema, tableName)) {
+                    while (rs.next()) {
+                        String parentTable = rs.getString("PKTABLE_NAME");
+                        String fkName = rs.getString("FK_NAME");
+                        String key = fkName != null ? fkName : parentTable;
+                        parentOf.put(key, parentTable);
+                        List<String[]> pairs = byName.computeIfAbsent(key, k -> new ArrayList<>());
+                        int seq = rs.getInt("KEY_SEQ");
+                        String[] pair = {rs.getString("FKCOLUMN_NAME"), rs.getString("PKCOLUMN_NAME")};
+                        int pos = Math.max(0, seq - 1);
+                        while (pairs.size() <= pos) {
+                            pairs.add(null);
+                        }
+                        pairs.set(pos, pair);
+                    }
+                }
+                for (Map.Entry<String, List<String[]>> entry : byName.entrySet()) {
+                    List<String> childColumns = new ArrayList<>();
+                    List<String> parentColumns = new ArrayList<>();
+                    for (String[] pair : entry.getValue()) {
+                        if (pair != null) {
+                            childColumns.add(pair[0]);
+                            parentColumns.add(pair[1]);
+                        }
+                    }
+                    String parentTable = parentOf.get(entry.getKey());
+                    // 허용된 스키마 밖의 테이블을 참조하는 외래키는 제외
+                    if (!known.contains(parentTable)) {
+                        continue;
+                    }
+                    String fkName = entry.getKey().equals(parentTable) ? null : entry.getKey();
+                    foreignKeys.add(new JoinGraph.ForeignKey(fkName, tableName, childColumns,
+                        parentTable, parentColumns));
+                }
+            }
+        }
+        return foreignKeys;
+    }
+
+    /**
+     * 스키마 캐시를 비웁니다. 다음 조회 때 DB에서 다시 읽습니다.
+     *
+     * @param tableName 비울 테이블 (null이면 테이블 목록을 포함한 전체)
+     * @return 비운 테이블 항목 수
+     */
+    public int invalidate(String tableName) {
+        generation.incrementAndGet();
+        mapped = null;
+        if (tableName != null) {
+            // 테이블이 추가/삭제되었을 수 있으므로 목록도 함께 비움
+            tableList = null;
+            return tableCache.remove(cacheKey(tableName)) != null ? 1 : 0;
+        }
+        int count = tableCache.size();
+        tableCache.clear();
+        tableList = null;
+        logger.info("스키마 캐시 비움: {}개 테이블", count);
+        return count;
+    }
+
+    /**
+     * 구조가 바뀐 테이블만 캐시에서 비우고 다시 읽습니다. 삭제된 테이블은 비우기만 합니다.
+     *
+     * @param tableNames 추가/삭제/변경된 테이블
+     */
+    public void refreshTables(Collection<String> tableNames) {
+        generation.incrementAndGet();
+        mapped = null;
+        tableList = null;
+        for (String tableName : tableNames) {
+            tableCache.remove(cacheKey(tableName));
+        }
+        if (!cacheEnabled) {
+            return;
+        }
+        try {
+            for (TableInfo table : allTables()) {
+                if (tableNames.contains(table.getName())) {
+                    describeTable(table.getName());
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("변경된 테이블 다시 읽기 실패 (요청 시점에 조회합니다): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 전체 스키마를 읽어 캐시를 채웁니다. schema.cache.bulk-load가 켜져 있으면 카탈로그 뷰에서
+     * 쿼리 몇 개로 한 번에 읽고, 아니면(또는 실패하면) 테이블마다 DatabaseMetaData로 조회합니다.
+     *
+     * @return 테이블 수
+     */
+    public int reload() throws SQLException {
+        if (bulkLoad) {
+            try {
+                return singleFlight.execute("schemaSnapshot", () -> {
+                    long gen = generation.get();
+                    // 지문을 먼저 읽어야 읽는 도중 바뀐 스키마도 다음 실행 때 불일치로 감지됨
+                    Map<String, String> fingerprints = snapshotStore.isEnabled()
+                        ? catalogLoader.fingerprints(FINGERPRINT_TIMEOUT_SECONDS) : null;
+                    SchemaSnapshot snapshot = catalogLoader.load();
+                    if (generation.get() == gen) {
+                        apply(snapshot);
+                    }
+                    if (fingerprints != null) {
+                        snapshotStore.save(snapshot, fingerprints);
+                    }
+                    return snapshot.getTables().size();
+                });
+            } catch (SQLException e) {
+                // 카탈로그 뷰를 읽을 수 없는 버전/권한이면 DatabaseMetaData로 테이블마다 조회
+                logger.warn("카탈로그 일괄 조회 실패, 테이블별로 조회합니다: {}", e.getMessage());
+            }
+        }
+        if (mapped != null) {
+            // 스냅샷이 최신이 아니므로 테이블 목록부터 DB에서 다시 읽음
+            invalidate(null);
+        }
+        List<TableInfo> tables = allTables();
+        for (TableInfo table : tables) {
+            describeTable(table.getName());
+        }
+        return tables.size();
+    }
+
+    /**
+     * 일괄 조회한 스키마로 캐시를 채웁니다.
+     */
+    private void apply(SchemaSnapshot snapshot) {
+        mapped = null;
+        tableList = new CacheEntry<>(snapshot.getTables());
+        for (Map.Entry<String, Map<String, Object>> entry : snapshot.getDescriptions().entrySet()) {
+            tableCache.put(cacheKey(entry.getKey()), new CacheEntry<>(entry.getValue()));
+        }
+    }
+
+    /**
+     * CUBRID 식별자는 대소문자를 구분하지 않으므로 캐시 키는 소문자로 통일 (Orders와 orders가 같은 항목)
+     */
+    private static String cacheKey(String tableName) {
+        return tableName.toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    @Override
+    public String getCacheName() {
+        return "schema";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cacheEnabled);
+        stats.put("tables", tableCache.size());
+        stats.put("tableListCached", tableList != null);
+        MappedSchemaSnapshot snapshot = mapped;
+        stats.put("snapshotTables", snapshot != null ? snapshot.getTables().size() : 0);
+        SchemaSearchIndex index = searchIndex;
+        stats.put("searchIndexEntries", index != null ? index.getEntryCount() : 0);
+        JoinGraph graph = joinGraph;
+        stats.put("foreignKeys", graph != null ? graph.getForeignKeyCount() : 0);
+        stats.put("ttlMs", ttlMs);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    /**
+     * DatabaseMetaData 검색 패턴과 같은 규칙으로 이름을 비교합니다 (%: 임의 문자열, _: 임의 한 문자,
+     * \: 다음 문자를 그대로 비교). CUBRID 식별자처럼 대소문자는 구분하지 않습니다.
+     */
+    static boolean likeMatches(String pattern, String name) {
+        // 마지막 % 위치로 되돌아가는 방식의 와일드카드 비교
+        int p = 0;
+        int n = 0;
+        int starP = -1;
+        int starN = 0;
+        while (n < name.length()) {
+            if (p < pattern.length()) {
+                char pc = pattern.charAt(p);
+                if (pc == '%') {
+                    starP = ++p;
+                    starN = n;
+                    continue;
+                }
+                boolean escaped = pc == '\\' && p + 1 < pattern.length();
+                char literal = escaped ? pattern.charAt(p + 1) : pc;
+                if ((!escaped && pc == '_') || equalsIgnoreCase(literal, name.charAt(n))) {
+                    p += escaped ? 2 : 1;
+                    n++;
+                    continue;
+                }
+            }
+            if (starP < 0) {
+                return false;
+            }
+            p = starP;
+            n = ++starN;
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '%') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    private static boolean equalsIgnoreCase(char a, char b) {
+        return a == b || Character.toLowerCase(a) == Character.toLowerCase(b);
+    }
 
+    private Map<String, Object> loadTable(String tableName) throws SQLException {
         String allowedSchema = getAllowedSchema();
         Map<String, Object> result = new HashMap<>();
         result.put("schema", allowedSchema);
@@ -89,6 +733,10 @@ public class SchemaIntrospector {
             
             // 컬럼 정보 조회
             List<ColumnInfo> columns = getColumns(metaData, tableName);
+            // 컬럼이 없으면 없는 테이블 (빈 결과를 캐시하지 않도록 실패로 처리)
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("테이블을 찾을 수 없습니다: " + tableName);
+            }
             result.put("columns", columns);
             
             // Primary Key 조회
@@ -127,7 +775,7 @@ public class SchemaIntrospector {
                 
                 boolean isNullable = (nullable == DatabaseMetaData.columnNullable);
                 
-                columns.add(new ColumnInfo(columnName, fullType, isNullable));
+                columns.add(new ColumnInfo(columnName, fullType, isNullable, remarks(rs)));
             }
         }
         
@@ -200,6 +848,18 @@ public class SchemaIntrospector {
         return indexes;
     }
 
+    /**
+     * 메타데이터의 REMARKS(주석) 컬럼을 읽습니다. 드라이버가 제공하지 않거나 비어 있으면 null.
+     */
+    private static String remarks(ResultSet rs) {
+        try {
+            String remarks = rs.getString("REMARKS");
+            return remarks == null || remarks.isEmpty() ? null : remarks;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
     /**
      * 고정 크기 타입인지 확인합니다.
      */
@@ -216,4 +876,56 @@ public class SchemaIntrospector {
                dataType == Types.TIMESTAMP ||
                dataType == Types.BOOLEAN;
     }
+
+    /**
+     * describeTables의 테이블별 결과 (성공하면 description, 실패하면 error)
+     */
+    public static final class TableDescription {
+        private final String table;
+        private final Map<String, Object> description;
+        private final String error;
+
+        private TableDescription(String table, Map<String, Object> description, String error) {
+            this.table = table;
+            this.description = description;
+            this.error = error;
+        }
+
+        static TableDescription success(String table, Map<String, Object> description) {
+            return new TableDescription(table, description, null);
+        }
+
+        static TableDescription failure(String table, String error) {
+            return new TableDescription(table, null, error != null ? error : "알 수 없는 오류");
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public Map<String, Object> getDescription() {
+            return description;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    private static final class CacheEntry<T> {
+        private final T value;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private CacheEntry(T value) {
+            this.value = value;
+        }
+
+        private boolean isFresh(long ttlMs) {
+            return System.currentTimeMillis() - loadedAt <= ttlMs;
+        }
+    }
 }
@@ -0,0 +1,328 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+import com.cubrid.mcp.dto.TableInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 테이블명, 컬럼명, 주석에 대한 메모리 검색 색인입니다 (db.searchSchema).
+ * 이름은 단어(_, 숫자, 대소문자 경계로 분리) 역색인과 3-gram 색인에 넣어 오타나 일부만 맞는 이름도 찾고,
+ * 주석은 단어와 3-gram으로 색인합니다. 만든 뒤에는 변경하지 않으므로 여러 스레드에서 함께 검색해도 됩니다.
+ */
+public final class SchemaSearchIndex {
+    // 점수 가중치: 이름 일치 > 이름 단어 일치 > 이름 3-gram 유사도 > 주석
+    private static final double EXACT_SCORE = 10.0;
+    private static final double PREFIX_SCORE = 4.0;
+    private static final double CONTAINS_SCORE = 2.0;
+    private static final double NAME_TOKEN_SCORE = 3.0;
+    private static final double NAME_TRIGRAM_SCORE = 5.0;
+    private static final double COMMENT_TOKEN_SCORE = 1.5;
+    private static final double COMMENT_TRIGRAM_SCORE = 1.0;
+    // 3-gram 유사도가 이보다 낮은 후보는 다른 근거가 없으면 버림
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.2;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Entry[] entries;
+    private final Map<String, int[]> nameTokens;
+    private final Map<String, int[]> nameTrigrams;
+    private final Map<String, int[]> commentTokens;
+    private final Map<String, int[]> commentTrigrams;
+    private final int tableCount;
+    private final long builtAt = System.currentTimeMillis();
+
+    private SchemaSearchIndex(Entry[] entries, Map<String, int[]> nameTokens, Map<String, int[]> nameTrigrams,
+                              Map<String, int[]> commentTokens, Map<String, int[]> commentTrigrams, int tableCount) {
+        this.entries = entries;
+        this.nameTokens = nameTokens;
+        this.nameTrigrams = nameTrigrams;
+        this.commentTokens = commentTokens;
+        this.commentTrigrams = commentTrigrams;
+        this.tableCount = tableCount;
+    }
+
+    /**
+     * 테이블 목록과 테이블별 구조로 색인을 만듭니다.
+     *
+     * @param tables 테이블 목록
+     * @param descriptions 테이블명 -> describeTable 형식의 구조 (없는 테이블은 테이블명만 색인)
+     */
+    @SuppressWarnings("unchecked")
+    public static SchemaSearchIndex build(List<TableInfo> tables, Map<String, Map<String, Object>> descriptions) {
+        List<Entry> entries = new ArrayList<>();
+        for (TableInfo table : tables) {
+            entries.add(new Entry("table", table.getName(), null, table.getType(), table.getComment()));
+            Map<String, Object> description = descriptions.get(table.getName());
+            if (description == null) {
+                continue;
+            }
+            for (ColumnInfo column : (List<ColumnInfo>) description.get("columns")) {
+                entries.add(new Entry("column", table.getName(), column.getName(), column.getType(),
+                    column.getComment()));
+            }
+        }
+
+        Map<String, IntList> nameTokens = new HashMap<>();
+        Map<String, IntList> nameTrigrams = new HashMap<>();
+        Map<String, IntList> commentTokens = new HashMap<>();
+        Map<String, IntList> commentTrigrams = new HashMap<>();
+        for (int id = 0; id < entries.size(); id++) {
+            Entry entry = entries.get(id);
+            addPostings(nameTokens, tokens(entry.name), id);
+            addPostings(nameTrigrams, trigrams(entry.name), id);
+            if (entry.comment != null) {
+                addPostings(commentTokens, tokens(entry.comment), id);
+                addPostings(commentTrigrams, trigrams(entry.comment), id);
+            }
+        }
+        return new SchemaSearchIndex(entries.toArray(new Entry[0]), toArrays(nameTokens), toArrays(nameTrigrams),
+            toArrays(commentTokens), toArrays(commentTrigrams), tables.size());
+    }
+
+    /**
+     * 검색어와 비슷한 테이블/컬럼을 점수순으로 반환합니다.
+     *
+     * @param query 검색어 (이름 일부, 오타가 있는 이름, 주석 단어 등)
+     * @param kind "table", "column" 또는 null(전체)
+     * @param limit 최대 결과 수
+     */
+    public List<Map<String, Object>> search(String query, String kind, int limit) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        limit = Math.min(limit, entries.length);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // 후보마다 박싱하지 않도록 항목 id로 접근하는 배열에 점수를 모음
+        double[] scores = new double[entries.length];
+        int[] shared = new int[entries.length];
+        // touched에 이미 넣었는지 (점수가 0인 후보도 있으므로 점수로 판단하지 않음)
+        boolean[] member = new boolean[entries.length];
+        IntList touched = new IntList();
+
+        Set<String> queryTrigrams = trigrams(normalized);
+        for (String trigram : queryTrigrams) {
+            for (int id : nameTrigrams.getOrDefault(trigram, EMPTY)) {
+                if (shared[id]++ == 0 && !member[id]) {
+                    member[id] = true;
+                    touched.add(id);
+                }
+            }
+        }
+        int trigramCandidates = touched.size;
+        for (int i = 0; i < trigramCandidates; i++) {
+            int id = touched.values[i];
+            // Jaccard 유사도
+            double similarity = (double) shared[id] / (queryTrigrams.size() + entries[id].trigramCount - shared[id]);
+            if (similarity >= MIN_TRIGRAM_SIMILARITY) {
+                scores[id] += similarity * NAME_TRIGRAM_SCORE;
+            }
+            shared[id] = 0;
+        }
+
+        for (String token : tokens(normalized)) {
+            for (int id : nameTokens.getOrDefault(token, EMPTY)) {
+                touch(scores, member, touched, id, NAME_TOKEN_SCORE);
+            }
+            for (int id : commentTokens.getOrDefault(token, EMPTY)) {
+                touch(scores, member, touched, id, COMMENT_TOKEN_SCORE);
+            }
+        }
+
+        // 주석은 띄어쓰기 없이 쓰는 경우가 많아 검색어의 3-gram이 모두 포함된 항목도 인정
+        for (String trigram : queryTrigrams) {
+            for (int id : commentTrigrams.getOrDefault(trigram, EMPTY)) {
+                if (++shared[id] == queryTrigrams.size()) {
+                    touch(scores, member, touched, id, COMMENT_TRIGRAM_SCORE);
+                }
+            }
+        }
+
+        // 점수가 같으면 테이블을 먼저, 그다음 이름이 짧은 순
+        Comparator<Integer> order = (x, y) -> {
+            int byScore = Double.compare(scores[y], scores[x]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            Entry ex = entries[x];
+            Entry ey = entries[y];
+            if (!ex.kind.equals(ey.kind)) {
+                return "table".equals(ex.kind) ? -1 : 1;
+            }
+            return Integer.compare(ex.name.length(), ey.name.length());
+        };
+        // 상위 limit개만 유지 (가장 낮은 순위가 머리에 오도록 역순 힙)
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, order.reversed());
+        for (int i = 0; i < touched.size; i++) {
+            int id = touched.values[i];
+            Entry entry = entries[id];
+            if (scores[id] <= 0 || (kind != null && !kind.equals(entry.kind))) {
+                continue;
+            }
+            // 힙에 넣기 전에 점수를 확정 (힙 안의 항목 점수는 바꾸지 않음)
+            scores[id] += nameBonus(entry.lowerName, normalized);
+            top.add(id);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(top);
+        ranked.sort(order);
+        List<Map<String, Object>> results = new ArrayList<>(ranked.size());
+        for (int id : ranked) {
+            results.add(entries[id].toResult(scores[id]));
+        }
+        return results;
+    }
+
+    private static double nameBonus(String lowerName, String normalized) {
+        if (lowerName.equals(normalized)) {
+            return EXACT_SCORE;
+        } else if (lowerName.startsWith(normalized)) {
+            return PREFIX_SCORE;
+        } else if (lowerName.contains(normalized)) {
+            return CONTAINS_SCORE;
+        }
+        return 0;
+    }
+
+    private static void touch(double[] scores, boolean[] member, IntList touched, int id, double score) {
+        if (!member[id]) {
+            member[id] = true;
+            touched.add(id);
+        }
+        scores[id] += score;
+    }
+
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    public int getEntryCount() {
+        return entries.length;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * 이름/주석을 소문자 단어로 나눕니다 (_, 공백, 기호, 숫자 경계, camelCase 경계).
+     */
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        StringBuilder current = new StringBuilder();
+        int previousType = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int type = Character.isDigit(c) ? 1 : Character.isLetter(c) ? (Character.isUpperCase(c) ? 2 : 3) : 0;
+            boolean boundary = type == 0
+                || (previousType == 1) != (type == 1)
+                || (previousType == 3 && type == 2);
+            if (boundary && current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+            if (type != 0) {
+                current.append(Character.toLowerCase(c));
+            }
+            previousType = type;
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * 소문자로 바꾼 뒤 앞뒤에 공백을 붙여 3-gram을 만듭니다 (짧은 이름도 색인되도록).
+     */
+    static Set<String> trigrams(String text) {
+        String padded = "  " + text.toLowerCase(Locale.ROOT) + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static void addPostings(Map<String, IntList> postings, Set<String> keys, int id) {
+        for (String key : keys) {
+            postings.computeIfAbsent(key, k -> new IntList()).add(id);
+        }
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, IntList> postings) {
+        Map<String, int[]> arrays = new HashMap<>(postings.size() * 2);
+        for (Map.Entry<String, IntList> entry : postings.entrySet()) {
+            arrays.put(entry.getKey(), Arrays.copyOf(entry.getValue().values, entry.getValue().size));
+        }
+        return arrays;
+    }
+
+    /**
+     * 박싱 없는 int 목록
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static final class Entry {
+        private final String kind;
+        private final String table;
+        private final String column;
+        private final String type;
+        private final String comment;
+        private final String name;
+        private final String lowerName;
+        private final int trigramCount;
+
+        private Entry(String kind, String table, String column, String type, String comment) {
+            this.kind = kind;
+            this.table = table;
+            this.column = column;
+            this.type = type;
+            this.comment = comment;
+            this.name = column != null ? column : table;
+            this.lowerName = name.toLowerCase(Locale.ROOT);
+            this.trigramCount = trigrams(name).size();
+        }
+
+        private Map<String, Object> toResult(double score) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("kind", kind);
+            result.put("table", table);
+            if (column != null) {
+                result.put("column", column);
+            }
+            if (type != null) {
+                result.put("type", type);
+            }
+            if (comment != null) {
+                result.put("comment", comment);
+            }
+            result.put("score", Math.round(score * 1000) / 1000.0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.TableInfo;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 시점에 읽은 스키마 전체 (테이블 목록과 테이블별 구조)입니다.
+ * 테이블 구조는 {@link SchemaIntrospector#describeTable(String)}과 같은 형식입니다.
+ */
+public final class SchemaSnapshot {
+    private final String schema;
+    private final List<TableInfo> tables;
+    private final Map<String, Map<String, Object>> descriptions;
+    private final long loadedAt;
+
+    public SchemaSnapshot(String schema, List<TableInfo> tables, Map<String, Map<String, Object>> descriptions,
+                          long loadedAt) {
+        this.schema = schema;
+        this.tables = Collections.unmodifiableList(tables);
+        this.descriptions = Collections.unmodifiableMap(descriptions);
+        this.loadedAt = loadedAt;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * 테이블 목록 (이름순)
+     */
+    public List<TableInfo> getTables() {
+        return tables;
+    }
+
+    /**
+     * 테이블명 -> 테이블 구조 (schema, table, columns, primaryKey, indexes)
+     */
+    public Map<String, Map<String, Object>> getDescriptions() {
+        return descriptions;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+}
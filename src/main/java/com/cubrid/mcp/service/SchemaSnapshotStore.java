@@ -0,0 +1,227 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+import com.cubrid.mcp.dto.TableInfo;
+import com.cubrid.mcp.policy.SqlPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 스키마 전체를 이진 스냅샷 파일로 저장하고, 다음 실행 때 메모리 매핑하여 엽니다.
+ * MCP 클라이언트는 세션마다 JVM을 새로 띄우므로, 스냅샷이 있으면 첫 describeTable부터 DB 왕복 없이 응답합니다.
+ * 파일은 접속 URL과 스키마별로 따로 두며 ({dir}/schema-{해시}.bin), 소유자 전용 임시 파일에 쓴 뒤 교체합니다.
+ */
+@Component
+public class SchemaSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaSnapshotStore.class);
+
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    private static final Set<PosixFilePermission> OWNER_DIR = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final boolean enabled;
+    private final Path file;
+
+    @Autowired
+    public SchemaSnapshotStore(SqlPolicy sqlPolicy,
+                               @Value("${schema.snapshot.enabled:true}") boolean enabled,
+                               @Value("${schema.snapshot.dir:${user.home}/.cubrid-mcp}") String dir,
+                               @Value("${cubrid.jdbc.url:}") String jdbcUrl) {
+        // DataSourceConfig와 같이 환경변수를 우선 사용
+        String url = System.getenv("CUBRID_JDBC_URL");
+        if (url == null || url.isEmpty()) {
+            url = jdbcUrl;
+        }
+        this.enabled = enabled && dir != null && !dir.isEmpty();
+        this.file = this.enabled
+            ? Paths.get(dir, "schema-" + hash(url + "|" + sqlPolicy.getAllowedSchema()) + ".bin")
+            : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 스냅샷 파일이 있는지 (열 수 있는지와 관계없이)
+     */
+    boolean exists() {
+        return enabled && Files.isRegularFile(file);
+    }
+
+    /**
+     * 스냅샷 파일을 메모리 매핑하여 엽니다. 없거나 읽을 수 없으면 null.
+     * 잘렸거나 손상된 파일은 지워서 다음 저장 때 새로 만들게 합니다.
+     */
+    MappedSchemaSnapshot open() {
+        if (!exists()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 채널을 닫아도 매핑은 유지됨
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return MappedSchemaSnapshot.read(buffer);
+        } catch (IllegalArgumentException e) {
+            logger.warn("스키마 스냅샷이 손상되어 다시 만듭니다: {} ({})", file, e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // 저장할 때 교체됨
+            }
+            return null;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("스키마 스냅샷을 읽을 수 없어 무시합니다: {} ({})", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 스냅샷을 파일로 저장합니다. 실패해도 서버 동작에는 영향이 없으므로 경고만 남깁니다.
+     *
+     * @param snapshot 전체 스키마
+     * @param fingerprints 스냅샷을 읽기 직전의 테이블별 지문 (다음 실행 때 유효성 확인용)
+     */
+    void save(SchemaSnapshot snapshot, Map<String, String> fingerprints) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            byte[] bytes = encode(snapshot, fingerprints);
+            // 스키마 구조가 담기므로 디렉터리와 파일 모두 소유자만 접근
+            Path dir = file.getParent();
+            Path temp;
+            if (POSIX) {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(OWNER_DIR));
+                temp = Files.createTempFile(dir, "schema-", ".tmp", PosixFilePermissions.asFileAttribute(OWNER_FILE));
+            } else {
+                Files.createDirectories(dir);
+                temp = Files.createTempFile(dir, "schema-", ".tmp");
+            }
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            logger.info("스키마 스냅샷 저장: {} ({}개 테이블, {} bytes)", file, snapshot.getTables().size(), bytes.length);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("스키마 스냅샷 저장 실패: {} ({})", file, e.getMessage());
+        }
+    }
+
+    static byte[] encode(SchemaSnapshot snapshot, Map<String, String> fingerprints) throws IOException {
+        List<TableInfo> tables = snapshot.getTables();
+
+        // 본문을 먼저 만들어 테이블별 위치를 구함
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+        int[] offsets = new int[tables.size()];
+        for (int i = 0; i < tables.size(); i++) {
+            offsets[i] = body.size();
+            writeTable(body, snapshot.getDescriptions().get(tables.get(i).getName()));
+        }
+        body.flush();
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MappedSchemaSnapshot.MAGIC);
+        header.writeInt(MappedSchemaSnapshot.VERSION);
+        header.writeLong(snapshot.getLoadedAt());
+        writeString(header, snapshot.getSchema());
+        header.writeInt(fingerprints.size());
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            writeString(header, entry.getKey());
+            writeString(header, entry.getValue());
+        }
+        header.writeInt(tables.size());
+        for (int i = 0; i < tables.size(); i++) {
+            writeString(header, tables.get(i).getName());
+            writeString(header, tables.get(i).getType());
+            writeString(header, tables.get(i).getComment());
+            header.writeInt(offsets[i]);
+        }
+        header.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(headerBytes.size() + bodyBytes.size());
+        headerBytes.writeTo(out);
+        bodyBytes.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeTable(DataOutputStream out, Map<String, Object> description) throws IOException {
+        List<ColumnInfo> columns = description != null ? (List<ColumnInfo>) description.get("columns") : List.of();
+        out.writeInt(columns.size());
+        for (ColumnInfo column : columns) {
+            writeString(out, column.getName());
+            writeString(out, column.getType());
+            out.writeByte(column.isNullable() ? 1 : 0);
+            writeString(out, column.getComment());
+        }
+
+        List<String> primaryKey = description != null ? (List<String>) description.get("primaryKey") : List.of();
+        out.writeInt(primaryKey.size());
+        for (String column : primaryKey) {
+            writeString(out, column);
+        }
+
+        List<Map<String, Object>> indexes = description != null
+            ? (List<Map<String, Object>>) description.get("indexes") : List.of();
+        out.writeInt(indexes.size());
+        for (Map<String, Object> index : indexes) {
+            writeString(out, (String) index.get("name"));
+            out.writeByte(Boolean.TRUE.equals(index.get("unique")) ? 1 : 0);
+            List<String> keys = (List<String>) index.get("columns");
+            out.writeInt(keys.size());
+            for (String key : keys) {
+                writeString(out, key);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                sb.append(String.format("%02x", digest[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.cubrid.mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 같은 키의 요청이 동시에 들어오면 한 번만 실행하고 결과를 함께 돌려줍니다.
+ * 먼저 들어온 요청(리더)이 실행하는 동안 뒤따른 요청은 그 결과(또는 예외)를 기다립니다.
+ * 리더가 자기 요청의 취소로 실패하면 기다리던 요청 중 하나가 다시 실행합니다.
+ * 기다리는 요청은 리더의 future와 자기 요청의 취소 future 중 먼저 완료되는 쪽에서 깨어납니다.
+ * 결과 객체는 공유되므로 호출자는 수정하지 않아야 합니다.
+ */
+@Component
+public class SingleFlight implements CacheStatsProvider {
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final boolean enabled;
+    private final Map<String, Call> calls = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @Autowired
+    public SingleFlight(@Value("${mcp.dispatch.coalesce:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 키에 해당하는 작업을 실행하거나, 이미 실행 중이면 그 결과를 기다립니다.
+     *
+     * @param key 작업 종류를 포함한 키 (예: "describe|" + 테이블명)
+     */
+    @SuppressWarnings("unchecked")
+    public <V, E extends Exception> V execute(String key, Loader<V, E> loader) throws E {
+        if (!enabled) {
+            return loader.load();
+        }
+        RequestContext context = RequestContext.current();
+        while (true) {
+            Call call = new Call();
+            Call existing = calls.putIfAbsent(key, call);
+            if (existing == null) {
+                return lead(key, call, loader, context);
+            }
+
+            coalesced.incrementAndGet();
+            logger.debug("동일 요청 실행 중: 결과를 공유합니다 ({})", key);
+            try {
+                return (V) await(existing, context);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof LeaderCancelledException) {
+                    // 리더 쪽 요청만 취소된 것이므로 다시 시도
+                    continue;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw (E) cause;
+            }
+        }
+    }
+
+    private <V, E extends Exception> V lead(String key, Call call, Loader<V, E> loader, RequestContext context)
+            throws E {
+        executions.incrementAndGet();
+        try {
+            V value = loader.load();
+            call.future.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            if (context != null && context.isCancelled()) {
+                call.future.completeExceptionally(new LeaderCancelledException());
+            } else {
+                call.future.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * 리더의 결과나 자기 요청의 취소 중 먼저 오는 쪽을 기다립니다 (둘 다 future 완료로 깨어나므로 폴링하지 않음).
+     */
+    private Object await(Call call, RequestContext context) throws ExecutionException {
+        try {
+            if (context != null) {
+                try {
+                    CompletableFuture.anyOf(call.future, context.cancellation()).get();
+                } catch (ExecutionException e) {
+                    // 리더의 예외는 아래 call.future.get()에서 다시 받음
+                }
+                if (!call.future.isDone()) {
+                    throw new CancellationException("요청이 취소되었습니다: " + context.getCancelReason());
+                }
+            }
+            return call.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("대기 중 인터럽트되었습니다.");
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return "coalescing";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("inFlight", calls.size());
+        stats.put("executions", executions.get());
+        stats.put("coalesced", coalesced.get());
+        return stats;
+    }
+
+    /**
+     * 실행할 작업
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    private static final class Call {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+    }
+
+    /**
+     * 리더의 요청이 취소되어 결과가 없음을 기다리는 요청에 알립니다.
+     */
+    private static final class LeaderCancelledException extends Exception {
+        private LeaderCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.policy.SqlLexer;
+import com.cubrid.mcp.policy.SqlPolicy;
+import com.cubrid.mcp.policy.SqlStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 정책 검사를 통과한 SQL의 파싱 결과와 스키마 접두사를 붙인 SQL을 보관하는 LRU 캐시입니다.
+ * 같은 SQL 원문을 반복 실행하면 토큰 분리, 검사, 재작성을 다시 하지 않습니다.
+ * query.auto-parameterize를 켜면 비교 대상 리터럴을 바인딩 변수로 바꿔, 값만 다른 쿼리가
+ * CUBRID 브로커에서 같은 문장(같은 실행 계획)으로 처리되게 합니다.
+ * 정책을 위반한 SQL과 maxSqlLength보다 긴 SQL(일회성 대량 쿼리가 캐시를 밀어내지 않도록)은 저장하지 않습니다.
+ */
+@Component
+public class SqlStatementCache implements CacheStatsProvider {
+    private final SqlPolicy sqlPolicy;
+    private final Map<String, Prepared> statements;
+    private final int capacity;
+    private final int maxSqlLength;
+    private final boolean autoParameterize;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public SqlStatementCache(SqlPolicy sqlPolicy,
+                             @Value("${query.statement-cache-size:512}") int maxEntries,
+                             @Value("${query.statement-cache-max-sql-length:8192}") int maxSqlLength,
+                             @Value("${query.auto-parameterize:false}") boolean autoParameterize) {
+        this.sqlPolicy = sqlPolicy;
+        this.maxSqlLength = maxSqlLength;
+        this.autoParameterize = autoParameterize;
+        int capacity = Math.max(0, maxEntries);
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Prepared> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * SQL을 검사하고 실행할 형태로 준비합니다. 같은 원문을 이미 검사했으면 저장된 결과를 반환합니다.
+     *
+     * @throws SqlPolicy.PolicyViolationException 정책 위반 시
+     */
+    public Prepared prepare(String sql) throws SqlPolicy.PolicyViolationException {
+        // 허용 스키마는 시작할 때 정해지므로 캐시 키는 SQL 원문만으로 충분
+        boolean cacheable = capacity > 0 && sql != null && sql.length() <= maxSqlLength;
+        if (cacheable) {
+            synchronized (statements) {
+                Prepared prepared = statements.get(sql);
+                if (prepared != null) {
+                    hits.incrementAndGet();
+                    return prepared;
+                }
+            }
+        }
+        misses.incrementAndGet();
+
+        // 검사와 재작성은 잠금 밖에서 (같은 SQL이 동시에 들어오면 결과가 같으므로 나중 것으로 덮어씀)
+        SqlStatement statement = sqlPolicy.prepare(sql);
+        int[] literals = autoParameterize ? statement.liftableLiterals() : new int[0];
+        String rewritten = statement.rewrite(sqlPolicy.getAllowedSchema(), literals);
+        // LIMIT 위치 뒤(세미콜론, 주석)는 재작성하지 않으므로 끝에서부터의 거리가 같음
+        int limitPosition = statement.limitPosition();
+        if (limitPosition >= 0) {
+            limitPosition = rewritten.length() - (sql.length() - limitPosition);
+        }
+        Prepared prepared = new Prepared(statement, rewritten, limitPosition, statement.fingerprint(),
+            literals.length == 0 ? null : bindSlots(statement, literals));
+        if (cacheable) {
+            synchronized (statements) {
+                statements.put(sql, prepared);
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * 재작성한 SQL의 바인딩 변수 순서대로, 원래 있던 ?는 PARAM, 바꾼 리터럴은 그 값
+     */
+    private static Object[] bindSlots(SqlStatement statement, int[] literals) {
+        SqlLexer.Tokens tokens = statement.getTokens();
+        Object[] slots = new Object[statement.getParameterCount() + literals.length];
+        int count = 0;
+        int l = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (l < literals.length && literals[l] == i) {
+                slots[count++] = statement.literalValue(literals[l++]);
+            } else if (tokens.type(i) == SqlLexer.PARAM) {
+                slots[count++] = PARAM;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * 캐시된 항목을 모두 버립니다.
+     */
+    public void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return "sqlStatements";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", size());
+        stats.put("maxEntries", capacity);
+        stats.put("maxSqlLength", maxSqlLength);
+        stats.put("autoParameterize", autoParameterize);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    // 바인딩 슬롯 중 요청의 params로 채울 자리
+    private static final Object PARAM = new Object();
+
+    /**
+     * 검사를 통과한 SQL. 변경하지 않으므로 여러 요청이 함께 사용합니다.
+     */
+    public static final class Prepared {
+        private final SqlStatement statement;
+        private final String sql;
+        // 최상위 쿼리 끝에 LIMIT ?를 붙인 SQL (붙일 수 없으면 null)
+        private final String limitedSql;
+        private final String fingerprint;
+        // 공백과 주석을 뺀 원문 (SqlStatement#canonical)
+        private final String key;
+        // 리터럴을 바인딩 변수로 바꿨으면 바인딩 순서대로의 값 (PARAM은 요청 params 자리), 아니면 null
+        private final Object[] slots;
+
+        private Prepared(SqlStatement statement, String sql, int limitPosition, String fingerprint, Object[] slots) {
+            this.statement = statement;
+            this.sql = sql;
+            this.limitedSql = limitPosition < 0 ? null : new StringBuilder(sql.length() + 8)
+                .append(sql, 0, limitPosition)
+                .append(" LIMIT ?")
+                .append(sql, limitPosition, sql.length())
+                .toString();
+            this.fingerprint = fingerprint;
+            this.key = statement.canonical();
+            this.slots = slots;
+        }
+
+        /**
+         * 요청 원문을 파싱한 구조
+         */
+        public SqlStatement getStatement() {
+            return statement;
+        }
+
+        /**
+         * 허용 스키마를 붙인 (자동 매개변수화를 켰으면 리터럴을 ?로 바꾼), 실제로 실행할 SQL
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * 최상위 쿼리 끝에 LIMIT ?를 붙일 수 있는지.
+         * 쿼리에 이미 LIMIT가 있거나 붙일 수 없는 형태(UNION, FOR 절 등)면 false입니다.
+         */
+        public boolean isLimitable() {
+            return limitedSql != null;
+        }
+
+        /**
+         * 최상위 쿼리 끝에 LIMIT ?를 붙인 SQL. 행 수는 bindValues(params, limit)의 마지막 값으로 바인딩하므로
+         * 행 수 제한이 달라도 SQL이 같아 CUBRID 브로커가 같은 문장으로 처리합니다.
+         *
+         * @return LIMIT를 붙인 SQL (isLimitable()이 false면 getSql()과 같음)
+         */
+        public String getLimitedSql() {
+            return limitedSql != null ? limitedSql : sql;
+        }
+
+        /**
+         * 실행할 SQL의 바인딩 변수에 넣을 값을 순서대로 반환합니다.
+         * 요청 params는 원래 SQL의 ? 자리에, 자동으로 바꾼 리터럴은 원래 값으로 채웁니다.
+         *
+         * @param params 요청의 위치 기반 바인딩 값
+         * @throws IllegalArgumentException params 수가 SQL의 ? 수와 다른 경우
+         */
+        public List<Object> bindValues(List<?> params) {
+            return bindValues(params, 0);
+        }
+
+        /**
+         * getLimitedSql()로 실행할 때의 바인딩 값. LIMIT ?는 최상위 쿼리 끝에 있으므로 행 수가 마지막 값입니다.
+         *
+         * @param limit LIMIT ?에 넣을 행 수 (0 이하이거나 isLimitable()이 false면 넣지 않음)
+         * @throws IllegalArgumentException params 수가 SQL의 ? 수와 다른 경우
+         */
+        public List<Object> bindValues(List<?> params, long limit) {
+            if (params.size() != statement.getParameterCount()) {
+                throw new IllegalArgumentException(String.format(
+                    "SQL의 바인딩 변수(?)는 %d개인데 params는 %d개입니다.", statement.getParameterCount(), params.size()));
+            }
+            List<Object> values = new ArrayList<>((slots == null ? params.size() : slots.length) + 1);
+            if (slots == null) {
+                values.addAll(params);
+            } else {
+                int next = 0;
+                for (Object slot : slots) {
+                    values.add(slot == PARAM ? params.get(next++) : slot);
+                }
+            }
+            if (limit > 0 && limitedSql != null) {
+                values.add(limit);
+            }
+            return values;
+        }
+
+        /**
+         * 리터럴 값을 뺀 문장 형태 (SqlStatement#fingerprint)
+         */
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * 공백과 주석만 다른 SQL끼리 같은 값 (SqlStatement#canonical). 결과 캐시와 동시 요청 합치기의 키입니다.
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+}
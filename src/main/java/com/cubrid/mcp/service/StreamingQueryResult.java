@@ -0,0 +1,208 @@
+package com.cubrid.mcp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 열린 ResultSet을 응답 직렬화 시점에 JsonGenerator로 바로 써 내려가는 db.query 결과입니다.
+ * 행을 객체 List로 모으지 않고 직렬화된 바이트로만 응답 버퍼(ResponseBuffer)에 쓰므로
+ * 힙 사용량은 응답 버퍼의 상한(넘치면 출력에 바로 씀)으로 제한되며, maxBytes는 실제로 출력된 바이트 수를 기준으로 적용됩니다.
+ * 출력 형식은 QueryResult와 같습니다 (json 행 배열, 또는 csv/tsv/ndjson 텍스트).
+ * 직렬화가 끝나거나 응답이 버려지면 커넥션을 반환합니다.
+ */
+public class StreamingQueryResult implements JsonSerializable, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingQueryResult.class);
+
+    private final Connection conn;
+    private final Statement stmt;
+    private final ResultSet rs;
+    private final ResultPlan plan;
+    private final int maxRows;
+    private final long maxBytes;
+    private final QueryWatchdog.Watch watch;
+    private final RequestContext context;
+    private final ResultFormat format;
+    // 첫 행 존재 여부를 확인하려고 rs.next()를 이미 호출했으면 true
+    private boolean rowPending;
+    private boolean closed;
+    private int rowCount;
+    private boolean truncated;
+    private String error;
+
+    StreamingQueryResult(Connection conn, Statement stmt, ResultSet rs, ResultPlan plan, boolean rowPending,
+                         int maxRows, long maxBytes, QueryWatchdog.Watch watch, RequestContext context,
+                         ResultFormat format) {
+        this.conn = conn;
+        this.stmt = stmt;
+        this.rs = rs;
+        this.plan = plan;
+        this.rowPending = rowPending;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.watch = watch;
+        this.context = context;
+        this.format = format;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        try {
+            gen.writeStartObject();
+            gen.writeFieldName("columns");
+            provider.defaultSerializeValue(plan.getColumns(), gen);
+
+            if (format == ResultFormat.JSON) {
+                writeRows(gen, provider);
+            } else {
+                writeText(gen);
+            }
+
+            gen.writeNumberField("rowCount", rowCount);
+            gen.writeBooleanField("truncated", truncated);
+            gen.writeNumberField("elapsedMs", watch.elapsedMs());
+            gen.writeBooleanField("timedOut", watch.isFired());
+            if (error != null) {
+                gen.writeStringField("error", error);
+            }
+            gen.writeEndObject();
+            logger.debug("쿼리 결과 스트리밍 완료: {}ms, {}행, truncated={}", watch.elapsedMs(), rowCount, truncated);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * rows 배열을 씁니다 (format: json). maxBytes는 실제 출력된 바이트 수 기준이며,
+     * 넘치는 행은 써 둔 바이트를 되돌려 내보내지 않습니다 (첫 행 하나가 제한보다 큰 경우만 그 행을 포함).
+     */
+    private void writeRows(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeArrayFieldStart("rows");
+        int columnCount = plan.getColumnCount();
+        long start = position(gen);
+        long estimatedBytes = 0;
+        try {
+            while (rowPending || rs.next()) {
+                rowPending = false;
+                if (maxRows > 0 && rowCount >= maxRows) {
+                    truncated = true;
+                    break;
+                }
+
+                long rowStart = start >= 0 ? position(gen) : -1;
+                pin(gen, rowStart);
+                gen.writeStartArray();
+                for (int i = 1; i <= columnCount; i++) {
+                    ColumnExtractor extractor = plan.extractor(i);
+                    if (start >= 0) {
+                        extractor.write(rs, i, gen, provider);
+                    } else {
+                        // 출력 바이트를 셀 수 없는 대상이면 값을 읽어 크기를 계산
+                        Object value = extractor.read(rs, i);
+                        provider.defaultSerializeValue(value, gen);
+                        estimatedBytes += extractor.sizeOf(value) + 1;
+                    }
+                }
+                gen.writeEndArray();
+
+                long written = start >= 0 ? position(gen) - start : estimatedBytes;
+                if (maxBytes > 0 && written > maxBytes) {
+                    truncated = true;
+                    if (rowCount > 0 && rollback(gen, rowStart)) {
+                        logger.warn("결과 크기 제한 도달: {} bytes에서 중단 (제한: {} bytes)",
+                            rowStart - start, maxBytes);
+                        break;
+                    }
+                    rowCount++;
+                    logger.warn("결과 크기 제한 초과: {} bytes (제한: {} bytes)", written, maxBytes);
+                    break;
+                }
+                rowCount++;
+            }
+        } catch (SQLException e) {
+            // 이미 출력을 시작했으므로 오류 응답으로 바꿀 수 없음: 읽은 행까지 닫고 원인을 함께 기록
+            truncated = true;
+            error = watch.translate(e, context).getMessage();
+            logger.warn("행 스트리밍 중단: {}행까지 전송 ({})", rowCount, error);
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * csv/tsv/ndjson 텍스트를 ResultSet에서 읽는 대로 text 문자열 값으로 씁니다.
+     */
+    private void writeText(JsonGenerator gen) throws IOException {
+        gen.writeStringField("format", format.getName());
+        gen.writeFieldName("text");
+        TextRowReader reader = new TextRowReader(rs, new TextEncoder(format, plan), rowPending,
+            maxRows, maxBytes, watch, context);
+        gen.writeString(reader, -1);
+        rowCount = reader.getRowCount();
+        truncated = reader.isTruncated();
+        error = reader.getError();
+    }
+
+    /**
+     * 이번 행을 되돌릴 수 있도록 rowStart 이후의 바이트는 응답 버퍼가 먼저 내보내지 않게 합니다.
+     */
+    private static void pin(JsonGenerator gen, long rowStart) {
+        if (rowStart >= 0 && gen.getOutputTarget() instanceof ResponseBuffer) {
+            ((ResponseBuffer) gen.getOutputTarget()).pin(rowStart);
+        }
+    }
+
+    /**
+     * position이 rowStart였던 시점 이후에 쓴 바이트를 버립니다. 출력 대상이 응답 버퍼가 아니면 false.
+     * 생성기는 배열 요소를 하나 더 쓴 상태로 남지만, 바로 배열을 닫으므로 출력에는 영향이 없습니다.
+     */
+    private static boolean rollback(JsonGenerator gen, long rowStart) throws IOException {
+        if (rowStart < 0 || !(gen.getOutputTarget() instanceof ResponseBuffer)) {
+            return false;
+        }
+        gen.flush();
+        return ((ResponseBuffer) gen.getOutputTarget()).truncate(rowStart);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, provider);
+    }
+
+    /**
+     * 지금까지 출력된 바이트 수 (생성기 버퍼 포함). 출력 대상이 바이트 수를 셀 수 없으면 -1.
+     */
+    private static long position(JsonGenerator gen) {
+        Object target = gen.getOutputTarget();
+        int buffered = gen.getOutputBuffered();
+        if (target instanceof ResponseBuffer && buffered >= 0) {
+            return ((ResponseBuffer) target).size() + buffered;
+        }
+        return -1;
+    }
+
+    /**
+     * 워치독을 해제하고 ResultSet, Statement, 커넥션을 닫습니다. 여러 번 호출해도 안전합니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        watch.close();
+        if (context != null) {
+            context.detach();
+        }
+        CursorManager.closeQuietly(rs, stmt, conn);
+    }
+}
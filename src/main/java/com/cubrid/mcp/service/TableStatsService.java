@@ -0,0 +1,451 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.TableInfo;
+import com.cubrid.mcp.policy.SqlPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블 통계(예상 행 수, 페이지 수, 인덱스 카디널리티)를 조회합니다 (db.tableStats).
+ * COUNT(*)로 테이블을 읽지 않고 CUBRID가 관리하는 통계를 읽습니다.
+ * 힙 통계는 SHOW HEAP HEADER, 인덱스 통계는 SHOW INDEX에서 가져오며,
+ * SHOW 문을 쓸 수 없으면 DatabaseMetaData.getIndexInfo(approximate)의 통계 행으로 대신합니다.
+ * 결과는 테이블별로 TTL 동안 캐시하고, 캐시에 없는 테이블은 커넥션 하나로 한 번에 조회합니다.
+ */
+@Service
+public class TableStatsService implements CacheStatsProvider {
+    private static final Logger logger = LoggerFactory.getLogger(TableStatsService.class);
+
+    private final DataSource dataSource;
+    private final SqlPolicy sqlPolicy;
+    private final SchemaIntrospector schemaIntrospector;
+    private final QueryWatchdog watchdog;
+    private final long ttlMs;
+
+    // CUBRID 구문 오류 코드 (SHOW HEAP HEADER 등을 지원하지 않는 버전)
+    private static final int ER_SYNTAX = -493;
+
+    // 테이블명 -> 통계
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    // 서버가 SHOW 문을 지원하지 않으면(구문 오류) 이후로는 메타데이터 통계만 사용
+    private volatile boolean showSupported = true;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public TableStatsService(DataSource dataSource, SqlPolicy sqlPolicy, SchemaIntrospector schemaIntrospector,
+                             QueryWatchdog watchdog, @Value("${schema.stats.ttl-ms:300000}") long ttlMs) {
+        this.dataSource = dataSource;
+        this.sqlPolicy = sqlPolicy;
+        this.schemaIntrospector = schemaIntrospector;
+        this.watchdog = watchdog;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * 여러 테이블의 통계를 반환합니다. 캐시에 없거나 TTL이 지난 테이블만 DB에서 조회합니다.
+     *
+     * @param tableNames 테이블명 목록 (대소문자 무시)
+     * @return schema, tables(요청 순서), errors(찾을 수 없거나 조회에 실패한 테이블)
+     */
+    public Map<String, Object> getStats(List<String> tableNames) throws SQLException {
+        List<String> known = new ArrayList<>();
+        for (TableInfo table : schemaIntrospector.listTables("%", Integer.MAX_VALUE)) {
+            known.add(table.getName());
+        }
+
+        List<String> resolved = new ArrayList<>();
+        List<Map<String, Object>> errors = new ArrayList<>();
+        for (String name : tableNames) {
+            String table = JoinGraph.resolve(name, known);
+            if (table == null) {
+                errors.add(error(name, "테이블을 찾을 수 없습니다."));
+            } else if (!resolved.contains(table)) {
+                resolved.add(table);
+            }
+        }
+
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (String table : resolved) {
+            Entry entry = cache.get(table);
+            if (entry != null && now - entry.loadedAt <= ttlMs) {
+                hits.incrementAndGet();
+                stats.put(table, entry.stats);
+            } else {
+                misses.incrementAndGet();
+                missing.add(table);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing, stats, errors, sqlPolicy.getHardTimeoutMs());
+        }
+
+        List<Map<String, Object>> tables = new ArrayList<>();
+        for (String table : resolved) {
+            if (stats.containsKey(table)) {
+                tables.add(stats.get(table));
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("schema", sqlPolicy.getAllowedSchema());
+        result.put("tables", tables);
+        if (!errors.isEmpty()) {
+            result.put("errors", errors);
+        }
+        return result;
+    }
+
+    /**
+     * DB 왕복 없이 캐시에 있는 통계만 반환합니다 (없거나 만료되었으면 null).
+     * 반환된 맵은 다른 요청과 공유되므로 수정하지 않아야 합니다.
+     */
+    public Map<String, Object> cached(String tableName) {
+        Entry entry = cache.get(tableName);
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt > ttlMs) {
+            return null;
+        }
+        return entry.stats;
+    }
+
+    /**
+     * 테이블의 예상 행 수를 반환합니다. 캐시에 없으면 주어진 시간 안에서 통계를 읽습니다.
+     *
+     * @param tableName 스키마에 있는 테이블명 (확인된 이름)
+     * @param timeoutMs 통계 조회 타임아웃 밀리초
+     * @return 예상 행 수 (통계가 없거나 읽지 못했으면 null)
+     */
+    public Long rowsEstimate(String tableName, long timeoutMs) throws SQLException {
+        Map<String, Object> tableStats = cached(tableName);
+        if (tableStats == null) {
+            misses.incrementAndGet();
+            Map<String, Map<String, Object>> loaded = new LinkedHashMap<>();
+            load(List.of(tableName), loaded, new ArrayList<>(), timeoutMs);
+            tableStats = loaded.get(tableName);
+        } else {
+            hits.incrementAndGet();
+        }
+        return tableStats == null ? null : (Long) tableStats.get("rowsEstimate");
+    }
+
+    /**
+     * 테이블들의 통계를 커넥션 하나로 조회하여 캐시에 넣습니다.
+     */
+    private void load(List<String> tableNames, Map<String, Map<String, Object>> stats,
+                      List<Map<String, Object>> errors, long timeoutMs) throws SQLException {
+        RequestContext context = RequestContext.current();
+        long start = System.currentTimeMillis();
+
+        try (Connection conn = dataSource.getConnection()) {
+            for (String tableName : tableNames) {
+                if (context != null) {
+                    context.checkCancelled();
+                }
+                try {
+                    Map<String, Object> tableStats = loadTable(conn, tableName, timeoutMs, context);
+                    if (ttlMs > 0) {
+                        cache.put(tableName, new Entry(tableStats));
+                    }
+                    stats.put(tableName, tableStats);
+                } catch (SQLException e) {
+                    if (context != null) {
+                        context.checkCancelled();
+                    }
+                    logger.warn("테이블 통계 조회 실패: {} ({})", tableName, e.getMessage());
+                    errors.add(error(tableName, e.getMessage()));
+                }
+            }
+        }
+        logger.debug("테이블 통계 조회 완료: {}개 테이블 ({}ms)", tableNames.size(), System.currentTimeMillis() - start);
+    }
+
+    private Map<String, Object> loadTable(Connection conn, String tableName, long timeoutMs,
+                                          RequestContext context) throws SQLException {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("table", tableName);
+
+        List<Map<String, Object>> indexes = null;
+        if (showSupported) {
+            try {
+                readHeapHeader(conn, tableName, timeoutMs, context, stats);
+                indexes = readShowIndex(conn, tableName, timeoutMs, context);
+                stats.put("source", "show");
+            } catch (SQLException e) {
+                if (context != null) {
+                    context.checkCancelled();
+                }
+                stats.keySet().retainAll(List.of("table"));
+                if (isUnsupported(e)) {
+                    showSupported = false;
+                    logger.info("SHOW 문을 지원하지 않아 메타데이터 통계를 사용합니다: {}", e.getMessage());
+                } else {
+                    // 권한, 잠금, 타임아웃 등은 이 테이블만 메타데이터 통계로 대신
+                    logger.warn("SHOW 문으로 통계를 읽지 못해 메타데이터 통계를 사용합니다: {} ({})",
+                        tableName, e.getMessage());
+                }
+            }
+        }
+        if (indexes == null) {
+            indexes = readIndexInfo(conn.getMetaData(), tableName, stats);
+            stats.put("source", "metadata");
+        }
+        stats.put("indexes", indexes);
+        stats.put("collectedAt", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * SHOW HEAP HEADER의 예상 값(Estimates_*)을 읽습니다.
+     */
+    private void readHeapHeader(Connection conn, String tableName, long timeoutMs, RequestContext context,
+                                Map<String, Object> stats) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setQueryTimeout(QueryExecutor.backstopTimeoutSeconds(timeoutMs));
+            if (context != null) {
+                context.attach(stmt);
+            }
+            try (QueryWatchdog.Watch watch = watchdog.watch(stmt, timeoutMs)) {
+                try (ResultSet rs = stmt.executeQuery("SHOW HEAP HEADER OF " + qualified(tableName))) {
+                    if (rs.next()) {
+                        putLong(stats, "rowsEstimate", rs, "Estimates_num_recs");
+                        putLong(stats, "pages", rs, "Estimates_num_pages");
+                        putLong(stats, "avgRowLength", rs, "Estimates_avg_rec_len");
+                    }
+                } catch (SQLException e) {
+                    throw watch.translate(e, context);
+                }
+            } finally {
+                if (context != null) {
+                    context.detach();
+                }
+            }
+        }
+    }
+
+    /**
+     * SHOW INDEX의 키별 카디널리티를 인덱스 단위로 묶습니다.
+     * Cardinality는 첫 컬럼부터 그 컬럼까지의 서로 다른 키 수이므로 마지막 값이 인덱스 전체의 카디널리티입니다.
+     */
+    private List<Map<String, Object>> readShowIndex(Connection conn, String tableName, long timeoutMs,
+                                                    RequestContext context) throws SQLException {
+        Map<String, Map<String, Object>> byName = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setQueryTimeout(QueryExecutor.backstopTimeoutSeconds(timeoutMs));
+            if (context != null) {
+                context.attach(stmt);
+            }
+            try (QueryWatchdog.Watch watch = watchdog.watch(stmt, timeoutMs)) {
+                try (ResultSet rs = stmt.executeQuery("SHOW INDEX FROM " + qualified(tableName))) {
+                    while (rs.next()) {
+                        Map<String, Object> index = byName.computeIfAbsent(rs.getString("Key_name"), name -> {
+                            Map<String, Object> info = new LinkedHashMap<>();
+                            info.put("name", name);
+                            info.put("columns", new ArrayList<String>());
+                            info.put("prefixCardinality", new ArrayList<Long>());
+                            return info;
+                        });
+                        index.put("unique", rs.getInt("Non_unique") == 0);
+                        int pos = Math.max(0, rs.getInt("Seq_in_index") - 1);
+                        setAt(columnsOf(index), pos, rs.getString("Column_name"));
+                        long cardinality = rs.getLong("Cardinality");
+                        setAt(prefixCardinalityOf(index), pos, rs.wasNull() ? null : cardinality);
+                    }
+                } catch (SQLException e) {
+                    throw watch.translate(e, context);
+                }
+            } finally {
+                if (context != null) {
+                    context.detach();
+                }
+            }
+        }
+
+        List<Map<String, Object>> indexes = new ArrayList<>();
+        for (Map<String, Object> index : byName.values()) {
+            List<Long> prefix = prefixCardinalityOf(index);
+            Long full = prefix.isEmpty() ? null : prefix.get(prefix.size() - 1);
+            if (full != null) {
+                index.put("cardinality", full);
+            }
+            if (prefix.size() < 2) {
+                // 단일 컬럼 인덱스는 cardinality와 같으므로 생략
+                index.remove("prefixCardinality");
+            }
+            indexes.add(index);
+        }
+        return indexes;
+    }
+
+    /**
+     * DatabaseMetaData.getIndexInfo(approximate=true)의 통계로 대신합니다.
+     * tableIndexStatistic 행은 테이블 행 수/페이지 수, 나머지 행은 인덱스별 카디널리티입니다.
+     */
+    private List<Map<String, Object>> readIndexInfo(DatabaseMetaData metaData, String tableName,
+                                                    Map<String, Object> stats) throws SQLException {
+        Map<String, Map<String, Object>> byName = new LinkedHashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, sqlPolicy.getAllowedSchema(), tableName, false, true)) {
+            while (rs.next()) {
+                long cardinality = rs.getLong("CARDINALITY");
+                boolean hasCardinality = !rs.wasNull();
+                long pages = rs.getLong("PAGES");
+                boolean hasPages = !rs.wasNull();
+                String indexName = rs.getString("INDEX_NAME");
+                if (rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic || indexName == null) {
+                    if (hasCardinality) {
+                        stats.put("rowsEstimate", cardinality);
+                    }
+                    if (hasPages) {
+                        stats.put("pages", pages);
+                    }
+                    continue;
+                }
+                Map<String, Object> index = byName.computeIfAbsent(indexName, name -> {
+                    Map<String, Object> info = new LinkedHashMap<>();
+                    info.put("name", name);
+                    info.put("columns", new ArrayList<String>());
+                    return info;
+                });
+                index.put("unique", !rs.getBoolean("NON_UNIQUE"));
+                setAt(columnsOf(index), Math.max(0, rs.getShort("ORDINAL_POSITION") - 1), rs.getString("COLUMN_NAME"));
+                if (hasCardinality) {
+                    index.put("cardinality", cardinality);
+                }
+                if (hasPages) {
+                    index.put("pages", pages);
+                }
+            }
+        }
+        return new ArrayList<>(byName.values());
+    }
+
+    /**
+     * 통계 캐시를 비웁니다.
+     *
+     * @param tableName 비울 테이블 (null이면 전체)
+     * @return 비운 항목 수
+     */
+    public int invalidate(String tableName) {
+        if (tableName == null) {
+            int count = cache.size();
+            cache.clear();
+            return count;
+        }
+        int count = 0;
+        for (String table : cache.keySet()) {
+            if (table.equalsIgnoreCase(tableName) && cache.remove(table) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String getCacheName() {
+        return "tableStats";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tables", cache.size());
+        stats.put("ttlMs", ttlMs);
+        stats.put("source", showSupported ? "show" : "metadata");
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    /**
+     * SHOW 문에는 바인딩 변수를 쓸 수 없으므로 식별자를 따옴표로 감쌉니다.
+     * 테이블명은 스키마에 실제로 있는 이름으로 확인한 뒤에만 넘어옵니다.
+     */
+    static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * 허용 스키마를 붙인 테이블명 (readIndexInfo의 getIndexInfo와 같은 스키마를 조회)
+     */
+    private String qualified(String tableName) {
+        return quote(sqlPolicy.getAllowedSchema()) + "." + quote(tableName);
+    }
+
+    /**
+     * 서버가 SHOW 문 자체를 지원하지 않는 오류인지 (구문 오류, 지원하지 않는 기능).
+     * 권한이나 타임아웃 같은 다른 오류는 해당 테이블에만 해당하므로 false입니다.
+     */
+    static boolean isUnsupported(SQLException e) {
+        if (e instanceof SQLFeatureNotSupportedException || e.getErrorCode() == ER_SYNTAX) {
+            return true;
+        }
+        String state = e.getSQLState();
+        return state != null && state.startsWith("0A");
+    }
+
+    private static void putLong(Map<String, Object> stats, String key, ResultSet rs, String column)
+            throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (metaData.getColumnLabel(i).equalsIgnoreCase(column)) {
+                long value = rs.getLong(i);
+                if (!rs.wasNull()) {
+                    stats.put(key, value);
+                }
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> columnsOf(Map<String, Object> index) {
+        return (List<String>) index.get("columns");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> prefixCardinalityOf(Map<String, Object> index) {
+        return (List<Long>) index.get("prefixCardinality");
+    }
+
+    private static <T> void setAt(List<T> list, int pos, T value) {
+        while (list.size() <= pos) {
+            list.add(null);
+        }
+        list.set(pos, value);
+    }
+
+    private static Map<String, Object> error(String table, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("table", table);
+        error.put("error", message);
+        return error;
+    }
+
+    private static final class Entry {
+        private final Map<String, Object> stats;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Entry(Map<String, Object> stats) {
+            this.stats = stats;
+        }
+    }
+}
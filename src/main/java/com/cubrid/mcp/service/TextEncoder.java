@@ -0,0 +1,263 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 행을 csv / tsv / ndjson 텍스트 한 줄로 인코딩합니다.
+ * 숫자 컬럼은 기본형 getter로 읽어 바로 덧붙이고, 줄 버퍼는 재사용하므로 행마다 할당이 거의 없습니다.
+ * <ul>
+ *   <li>csv: RFC 4180 따옴표 규칙. NULL은 빈 필드, 빈 문자열은 ""</li>
+ *   <li>tsv: 탭/줄바꿈/역슬래시를 \t, \n, \\로 이스케이프. NULL은 \N</li>
+ *   <li>ndjson: 행마다 컬럼 이름을 키로 하는 JSON 객체 한 줄 (값 표현은 json 형식과 같음)</li>
+ * </ul>
+ * 줄 끝은 모두 \n 입니다.
+ */
+final class TextEncoder {
+    private final ResultFormat format;
+    private final ResultPlan plan;
+    // ndjson 키 ("name":) 는 미리 만들어 둠
+    private final String[] jsonKeys;
+
+    TextEncoder(ResultFormat format, ResultPlan plan) {
+        this.format = format;
+        this.plan = plan;
+        List<ColumnInfo> columns = plan.getColumns();
+        if (format == ResultFormat.NDJSON) {
+            jsonKeys = new String[columns.size()];
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < jsonKeys.length; i++) {
+                key.setLength(0);
+                appendJsonString(columns.get(i).getName(), key);
+                jsonKeys[i] = key.append(':').toString();
+            }
+        } else {
+            jsonKeys = null;
+        }
+    }
+
+    /**
+     * 헤더 줄을 덧붙입니다 (csv/tsv는 컬럼 이름, ndjson은 없음).
+     */
+    void appendHeader(StringBuilder out) {
+        if (format == ResultFormat.NDJSON) {
+            return;
+        }
+        List<ColumnInfo> columns = plan.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.append(separator());
+            }
+            appendText(columns.get(i).getName(), out);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * 현재 행을 한 줄로 덧붙입니다.
+     */
+    void appendRow(ResultSet rs, StringBuilder out) throws SQLException {
+        int columnCount = plan.getColumnCount();
+        boolean json = format == ResultFormat.NDJSON;
+        if (json) {
+            out.append('{');
+        }
+        for (int i = 1; i <= columnCount; i++) {
+            if (i > 1) {
+                out.append(json ? ',' : separator());
+            }
+            if (json) {
+                out.append(jsonKeys[i - 1]);
+            }
+            appendValue(rs, i, plan.extractor(i), out);
+        }
+        if (json) {
+            out.append('}');
+        }
+        out.append('\n');
+    }
+
+    private char separator() {
+        return format == ResultFormat.TSV ? '\t' : ',';
+    }
+
+    private void appendValue(ResultSet rs, int index, ColumnExtractor extractor, StringBuilder out)
+            throws SQLException {
+        switch (extractor) {
+            case INT: {
+                int v = rs.getInt(index);
+                if (rs.wasNull()) {
+                    appendNull(out);
+                } else {
+                    out.append(v);
+                }
+                return;
+            }
+            case LONG: {
+                long v = rs.getLong(index);
+                if (rs.wasNull()) {
+                    appendNull(out);
+                } else {
+                    out.append(v);
+                }
+                return;
+            }
+            case FLOAT: {
+                float v = rs.getFloat(index);
+                if (rs.wasNull()) {
+                    appendNull(out);
+                } else {
+                    out.append(v);
+                }
+                return;
+            }
+            case DOUBLE: {
+                double v = rs.getDouble(index);
+                if (rs.wasNull()) {
+                    appendNull(out);
+                } else {
+                    out.append(v);
+                }
+                return;
+            }
+            default:
+                break;
+        }
+
+        Object value = extractor.read(rs, index);
+        if (value == null) {
+            appendNull(out);
+        } else if (value instanceof BigDecimal) {
+            out.append(value);
+        } else if (value instanceof byte[]) {
+            appendText(Base64.getEncoder().encodeToString((byte[]) value), out);
+        } else if (format == ResultFormat.NDJSON && value instanceof java.util.Date
+                && !(value instanceof java.sql.Time)) {
+            // json 형식과 같이 Date/Timestamp는 epoch 밀리초
+            out.append(((java.util.Date) value).getTime());
+        } else if (format == ResultFormat.NDJSON && value instanceof Number) {
+            out.append(value);
+        } else if (format == ResultFormat.NDJSON && value instanceof Boolean) {
+            out.append(((Boolean) value).booleanValue());
+        } else {
+            // 문자열, 날짜/시간(csv/tsv는 DB 표기 그대로) 등
+            appendText(value.toString(), out);
+        }
+    }
+
+    private void appendNull(StringBuilder out) {
+        if (format == ResultFormat.NDJSON) {
+            out.append("null");
+        } else if (format == ResultFormat.TSV) {
+            out.append("\\N");
+        }
+        // csv: 빈 필드
+    }
+
+    private void appendText(String s, StringBuilder out) {
+        switch (format) {
+            case CSV:
+                appendCsv(s, out);
+                break;
+            case TSV:
+                appendTsv(s, out);
+                break;
+            default:
+                appendJsonString(s, out);
+                break;
+        }
+    }
+
+    private static void appendCsv(String s, StringBuilder out) {
+        boolean quote = s.isEmpty();
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(s);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    private static void appendTsv(String s, StringBuilder out) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\t': out.append("\\t"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\\': out.append("\\\\"); break;
+                default: out.append(c); break;
+            }
+        }
+    }
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    static void appendJsonString(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                case '\b': out.append("\\b"); break;
+                case '\f': out.append("\\f"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                    break;
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * 문자열 일부를 JSON 문자열 값으로 이스케이프했을 때의 UTF-8 바이트 수 (앞뒤 따옴표 제외).
+     * csv/tsv/ndjson 텍스트는 응답의 text 필드에 JSON 문자열로 들어가므로 maxBytes는 이 값으로 셉니다.
+     * Jackson 기본 설정과 같이 ", 역슬래시, 제어 문자, 서로게이트만 이스케이프하고 나머지 비ASCII 문자는 그대로 둡니다.
+     */
+    static long jsonLength(CharSequence s, int from, int to) {
+        long size = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x20) {
+                // \n 같은 짧은 이스케이프는 2바이트, 나머지 제어 문자는 6바이트 유니코드 이스케이프
+                size += c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f' ? 2 : 6;
+            } else if (c == '"' || c == '\\') {
+                size += 2;
+            } else if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isSurrogate(c)) {
+                // Jackson은 서로게이트 쌍도 UTF-8 4바이트가 아니라 char마다 6바이트 유니코드 이스케이프로 씀
+                size += 6;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+}
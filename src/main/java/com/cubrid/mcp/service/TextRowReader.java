@@ -0,0 +1,130 @@
+package com.cubrid.mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * ResultSet의 행을 필요할 때마다 한 줄씩 텍스트로 인코딩해 내주는 Reader입니다.
+ * JsonGenerator.writeString(Reader, -1)에 넘겨 csv/tsv/ndjson 결과를 모으지 않고 스트리밍합니다.
+ * maxBytes는 텍스트를 JSON 문자열로 이스케이프한 뒤의 UTF-8 바이트 수에 정확히 적용되며, 넘치는 행은 내보내지 않습니다
+ * (첫 행 하나가 제한보다 큰 경우만 그 행을 포함).
+ * 행을 읽다 실패하면 예외 대신 그때까지의 텍스트로 끝내고 원인을 getError()로 전달합니다.
+ */
+final class TextRowReader extends Reader {
+    private static final Logger logger = LoggerFactory.getLogger(TextRowReader.class);
+
+    private final ResultSet rs;
+    private final TextEncoder encoder;
+    private final int maxRows;
+    private final long maxBytes;
+    private final QueryWatchdog.Watch watch;
+    private final RequestContext context;
+
+    // 아직 내보내지 않은 줄 (재사용)
+    private final StringBuilder line = new StringBuilder(256);
+    private int position;
+    private boolean rowPending;
+    private boolean headerWritten;
+    private boolean done;
+
+    private long bytes;
+    private int rowCount;
+    private boolean truncated;
+    private String error;
+
+    TextRowReader(ResultSet rs, TextEncoder encoder, boolean rowPending, int maxRows, long maxBytes,
+                  QueryWatchdog.Watch watch, RequestContext context) {
+        this.rs = rs;
+        this.encoder = encoder;
+        this.rowPending = rowPending;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.watch = watch;
+        this.context = context;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        while (position >= line.length()) {
+            if (done) {
+                return -1;
+            }
+            line.setLength(0);
+            position = 0;
+            nextLine();
+        }
+        int n = Math.min(length, line.length() - position);
+        line.getChars(position, position + n, buffer, offset);
+        position += n;
+        return n;
+    }
+
+    /**
+     * 다음 줄(헤더 또는 행)을 line에 채웁니다. 더 내보낼 줄이 없으면 done을 설정합니다.
+     */
+    private void nextLine() {
+        if (!headerWritten) {
+            headerWritten = true;
+            encoder.appendHeader(line);
+            bytes += TextEncoder.jsonLength(line, 0, line.length());
+            return;
+        }
+        try {
+            if (!(rowPending || rs.next())) {
+                done = true;
+                return;
+            }
+            rowPending = false;
+            if (maxRows > 0 && rowCount >= maxRows) {
+                truncated = true;
+                done = true;
+                return;
+            }
+
+            encoder.appendRow(rs, line);
+            long lineBytes = TextEncoder.jsonLength(line, 0, line.length());
+            if (maxBytes > 0 && bytes + lineBytes > maxBytes) {
+                truncated = true;
+                done = true;
+                if (rowCount > 0) {
+                    line.setLength(0);
+                    logger.warn("결과 크기 제한 도달: {} bytes에서 중단 (제한: {} bytes)", bytes, maxBytes);
+                    return;
+                }
+            }
+            bytes += lineBytes;
+            rowCount++;
+        } catch (SQLException e) {
+            // 일부만 인코딩된 줄은 버림
+            line.setLength(0);
+            truncated = true;
+            done = true;
+            error = watch.translate(e, context).getMessage();
+            logger.warn("행 스트리밍 중단: {}행까지 전송 ({})", rowCount, error);
+        }
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    @Override
+    public void close() {
+        // ResultSet은 StreamingQueryResult가 닫음
+    }
+}
@@ -0,0 +1,54 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.QueryResult;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 읽은 행을 csv/tsv/ndjson 텍스트로 쌓는 sink입니다 (스트리밍하지 않는 경로와 커서 페이지).
+ * TextRowReader와 같이 maxBytes를 텍스트의 이스케이프 후 UTF-8 바이트 수(응답에 실리는 크기)에 정확히 적용하며,
+ * 넘치는 행은 추가하지 않고 -1을 반환해 다음 페이지의 첫 행으로 남깁니다.
+ */
+final class TextSink implements ResultSetReader.RowSink {
+    private final ResultFormat format;
+    private final TextEncoder encoder;
+    private final long maxBytes;
+    private final StringBuilder text = new StringBuilder();
+    private long bytes;
+    private int rowCount;
+
+    TextSink(ResultFormat format, ResultPlan plan, long maxBytes) {
+        this.format = format;
+        this.encoder = new TextEncoder(format, plan);
+        this.maxBytes = maxBytes;
+        encoder.appendHeader(text);
+        bytes = TextEncoder.jsonLength(text, 0, text.length());
+    }
+
+    @Override
+    public long add(ResultSet rs, ResultPlan plan) throws SQLException {
+        int mark = text.length();
+        try {
+            encoder.appendRow(rs, text);
+        } catch (SQLException e) {
+            text.setLength(mark);
+            throw e;
+        }
+        long lineBytes = TextEncoder.jsonLength(text, mark, text.length());
+        // 첫 행은 제한보다 커도 포함 (커서가 같은 행에서 멈추지 않도록)
+        if (maxBytes > 0 && bytes + lineBytes > maxBytes && rowCount > 0) {
+            text.setLength(mark);
+            return -1;
+        }
+        bytes += lineBytes;
+        rowCount++;
+        return bytes;
+    }
+
+    @Override
+    public void fill(QueryResult result) {
+        result.setFormat(format.getName());
+        result.setText(text.toString());
+    }
+}
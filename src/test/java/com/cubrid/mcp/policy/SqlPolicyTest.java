@@ -0,0 +1,187 @@
+package com.cubrid.mcp.policy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlPolicy 검증 테스트 (DB 없이 실행)
+ * 
+ * 실행 방법:
+ * mvn test -Dtest=SqlPolicyTest
+ */
+public class SqlPolicyTest {
+
+    private SqlPolicy sqlPolicy;
+
+    @BeforeEach
+    public void setUp() {
+        sqlPolicy = new SqlPolicy();
+        ReflectionTestUtils.setField(sqlPolicy, "allowedSchema", "dba");
+    }
+
+    @Test
+    public void testKeywordsInLiteralsAndCommentsAreIgnored() {
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT * FROM t WHERE note = 'please update'"));
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT /* delete */ 1 -- drop\n"));
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT \"update\" FROM t"));
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT t.set FROM t"));
+    }
+
+    @Test
+    public void testForbiddenKeywords() {
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT * FROM t FOR UPDATE"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("UPDATE t SET a = 1"));
+    }
+
+    @Test
+    public void testMultipleStatements() {
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT 1;"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT 1; SELECT 2"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT 1; DROP TABLE t"));
+        // 문자열 안의 세미콜론은 문장 구분자가 아님
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT 'a; b' FROM t"));
+    }
+
+    @Test
+    public void testSchemaReferences() {
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT t.id, 1.5 FROM dba.t t"));
+        assertDoesNotThrow(() -> sqlPolicy.validate("WITH x AS (SELECT 1 a FROM dba.t) SELECT x.a FROM x"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT * FROM other.t"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT * FROM a, other.t"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT * FROM (SELECT * FROM \"other\".t) s"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT other.t.c FROM t"));
+    }
+
+    @Test
+    public void testSchemaPrefix() {
+        assertEquals("SELECT * FROM dba.a, dba.b WHERE a.id = b.id",
+            sqlPolicy.enforcePublicSchemaPrefix("SELECT * FROM a, b WHERE a.id = b.id"));
+        assertEquals("SELECT * FROM dba.a JOIN dba.t USING (id)",
+            sqlPolicy.enforcePublicSchemaPrefix("SELECT * FROM a JOIN dba.t USING (id)"));
+        assertEquals("SELECT s.x FROM (SELECT x FROM dba.t) s, dba.u",
+            sqlPolicy.enforcePublicSchemaPrefix("SELECT s.x FROM (SELECT x FROM t) s, u"));
+        // CTE 이름은 테이블이 아님
+        assertEquals("WITH c AS (SELECT * FROM dba.t), d AS (SELECT * FROM c) SELECT * FROM c JOIN d ON 1 = 1",
+            sqlPolicy.enforcePublicSchemaPrefix(
+                "WITH c AS (SELECT * FROM t), d AS (SELECT * FROM c) SELECT * FROM c JOIN d ON 1 = 1"));
+        // 함수 인자의 FROM, 리터럴과 주석은 그대로
+        assertEquals("SELECT EXTRACT(YEAR FROM d), 'from x' /* FROM y */ FROM dba.t",
+            sqlPolicy.enforcePublicSchemaPrefix("SELECT EXTRACT(YEAR FROM d), 'from x' /* FROM y */ FROM t"));
+        assertEquals("SELECT * FROM (dba.a JOIN dba.b ON a.id = b.id)",
+            sqlPolicy.enforcePublicSchemaPrefix("SELECT * FROM (a JOIN b ON a.id = b.id)"));
+    }
+
+    @Test
+    public void testCteNameScope() {
+        // CTE 이름은 본문이 끝난 뒤부터 보이므로, 본문 안의 같은 이름은 실제 테이블
+        assertEquals("WITH t AS (SELECT * FROM dba.t) SELECT * FROM t",
+            sqlPolicy.enforcePublicSchemaPrefix("WITH t AS (SELECT * FROM t) SELECT * FROM t"));
+        assertEquals("WITH a(x) AS (SELECT x FROM dba.b), b AS (SELECT x FROM a) SELECT * FROM b",
+            sqlPolicy.enforcePublicSchemaPrefix(
+                "WITH a(x) AS (SELECT x FROM b), b AS (SELECT x FROM a) SELECT * FROM b"));
+        // WITH RECURSIVE는 본문에서 자기 자신을 참조
+        assertEquals("WITH RECURSIVE r AS (SELECT id FROM dba.t UNION ALL SELECT id FROM r) SELECT * FROM r",
+            sqlPolicy.enforcePublicSchemaPrefix(
+                "WITH RECURSIVE r AS (SELECT id FROM t UNION ALL SELECT id FROM r) SELECT * FROM r"));
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        String fingerprint = sqlPolicy.prepare("select * from t where id = 123 and name = 'a' -- x").fingerprint();
+        assertEquals("SELECT * FROM T WHERE ID = ? AND NAME = ?", fingerprint);
+        assertEquals(fingerprint,
+            sqlPolicy.prepare("SELECT *\n  FROM t WHERE id = 7 AND name = 'bb';").fingerprint());
+    }
+
+    @Test
+    public void testCanonicalIgnoresOnlyWhitespaceAndComments() throws Exception {
+        assertEquals(sqlPolicy.prepare("SELECT a FROM t WHERE b = 'x  y'").canonical(),
+            sqlPolicy.prepare("SELECT  a\n FROM t -- note\n WHERE b = /* c */ 'x  y'").canonical());
+        // 주석 안의 따옴표 때문에 문자열 안의 공백이 줄어들던 경우
+        assertNotEquals(sqlPolicy.prepare("SELECT /* don't */ 'x  y' FROM t").canonical(),
+            sqlPolicy.prepare("SELECT /* don't */ 'x y' FROM t").canonical());
+        assertNotEquals(sqlPolicy.prepare("SELECT 1 FROM t -- it's\n WHERE a = 'x  y'").canonical(),
+            sqlPolicy.prepare("SELECT 1 FROM t -- it's\n WHERE a = 'x y'").canonical());
+        // [...] 식별자 안의 공백
+        assertNotEquals(sqlPolicy.prepare("SELECT [a  b] FROM t").canonical(),
+            sqlPolicy.prepare("SELECT [a b] FROM t").canonical());
+    }
+
+    @Test
+    public void testLimitPosition() throws Exception {
+        String sql = "SELECT * FROM t ORDER BY a; -- x";
+        assertEquals(sql.indexOf(';'), sqlPolicy.prepare(sql).limitPosition());
+        assertEquals(-1, sqlPolicy.prepare("SELECT * FROM t LIMIT 5").limitPosition());
+        assertEquals(-1, sqlPolicy.prepare("SELECT a FROM t UNION SELECT a FROM u").limitPosition());
+        // 서브쿼리의 LIMIT는 최상위 쿼리의 LIMIT가 아님
+        assertTrue(sqlPolicy.prepare("SELECT * FROM (SELECT * FROM t LIMIT 5) s").limitPosition() > 0);
+    }
+
+    @Test
+    public void testLiftableLiterals() throws Exception {
+        SqlStatement statement = sqlPolicy.prepare(
+            "SELECT CAST(a AS VARCHAR(10)) FROM t WHERE id = 5 AND name LIKE 'x''%' AND c IN (1, 'b') "
+            + "AND d BETWEEN 1.5 AND 2 AND e > ? AND f = DATE '2024-01-01' ORDER BY 1 LIMIT 10");
+        int[] literals = statement.liftableLiterals();
+        assertEquals("SELECT CAST(a AS VARCHAR(10)) FROM dba.t WHERE id = ? AND name LIKE ? AND c IN (?, ?) "
+            + "AND d BETWEEN ? AND ? AND e > ? AND f = DATE '2024-01-01' ORDER BY 1 LIMIT 10",
+            statement.rewrite("dba", literals));
+        assertEquals(1, statement.getParameterCount());
+        assertEquals(5L, statement.literalValue(literals[0]));
+        assertEquals("x'%", statement.literalValue(literals[1]));
+        assertEquals(new java.math.BigDecimal("1.5"), statement.literalValue(literals[4]));
+    }
+
+    @Test
+    public void testLiftableLiteralsOnlyInPredicates() throws Exception {
+        // SELECT 목록과 GROUP BY의 같은 식이 서로 다른 바인딩 변수가 되면 안 됨
+        SqlStatement statement = sqlPolicy.prepare(
+            "SELECT x = 1, COUNT(*) FROM t WHERE y = 2 GROUP BY x = 1 HAVING COUNT(*) > 3");
+        assertEquals("SELECT x = 1, COUNT(*) FROM dba.t WHERE y = ? GROUP BY x = 1 HAVING COUNT(*) > ?",
+            statement.rewrite("dba", statement.liftableLiterals()));
+
+        statement = sqlPolicy.prepare("SELECT a FROM t JOIN u ON u.id = t.id AND u.k = 'v' WHERE (t.b = 1 OR t.c < 2)");
+        assertEquals("SELECT a FROM dba.t JOIN dba.u ON u.id = t.id AND u.k = ? WHERE (t.b = ? OR t.c < ?)",
+            statement.rewrite("dba", statement.liftableLiterals()));
+    }
+
+    @Test
+    public void testLiftableLiteralsInListMustBeLiteralOnly() throws Exception {
+        // 서브쿼리의 SELECT 목록에 있는 리터럴은 IN 목록 값이 아님
+        SqlStatement statement = sqlPolicy.prepare(
+            "SELECT * FROM t WHERE (a, b) IN (SELECT a, 1 FROM u WHERE c = 2) AND d IN (3, 4)");
+        assertEquals("SELECT * FROM dba.t WHERE (a, b) IN (SELECT a, 1 FROM dba.u WHERE c = ?) AND d IN (?, ?)",
+            statement.rewrite("dba", statement.liftableLiterals()));
+
+        // 식이 섞인 목록은 그대로
+        statement = sqlPolicy.prepare("SELECT * FROM t WHERE d IN (3, -4, 5 + 1)");
+        assertEquals(0, statement.liftableLiterals().length);
+    }
+
+    @Test
+    public void testUnterminatedLiteral() {
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT 'abc FROM t"));
+    }
+
+    @Test
+    public void testBackslashInLiteral() {
+        // no_backslash_escapes=no인 서버에서는 \'가 따옴표를 이스케이프하므로 DELETE가 별도 문장이 됨
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT '\\'' ; DELETE FROM t; -- '"));
+        assertThrows(SqlPolicy.PolicyViolationException.class,
+            () -> sqlPolicy.validate("SELECT \"a\\\" FROM t"));
+        assertDoesNotThrow(() -> sqlPolicy.validate("SELECT 'it''s' FROM t"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.cubrid.mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DistinctCounter 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=DistinctCounterTest
+ */
+public class DistinctCounterTest {
+
+    @Test
+    public void testExactBelowLimit() {
+        DistinctCounter counter = new DistinctCounter();
+        for (int i = 0; i < 3000; i++) {
+            counter.add("v" + (i % 500));
+        }
+        assertTrue(counter.isExact());
+        assertEquals(500, counter.count());
+    }
+
+    @Test
+    public void testEstimateAboveLimit() {
+        DistinctCounter counter = new DistinctCounter();
+        int distinct = 200000;
+        for (int i = 0; i < distinct; i++) {
+            counter.add("key-" + i);
+            // 중복은 추정치를 바꾸지 않음
+            counter.add("key-" + (i / 2));
+        }
+        assertFalse(counter.isExact());
+        double error = Math.abs(counter.count() - distinct) / (double) distinct;
+        assertTrue(error < 0.05, "추정 오차: " + error);
+    }
+
+    @Test
+    public void testSmallRangeAfterSwitch() {
+        DistinctCounter counter = new DistinctCounter();
+        int distinct = DistinctCounter.EXACT_LIMIT + 1;
+        for (int i = 0; i < distinct; i++) {
+            counter.add(Integer.toString(i));
+        }
+        assertFalse(counter.isExact());
+        // linear counting 구간이므로 오차가 작음
+        assertTrue(Math.abs(counter.count() - distinct) < distinct * 0.03, "추정치: " + counter.count());
+    }
+}
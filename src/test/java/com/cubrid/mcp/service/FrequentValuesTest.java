@@ -0,0 +1,58 @@
+package com.cubrid.mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FrequentValues 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=FrequentValuesTest
+ */
+public class FrequentValuesTest {
+
+    @Test
+    public void testExactCountsWithinCapacity() {
+        FrequentValues values = new FrequentValues(10);
+        for (int i = 0; i < 7; i++) {
+            values.add("SHIPPED");
+        }
+        for (int i = 0; i < 3; i++) {
+            values.add("PAID");
+        }
+        values.add("CANCELLED");
+
+        List<Map<String, Object>> top = values.top(5, 1);
+        assertTrue(values.isExact());
+        assertEquals(3, top.size());
+        assertEquals("SHIPPED", top.get(0).get("value"));
+        assertEquals(7L, top.get(0).get("count"));
+        assertEquals("PAID", top.get(1).get("value"));
+        // 한 번만 나온 값 제외
+        assertEquals(2, values.top(5, 2).size());
+    }
+
+    @Test
+    public void testHeavyHitterSurvivesOverflow() {
+        FrequentValues values = new FrequentValues(20);
+        int n = 0;
+        for (int i = 0; i < 10000; i++) {
+            values.add("u" + i);
+            n++;
+            if (i % 3 == 0) {
+                values.add("hot");
+                n++;
+            }
+        }
+        assertFalse(values.isExact());
+        List<Map<String, Object>> top = values.top(1, 2);
+        assertEquals("hot", top.get(0).get("value"));
+        // 개수는 하한값이며 오차는 n / (capacity + 1) 이하
+        long count = (Long) top.get(0).get("count");
+        assertTrue(count <= 3334 && count >= 3334 - n / 21, "count: " + count);
+    }
+}
@@ -0,0 +1,122 @@
+package com.cubrid.mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JoinGraph 조인 경로 탐색 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=JoinGraphTest
+ */
+public class JoinGraphTest {
+
+    private JoinGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        // customer <- orders <- order_line -> product, order_line <- shipment (복합 키), audit_log는 외래키 없음
+        graph = new JoinGraph(Arrays.asList(
+            new JoinGraph.ForeignKey("fk_orders_customer", "orders", Arrays.asList("customer_id"),
+                "customer", Arrays.asList("id")),
+            new JoinGraph.ForeignKey("fk_line_order", "order_line", Arrays.asList("order_id"),
+                "orders", Arrays.asList("order_id")),
+            new JoinGraph.ForeignKey("fk_line_product", "order_line", Arrays.asList("product_id"),
+                "product", Arrays.asList("id")),
+            new JoinGraph.ForeignKey("fk_shipment_line", "shipment", Arrays.asList("order_id", "line_no"),
+                "order_line", Arrays.asList("order_id", "line_no"))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> joins(Map<String, Object> result) {
+        return (List<Map<String, Object>>) result.get("joins");
+    }
+
+    @Test
+    public void testDirectJoin() {
+        Map<String, Object> result = graph.joinPath(Arrays.asList("orders", "customer"), 4);
+        assertEquals(true, result.get("found"));
+        assertEquals(1, result.get("hops"));
+        Map<String, Object> join = joins(result).get(0);
+        assertEquals("customer", join.get("table"));
+        assertEquals("orders", join.get("joinedTo"));
+        assertEquals("fk_orders_customer", join.get("foreignKey"));
+        assertEquals("orders.customer_id = customer.id", join.get("on"));
+        assertEquals("FROM orders\n  JOIN customer ON orders.customer_id = customer.id", result.get("sql"));
+    }
+
+    @Test
+    public void testMultiHopPath() {
+        // 중간 테이블(orders, order_line)을 거쳐 연결
+        Map<String, Object> result = graph.joinPath(Arrays.asList("customer", "product"), 4);
+        assertEquals(true, result.get("found"));
+        assertEquals(3, result.get("hops"));
+        List<Map<String, Object>> joins = joins(result);
+        assertEquals("orders", joins.get(0).get("table"));
+        assertEquals("customer", joins.get(0).get("joinedTo"));
+        assertEquals("order_line", joins.get(1).get("table"));
+        assertEquals("orders", joins.get(1).get("joinedTo"));
+        assertEquals("product", joins.get(2).get("table"));
+        assertEquals("order_line.product_id = product.id", joins.get(2).get("on"));
+        assertNull(result.get("unreachable"));
+    }
+
+    @Test
+    public void testThreeTableTree() {
+        // customer에서 가까운 orders를 먼저 붙이고, product는 트리(orders)에서 order_line을 거쳐 붙임
+        Map<String, Object> result = graph.joinPath(Arrays.asList("customer", "product", "orders"), 4);
+        assertEquals(true, result.get("found"));
+        assertEquals(3, result.get("hops"));
+        List<Map<String, Object>> joins = joins(result);
+        assertEquals("orders", joins.get(0).get("table"));
+        assertEquals("order_line", joins.get(1).get("table"));
+        assertEquals("orders", joins.get(1).get("joinedTo"));
+        assertEquals("product", joins.get(2).get("table"));
+        assertEquals("order_line", joins.get(2).get("joinedTo"));
+    }
+
+    @Test
+    public void testUnreachableTable() {
+        Map<String, Object> result = graph.joinPath(Arrays.asList("customer", "audit_log"), 4);
+        assertEquals(false, result.get("found"));
+        assertEquals(0, result.get("hops"));
+        assertEquals(Arrays.asList("audit_log"), result.get("unreachable"));
+        assertEquals("FROM customer", result.get("sql"));
+    }
+
+    @Test
+    public void testMaxHops() {
+        // customer -> product는 3단계이므로 2단계 제한에서는 연결하지 못함
+        Map<String, Object> limited = graph.joinPath(Arrays.asList("customer", "product"), 2);
+        assertEquals(false, limited.get("found"));
+        assertEquals(Arrays.asList("product"), limited.get("unreachable"));
+        assertTrue(joins(limited).isEmpty());
+
+        assertEquals(true, graph.joinPath(Arrays.asList("customer", "product"), 3).get("found"));
+    }
+
+    @Test
+    public void testCompositeForeignKey() {
+        Map<String, Object> result = graph.joinPath(Arrays.asList("shipment", "order_line"), 4);
+        assertEquals(true, result.get("found"));
+        Map<String, Object> join = joins(result).get(0);
+        assertEquals("fk_shipment_line", join.get("foreignKey"));
+        assertEquals("shipment.order_id = order_line.order_id AND shipment.line_no = order_line.line_no",
+            join.get("on"));
+    }
+
+    @Test
+    public void testResolveIgnoresCase() {
+        List<String> tables = Arrays.asList("orders", "Order_Line");
+        assertEquals("orders", JoinGraph.resolve("orders", tables));
+        assertEquals("orders", JoinGraph.resolve("ORDERS", tables));
+        assertEquals("Order_Line", JoinGraph.resolve("order_line", tables));
+        assertNull(JoinGraph.resolve("order", tables));
+    }
+}
@@ -0,0 +1,163 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+import com.cubrid.mcp.dto.TableInfo;
+import com.cubrid.mcp.policy.SqlPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MappedSchemaSnapshot 파일 형식 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=MappedSchemaSnapshotTest
+ */
+public class MappedSchemaSnapshotTest {
+
+    private SchemaSnapshot snapshot;
+    private Map<String, String> fingerprints;
+
+    @BeforeEach
+    public void setUp() {
+        List<TableInfo> tables = Arrays.asList(
+            new TableInfo("customer", "TABLE", "고객"),
+            new TableInfo("orders", "TABLE"));
+
+        Map<String, Map<String, Object>> descriptions = new HashMap<>();
+        descriptions.put("customer", description("customer",
+            Arrays.asList(new ColumnInfo("id", "INTEGER", false), new ColumnInfo("name", "VARCHAR(100)", true, "이름")),
+            Arrays.asList("id"),
+            Arrays.asList(index("pk_customer_id", true, "id"))));
+        descriptions.put("orders", description("orders",
+            Arrays.asList(new ColumnInfo("order_id", "INTEGER", false), new ColumnInfo("customer_id", "INTEGER", true)),
+            Arrays.asList("order_id"),
+            Arrays.asList(index("idx_orders_customer", false, "customer_id", "order_id"))));
+        snapshot = new SchemaSnapshot("dba", tables, descriptions, 1700000000000L);
+
+        fingerprints = new LinkedHashMap<>();
+        fingerprints.put("customer", "a1");
+        fingerprints.put("orders", "b2");
+    }
+
+    private static Map<String, Object> description(String table, List<ColumnInfo> columns, List<String> primaryKey,
+                                                   List<Map<String, Object>> indexes) {
+        Map<String, Object> description = new HashMap<>();
+        description.put("schema", "dba");
+        description.put("table", table);
+        description.put("columns", columns);
+        description.put("primaryKey", primaryKey);
+        description.put("indexes", indexes);
+        return description;
+    }
+
+    private static Map<String, Object> index(String name, boolean unique, String... columns) {
+        Map<String, Object> index = new HashMap<>();
+        index.put("name", name);
+        index.put("unique", unique);
+        index.put("columns", Arrays.asList(columns));
+        return index;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        byte[] bytes = SchemaSnapshotStore.encode(snapshot, fingerprints);
+        MappedSchemaSnapshot mapped = MappedSchemaSnapshot.read(ByteBuffer.wrap(bytes));
+
+        assertEquals("dba", mapped.getSchema());
+        assertEquals(1700000000000L, mapped.getLoadedAt());
+        assertEquals(fingerprints, mapped.getFingerprints());
+        assertEquals(2, mapped.getTables().size());
+        assertEquals("고객", mapped.getTables().get(0).getComment());
+        assertNull(mapped.getTables().get(1).getComment());
+
+        Map<String, Object> customer = mapped.describe("customer");
+        @SuppressWarnings("unchecked")
+        List<ColumnInfo> columns = (List<ColumnInfo>) customer.get("columns");
+        assertEquals(2, columns.size());
+        assertEquals("VARCHAR(100)", columns.get(1).getType());
+        assertTrue(columns.get(1).isNullable());
+        assertEquals("이름", columns.get(1).getComment());
+        assertEquals(Arrays.asList("id"), customer.get("primaryKey"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> indexes = (List<Map<String, Object>>) mapped.describe("orders").get("indexes");
+        assertEquals("idx_orders_customer", indexes.get(0).get("name"));
+        assertEquals(false, indexes.get(0).get("unique"));
+        assertEquals(Arrays.asList("customer_id", "order_id"), indexes.get(0).get("columns"));
+
+        assertNull(mapped.describe("missing"));
+    }
+
+    @Test
+    public void testDescribeIgnoresCase() throws Exception {
+        byte[] bytes = SchemaSnapshotStore.encode(snapshot, fingerprints);
+        MappedSchemaSnapshot mapped = MappedSchemaSnapshot.read(ByteBuffer.wrap(bytes));
+
+        // 스키마 캐시 키(소문자)와 같은 규칙으로 찾고, 결과에는 저장된 이름을 넣음
+        Map<String, Object> orders = mapped.describe("ORDERS");
+        assertNotNull(orders);
+        assertEquals("orders", orders.get("table"));
+        @SuppressWarnings("unchecked")
+        List<ColumnInfo> columns = (List<ColumnInfo>) orders.get("columns");
+        assertEquals("customer_id", columns.get(1).getName());
+        assertNotNull(mapped.describe("Customer"));
+    }
+
+    @Test
+    public void testTruncatedFileIsRejected() throws Exception {
+        byte[] bytes = SchemaSnapshotStore.encode(snapshot, fingerprints);
+        // 어디에서 잘려도 열 때 거부되어야 함 (조회 시점에 실패하지 않도록)
+        for (int length = 0; length < bytes.length; length++) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, length));
+            assertThrows(IllegalArgumentException.class, () -> MappedSchemaSnapshot.read(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    public void testOversizedCountIsRejected() throws Exception {
+        byte[] bytes = SchemaSnapshotStore.encode(snapshot, fingerprints);
+        // 지문 수 위치: magic(4) version(4) loadedAt(8) schema(4 + 3)
+        ByteBuffer.wrap(bytes).putInt(23, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> MappedSchemaSnapshot.read(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    public void testStoreRebuildsCorruptFile() throws Exception {
+        Path dir = Files.createTempDirectory("snapshot-test").resolve("nested");
+        SqlPolicy sqlPolicy = new SqlPolicy();
+        ReflectionTestUtils.setField(sqlPolicy, "allowedSchema", "dba");
+        SchemaSnapshotStore store = new SchemaSnapshotStore(sqlPolicy, true, dir.toString(), "jdbc:cubrid:test");
+
+        store.save(snapshot, fingerprints);
+        assertTrue(store.exists());
+        assertNotNull(store.open());
+
+        // 파일을 잘라 손상시키면 열지 않고 지움
+        Path file;
+        try (var files = Files.list(dir)) {
+            file = files.filter(p -> p.getFileName().toString().endsWith(".bin")).findFirst().orElseThrow();
+        }
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(dir)));
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertNull(store.open());
+        assertFalse(store.exists());
+    }
+}
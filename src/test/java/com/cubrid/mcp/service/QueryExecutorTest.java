@@ -0,0 +1,43 @@
+package com.cubrid.mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * QueryExecutor의 DB와 무관한 헬퍼 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=QueryExecutorTest
+ */
+public class QueryExecutorTest {
+
+    @Test
+    public void testParamsKeyDistinguishesValues() {
+        assertEquals("", QueryExecutor.paramsKey(null));
+        assertEquals("", QueryExecutor.paramsKey(Collections.emptyList()));
+        assertEquals(QueryExecutor.paramsKey(Arrays.asList(1L, "a")), QueryExecutor.paramsKey(Arrays.asList(1L, "a")));
+
+        // 타입이 다르면 값의 문자열이 같아도 다른 키
+        assertNotEquals(QueryExecutor.paramsKey(Arrays.asList(1L)), QueryExecutor.paramsKey(Arrays.asList("1")));
+        assertNotEquals(QueryExecutor.paramsKey(Arrays.asList(new BigDecimal("1.0"))),
+            QueryExecutor.paramsKey(Arrays.asList(1.0d)));
+        // NULL과 "null" 문자열
+        assertNotEquals(QueryExecutor.paramsKey(Arrays.asList((Object) null)),
+            QueryExecutor.paramsKey(Arrays.asList("null")));
+        // 구분자가 들어간 값이 여러 값과 겹치지 않음
+        assertNotEquals(QueryExecutor.paramsKey(Arrays.asList("a;String:1:b")),
+            QueryExecutor.paramsKey(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void testFetchLimit() {
+        assertEquals(101, QueryExecutor.fetchLimit(100));
+        assertEquals(0, QueryExecutor.fetchLimit(0));
+        assertEquals(Integer.MAX_VALUE, QueryExecutor.fetchLimit(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,108 @@
+package com.cubrid.mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ResponseBuffer 버퍼링/넘침 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=ResponseBufferTest
+ */
+public class ResponseBufferTest {
+
+    private ByteArrayOutputStream out;
+    private ReentrantLock lock;
+
+    @BeforeEach
+    public void setUp() {
+        out = new ByteArrayOutputStream();
+        lock = new ReentrantLock();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String written() {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSmallResponseIsWrittenOnFinish() throws Exception {
+        ResponseBuffer buffer = new ResponseBuffer(out, lock, 16);
+        buffer.write(bytes("0123456789"));
+        // 상한 이하면 잠금 없이 모으기만 함
+        assertEquals(0, out.size());
+        assertFalse(lock.isLocked());
+
+        buffer.finish();
+        assertEquals("0123456789\n", written());
+        assertFalse(lock.isLocked());
+        buffer.release();
+        assertEquals("0123456789\n", written());
+    }
+
+    @Test
+    public void testSpillHoldsLockUntilFinish() throws Exception {
+        ResponseBuffer buffer = new ResponseBuffer(out, lock, 8);
+        buffer.write(bytes("0123456789"));
+        // 상한을 넘으면 잠금을 잡고 바로 씀
+        assertEquals("0123456789", written());
+        assertTrue(lock.isHeldByCurrentThread());
+        assertEquals(10, buffer.size());
+
+        buffer.write(bytes("ab"));
+        buffer.finish();
+        assertEquals("0123456789ab\n", written());
+        assertFalse(lock.isLocked());
+    }
+
+    @Test
+    public void testPinnedBytesAreNotSpilled() throws Exception {
+        ResponseBuffer buffer = new ResponseBuffer(out, lock, 8);
+        buffer.write(bytes("[1,"));
+        buffer.pin(buffer.size());
+        buffer.write(bytes("\"long row value\""));
+        // 되돌릴 수 있는 행은 남기고 앞부분만 내보냄
+        assertEquals("[1,", written());
+
+        assertTrue(buffer.truncate(3));
+        assertFalse(buffer.truncate(2));
+        buffer.write(bytes("]"));
+        buffer.finish();
+        assertEquals("[1,]\n", written());
+    }
+
+    @Test
+    public void testReleaseAfterSpillEndsLine() throws Exception {
+        ResponseBuffer buffer = new ResponseBuffer(out, lock, 4);
+        buffer.write(bytes("{\"partial\""));
+        assertTrue(lock.isHeldByCurrentThread());
+
+        // 응답을 끝내지 못하면 줄을 끝내 다음 응답과 섞이지 않게 하고 잠금을 놓음
+        buffer.release();
+        assertEquals("{\"partial\"\n", written());
+        assertFalse(lock.isLocked());
+        buffer.release();
+        assertEquals("{\"partial\"\n", written());
+    }
+
+    @Test
+    public void testZeroSpillBytesBuffersEverything() throws Exception {
+        ResponseBuffer buffer = new ResponseBuffer(out, lock, 0);
+        for (int i = 0; i < 100; i++) {
+            buffer.write(bytes("0123456789"));
+        }
+        assertEquals(0, out.size());
+        assertFalse(lock.isLocked());
+        buffer.finish();
+        assertEquals(1001, out.size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.cubrid.mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SchemaChangeDetector 지문 비교 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=SchemaChangeDetectorTest
+ */
+public class SchemaChangeDetectorTest {
+
+    private static Map<String, String> fingerprints(String... entries) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(entries[i], entries[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    public void testNoChange() {
+        SchemaChangeDetector.Change change = SchemaChangeDetector.diff(
+            fingerprints("orders", "a1", "customer", "b2"),
+            fingerprints("customer", "b2", "orders", "a1"));
+        assertTrue(change.isEmpty());
+        assertFalse(change.isListChanged());
+    }
+
+    @Test
+    public void testAddedRemovedChanged() {
+        SchemaChangeDetector.Change change = SchemaChangeDetector.diff(
+            fingerprints("orders", "a1", "customer", "b2", "old_log", "c3"),
+            fingerprints("orders", "a9", "customer", "b2", "product", "d4", "audit", "e5"));
+        assertEquals(new TreeSet<>(Arrays.asList("audit", "product")), change.getAdded());
+        assertEquals(new TreeSet<>(Arrays.asList("old_log")), change.getRemoved());
+        assertEquals(new TreeSet<>(Arrays.asList("orders")), change.getChanged());
+        assertTrue(change.isListChanged());
+        assertFalse(change.isEmpty());
+    }
+
+    @Test
+    public void testChangedOnlyIsNotListChange() {
+        SchemaChangeDetector.Change change = SchemaChangeDetector.diff(
+            fingerprints("orders", "a1"), fingerprints("orders", "a2"));
+        assertFalse(change.isListChanged());
+        assertEquals(new TreeSet<>(Arrays.asList("orders")), change.getChanged());
+    }
+
+    @Test
+    public void testAffectsIgnoresCase() {
+        SchemaChangeDetector.Change change = SchemaChangeDetector.diff(
+            fingerprints("orders", "a1", "old_log", "c3"),
+            fingerprints("orders", "a2", "Product", "d4"));
+        assertTrue(change.affects("orders"));
+        assertTrue(change.affects("ORDERS"));
+        assertTrue(change.affects("product"));
+        assertTrue(change.affects("OLD_LOG"));
+        assertFalse(change.affects("customer"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.dto.ColumnInfo;
+import com.cubrid.mcp.dto.TableInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SchemaSearchIndex 검색 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=SchemaSearchIndexTest
+ */
+public class SchemaSearchIndexTest {
+
+    private SchemaSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        List<TableInfo> tables = Arrays.asList(
+            new TableInfo("orders", "TABLE", "주문"),
+            new TableInfo("order_line", "TABLE"),
+            new TableInfo("customer", "TABLE", "고객 정보"));
+        Map<String, Map<String, Object>> descriptions = new HashMap<>();
+        descriptions.put("orders", description(
+            new ColumnInfo("order_id", "INTEGER", false),
+            new ColumnInfo("customer_id", "INTEGER", false)));
+        descriptions.put("order_line", description(
+            new ColumnInfo("order_line_item_discount_amount", "NUMERIC", true),
+            new ColumnInfo("qty", "INTEGER", true, "주문 수량")));
+        descriptions.put("customer", description(
+            new ColumnInfo("customer_name", "VARCHAR", true)));
+        index = SchemaSearchIndex.build(tables, descriptions);
+    }
+
+    private static Map<String, Object> description(ColumnInfo... columns) {
+        Map<String, Object> description = new HashMap<>();
+        description.put("columns", Arrays.asList(columns));
+        return description;
+    }
+
+    @Test
+    public void testExactTableNameRanksFirst() {
+        List<Map<String, Object>> results = index.search("orders", null, 10);
+        assertEquals("orders", results.get(0).get("table"));
+        assertNull(results.get(0).get("column"));
+    }
+
+    @Test
+    public void testNoDuplicateResults() {
+        // 3-gram 유사도가 낮아 점수 0으로 후보에 오른 뒤 단어 일치로 다시 추가되던 항목
+        List<Map<String, Object>> results = index.search("order", null, 20);
+        Set<String> seen = new HashSet<>();
+        for (Map<String, Object> result : results) {
+            assertTrue(seen.add(result.get("table") + "." + result.get("column")), "중복 결과: " + result);
+        }
+        int table = indexOf(results, "orders", null);
+        int longColumn = indexOf(results, "order_line", "order_line_item_discount_amount");
+        assertTrue(table >= 0 && longColumn >= 0);
+        assertTrue(table < longColumn, "테이블 orders가 긴 컬럼보다 앞서야 함");
+    }
+
+    @Test
+    public void testKindFilterAndLimit() {
+        List<Map<String, Object>> results = index.search("customer", "column", 1);
+        assertEquals(1, results.size());
+        assertEquals("column", results.get(0).get("kind"));
+        // 전체 항목 수보다 큰 limit
+        assertTrue(index.search("order", null, Integer.MAX_VALUE).size() <= index.getEntryCount());
+    }
+
+    @Test
+    public void testCommentMatch() {
+        List<Map<String, Object>> results = index.search("수량", null, 5);
+        assertEquals("qty", results.get(0).get("column"));
+    }
+
+    private static int indexOf(List<Map<String, Object>> results, String table, String column) {
+        for (int i = 0; i < results.size(); i++) {
+            Map<String, Object> result = results.get(i);
+            if (table.equals(result.get("table")) && java.util.Objects.equals(column, result.get("column"))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
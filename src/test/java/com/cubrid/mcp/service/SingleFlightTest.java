@@ -0,0 +1,138 @@
+package com.cubrid.mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SingleFlight 동시 요청 합치기 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=SingleFlightTest
+ */
+public class SingleFlightTest {
+
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        singleFlight = new SingleFlight(true);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlight.Loader<Object, RuntimeException> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return new Object();
+        };
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("k", loader));
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("k", loader));
+        waitForCoalesced(1);
+        release.countDown();
+
+        assertSame(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.getCacheStats().get("inFlight"));
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLeaderExceptionIsShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Loader<Object, SQLException> loader = () -> {
+            await(release);
+            throw new SQLException("boom");
+        };
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("k", loader));
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("k", loader));
+        waitForCoalesced(1);
+        release.countDown();
+
+        for (Future<Object> future : new Future[] {leader, follower}) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals("boom", e.getCause().getMessage());
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCancelledWaiterWakesImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Loader<Object, RuntimeException> loader = () -> {
+            await(release);
+            return "value";
+        };
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("k", loader));
+        waitForInFlight();
+
+        RequestContext context = new RequestContext(2);
+        Future<Object> follower = executor.submit(() -> {
+            RequestContext.bind(context);
+            try {
+                return singleFlight.execute("k", loader);
+            } finally {
+                RequestContext.unbind();
+            }
+        });
+        waitForCoalesced(1);
+        long start = System.nanoTime();
+        context.cancel("test");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof CancellationException);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        // 리더는 영향을 받지 않음
+        release.countDown();
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDisabledRunsEveryCall() {
+        SingleFlight disabled = new SingleFlight(false);
+        AtomicInteger loads = new AtomicInteger();
+        disabled.execute("k", loads::incrementAndGet);
+        disabled.execute("k", loads::incrementAndGet);
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitForCoalesced(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((Long) singleFlight.getCacheStats().get("coalesced") < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitForInFlight() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((Integer) singleFlight.getCacheStats().get("inFlight") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
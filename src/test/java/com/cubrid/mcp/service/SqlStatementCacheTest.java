@@ -0,0 +1,112 @@
+package com.cubrid.mcp.service;
+
+import com.cubrid.mcp.policy.SqlPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlStatementCache 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=SqlStatementCacheTest
+ */
+public class SqlStatementCacheTest {
+
+    private SqlPolicy sqlPolicy;
+
+    @BeforeEach
+    public void setUp() {
+        sqlPolicy = new SqlPolicy();
+        ReflectionTestUtils.setField(sqlPolicy, "allowedSchema", "dba");
+    }
+
+    @Test
+    public void testHit() throws Exception {
+        SqlStatementCache cache = new SqlStatementCache(sqlPolicy, 8, 8192, false);
+        SqlStatementCache.Prepared first = cache.prepare("SELECT * FROM t");
+
+        assertSame(first, cache.prepare("SELECT * FROM t"));
+        assertEquals(1L, cache.getCacheStats().get("hits"));
+        assertEquals(1L, cache.getCacheStats().get("misses"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLruEviction() throws Exception {
+        SqlStatementCache cache = new SqlStatementCache(sqlPolicy, 2, 8192, false);
+        SqlStatementCache.Prepared a = cache.prepare("SELECT * FROM a");
+        SqlStatementCache.Prepared b = cache.prepare("SELECT * FROM b");
+        // a를 다시 조회하면 가장 오래 쓰지 않은 항목은 b
+        assertSame(a, cache.prepare("SELECT * FROM a"));
+        cache.prepare("SELECT * FROM c");
+
+        assertEquals(2, cache.size());
+        assertSame(a, cache.prepare("SELECT * FROM a"));
+        assertNotSame(b, cache.prepare("SELECT * FROM b"));
+    }
+
+    @Test
+    public void testPolicyViolationIsNotCached() {
+        SqlStatementCache cache = new SqlStatementCache(sqlPolicy, 8, 8192, false);
+        assertThrows(SqlPolicy.PolicyViolationException.class, () -> cache.prepare("SELECT * FROM other.t"));
+        assertThrows(SqlPolicy.PolicyViolationException.class, () -> cache.prepare("SELECT * FROM other.t"));
+
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getCacheStats().get("hits"));
+    }
+
+    @Test
+    public void testLongSqlIsNotCached() throws Exception {
+        SqlStatementCache cache = new SqlStatementCache(sqlPolicy, 8, 20, false);
+        SqlStatementCache.Prepared prepared = cache.prepare("SELECT * FROM t WHERE a = 1");
+
+        assertEquals("SELECT * FROM dba.t WHERE a = 1", prepared.getSql());
+        assertEquals(0, cache.size());
+        assertNotSame(prepared, cache.prepare("SELECT * FROM t WHERE a = 1"));
+    }
+
+    @Test
+    public void testBindValuesWithLiftedLiterals() throws Exception {
+        SqlStatementCache cache = new SqlStatementCache(sqlPolicy, 8, 8192, true);
+        SqlStatementCache.Prepared prepared =
+            cache.prepare("SELECT * FROM t WHERE a = 5 AND b = ? AND c IN ('x', 'y')");
+
+        assertEquals("SELECT * FROM dba.t WHERE a = ? AND b = ? AND c IN (?, ?)", prepared.getSql());
+        // 요청 params는 원래 ? 자리에, 바꾼 리터럴은 원래 값으로
+        assertEquals(Arrays.asList(5L, "p", "x", "y"), prepared.bindValues(Collections.singletonList("p")));
+        assertThrows(IllegalArgumentException.class, () -> prepared.bindValues(Collections.emptyList()));
+    }
+
+    @Test
+    public void testBindValuesWithoutLifting() throws Exception {
+        SqlStatementCache cache = new SqlStatementCache(sqlPolicy, 8, 8192, false);
+        SqlStatementCache.Prepared prepared = cache.prepare("SELECT * FROM t WHERE a = 5 AND b = ?");
+
+        assertEquals("SELECT * FROM dba.t WHERE a = 5 AND b = ?", prepared.getSql());
+        assertEquals(Arrays.asList((Object) null), prepared.bindValues(Arrays.asList((Object) null)));
+        assertThrows(IllegalArgumentException.class, () -> prepared.bindValues(Arrays.asList(1, 2)));
+    }
+
+    @Test
+    public void testLimitIsBoundLast() throws Exception {
+        SqlStatementCache cache = new SqlStatementCache(sqlPolicy, 8, 8192, true);
+        SqlStatementCache.Prepared prepared = cache.prepare("SELECT * FROM t WHERE a = ? ORDER BY b; -- x");
+
+        assertTrue(prepared.isLimitable());
+        assertEquals("SELECT * FROM dba.t WHERE a = ? ORDER BY b LIMIT ?; -- x", prepared.getLimitedSql());
+        List<Object> values = prepared.bindValues(Collections.singletonList("v"), 101);
+        assertEquals(Arrays.asList("v", 101L), values);
+
+        SqlStatementCache.Prepared limited = cache.prepare("SELECT * FROM t LIMIT 5");
+        assertFalse(limited.isLimitable());
+        assertEquals(limited.getSql(), limited.getLimitedSql());
+        assertEquals(Collections.emptyList(), limited.bindValues(Collections.emptyList(), 101));
+    }
+}
@@ -0,0 +1,67 @@
+package com.cubrid.mcp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TextEncoder 바이트 계산 테스트 (DB 없이 실행)
+ *
+ * 실행 방법:
+ * mvn test -Dtest=TextEncoderTest
+ */
+public class TextEncoderTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    public void testJsonLengthMatchesSerializedText() throws Exception {
+        String[] samples = {
+            "",
+            "id,name\n1,plain\n",
+            "quote \" and backslash \\",
+            "tab\tcr\rbackspace\bformfeed\f",
+            "control \u0001\u001f",
+            "한글 이름,가격\n",
+            "emoji 😀 end",
+            "lone \uD800 surrogate",
+        };
+        for (String text : samples) {
+            // 응답에는 따옴표로 감싼 JSON 문자열로 들어감
+            long serialized = objectMapper.writeValueAsBytes(text).length - 2;
+            assertEquals(serialized, TextEncoder.jsonLength(text, 0, text.length()), "text: " + text);
+        }
+    }
+
+    @Test
+    public void testEscapedTextIsLongerThanUtf8() {
+        // 줄바꿈이 많은 csv는 원문 UTF-8보다 응답 크기가 큼
+        String text = "a\nb\nc\n\"d\"\n";
+        assertTrue(TextEncoder.jsonLength(text, 0, text.length()) > text.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void testJsonLengthOfRange() {
+        String text = "head\n\"row\"\n";
+        int mark = "head\n".length();
+        // "row" 줄: 따옴표 2개(각 2바이트) + row(3) + 줄바꿈(2)
+        assertEquals(9, TextEncoder.jsonLength(text, mark, text.length()));
+    }
+
+    @Test
+    public void testAppendJsonStringMatchesJackson() throws Exception {
+        String value = "col \"x\"\\\n\u0002";
+        StringBuilder out = new StringBuilder();
+        TextEncoder.appendJsonString(value, out);
+        assertEquals(objectMapper.writeValueAsString(value), out.toString());
+    }
+}